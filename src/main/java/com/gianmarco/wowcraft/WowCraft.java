@@ -108,15 +108,46 @@ public class WowCraft implements ModInitializer {
             }
         });
 
+        // Drop cached surfaces of chunks that leave memory
+        net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            com.gianmarco.wowcraft.world.SurfaceCache.onChunkUnload(world, chunk.getPos());
+        });
+
+        // Keep spawn points' and packs' references to their loaded mobs current
+        net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            com.gianmarco.wowcraft.spawn.SpawnSystemManager.onEntityLoad(entity, world);
+            com.gianmarco.wowcraft.mobpack.MobPackManager.onEntityLoad(entity);
+        });
+        net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            com.gianmarco.wowcraft.spawn.SpawnSystemManager.onEntityUnload(entity, world);
+            com.gianmarco.wowcraft.mobpack.MobPackManager.onEntityUnload(entity);
+        });
+
+        // Deferrable work shares one per-tick budget, highest priority first
+        com.gianmarco.wowcraft.core.BackgroundWork.submit("packs",
+                com.gianmarco.wowcraft.core.BackgroundWork.PRIORITY_HIGH,
+                com.gianmarco.wowcraft.mobpack.MobPackManager::runBackgroundWork);
+        com.gianmarco.wowcraft.core.BackgroundWork.submit("spawn regions",
+                com.gianmarco.wowcraft.core.BackgroundWork.PRIORITY_NORMAL,
+                com.gianmarco.wowcraft.spawn.SpawnSystemManager::runBackgroundWork);
+        com.gianmarco.wowcraft.core.BackgroundWork.submit("roads",
+                com.gianmarco.wowcraft.core.BackgroundWork.PRIORITY_LOW,
+                (level, slice) -> com.gianmarco.wowcraft.roads.RoadGenerator.getInstance().runBackgroundWork(level, slice));
+        net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents.START_SERVER_TICK.register(
+                server -> com.gianmarco.wowcraft.core.BackgroundWork.onTickStart());
+
         // Register server tick for spawn system
         net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents.END_WORLD_TICK.register(level -> {
             if (level instanceof net.minecraft.server.level.ServerLevel serverLevel
                     && serverLevel.dimension() == net.minecraft.world.level.Level.OVERWORLD) {
-                // New spawn system tick (queued generation + lazy spawning)
+                // New spawn system tick (lazy spawning)
                 com.gianmarco.wowcraft.spawn.SpawnSystemManager.onServerTick(serverLevel);
 
                 // Old pack respawns
                 com.gianmarco.wowcraft.mobpack.MobPackManager.onServerTick(serverLevel);
+
+                // Region generation, pack spawning and road building within what's left of the tick
+                com.gianmarco.wowcraft.core.BackgroundWork.run(serverLevel);
             }
         });
 
@@ -133,6 +164,9 @@ public class WowCraft implements ModInitializer {
 
         // Save and clear zones and packs on world unload
         net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents.UNLOAD.register((server, world) -> {
+            com.gianmarco.wowcraft.world.SurfaceCache.clear(world);
+            com.gianmarco.wowcraft.world.PlayerSpatialIndex.clear(world);
+
             if (world.dimension() == net.minecraft.world.level.Level.OVERWORLD) {
                 // Save mob packs before clearing
                 if (world instanceof net.minecraft.server.level.ServerLevel serverLevel) {
@@ -142,13 +176,24 @@ public class WowCraft implements ModInitializer {
                     LOGGER.info("Saved zone data and mob packs on world unload");
 
                     com.gianmarco.wowcraft.roads.RoadGenerator.getInstance().save(serverLevel);
+                    com.gianmarco.wowcraft.roads.RoadGenerator.getInstance().onWorldUnload();
+                    com.gianmarco.wowcraft.spawn.SpawnSystemManager.save();
                 }
 
                 com.gianmarco.wowcraft.zone.ZoneRegistry.clearZones();
                 com.gianmarco.wowcraft.zone.ZoneManager.clearAll();
                 com.gianmarco.wowcraft.zone.ZoneSaveData.clearCache();
                 com.gianmarco.wowcraft.mobpack.MobPackManager.clear();
+                com.gianmarco.wowcraft.combat.AggroTracker.clear();
             }
+
+            // After the road save, which writes the index
+            com.gianmarco.wowcraft.roads.StructureIndex.clear(world);
+        });
+
+        // Drop aggro entries of players leaving
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            com.gianmarco.wowcraft.combat.AggroTracker.clearPlayer(handler.getPlayer());
         });
 
         // Sync player data when they join (ALWAYS - even without class, for class
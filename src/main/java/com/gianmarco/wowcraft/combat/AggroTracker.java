@@ -0,0 +1,82 @@
+package com.gianmarco.wowcraft.combat;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.player.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Which mobs have picked which player as their target, fed from Mob.setTarget
+ * (see MobMixin). Lets the combat check ask "is anything after this player?"
+ * without pulling every mob in a 32-block box around each player.
+ *
+ * Entries aren't removed when a mob switches or drops its target; lookups
+ * prune them instead. Server thread only.
+ */
+public class AggroTracker {
+
+    private static final Map<UUID, List<Mob>> mobsByTarget = new HashMap<>();
+
+    /**
+     * Called after a mob's target was set.
+     */
+    public static void onTargetSet(Mob mob, @Nullable LivingEntity target) {
+        if (!(target instanceof ServerPlayer player)) {
+            return;
+        }
+        List<Mob> mobs = mobsByTarget.computeIfAbsent(player.getUUID(), k -> new ArrayList<>());
+        if (!mobs.contains(mob)) {
+            mobs.add(mob);
+        }
+    }
+
+    /**
+     * Check whether a live mob within range (per axis, like a box around the
+     * player) is currently targeting the player. Prunes stale entries as it goes.
+     */
+    public static boolean isTargetedWithin(ServerPlayer player, double range) {
+        List<Mob> mobs = mobsByTarget.get(player.getUUID());
+        if (mobs == null) {
+            return false;
+        }
+
+        boolean targeted = false;
+        Iterator<Mob> iterator = mobs.iterator();
+        while (iterator.hasNext()) {
+            Mob mob = iterator.next();
+            if (mob.isRemoved() || !mob.isAlive() || mob.getTarget() != player) {
+                iterator.remove();
+                continue;
+            }
+            if (Math.abs(mob.getX() - player.getX()) <= range
+                    && Math.abs(mob.getY() - player.getY()) <= range
+                    && Math.abs(mob.getZ() - player.getZ()) <= range) {
+                targeted = true;
+            }
+        }
+
+        if (mobs.isEmpty()) {
+            mobsByTarget.remove(player.getUUID());
+        }
+        return targeted;
+    }
+
+    /**
+     * Forget a player's entries (on disconnect).
+     */
+    public static void clearPlayer(Player player) {
+        mobsByTarget.remove(player.getUUID());
+    }
+
+    public static void clear() {
+        mobsByTarget.clear();
+    }
+}
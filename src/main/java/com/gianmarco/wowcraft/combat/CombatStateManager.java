@@ -1,12 +1,9 @@
 package com.gianmarco.wowcraft.combat;
 
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.phys.AABB;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -62,17 +59,11 @@ public class CombatStateManager {
             return;
         }
 
-        // Get all mobs in range
-        AABB searchBox = player.getBoundingBox().inflate(AGGRO_CHECK_RANGE);
-        List<Mob> nearbyMobs = player.level().getEntitiesOfClass(Mob.class, searchBox);
-
-        // Check if any mob is targeting this player
-        for (Mob mob : nearbyMobs) {
-            if (mob.getTarget() == player && mob.isAlive()) {
-                // A mob is targeting us - enter combat!
-                enterCombat(player);
-                return; // Only need one mob to trigger combat
-            }
+        // Check if any mob in range is targeting this player
+        if (AggroTracker.isTargetedWithin(player, AGGRO_CHECK_RANGE)) {
+            // A mob is targeting us - enter combat!
+            enterCombat(player);
+            return; // Only need one mob to trigger combat
         }
 
         // Check for combat state transitions (entering/leaving combat)
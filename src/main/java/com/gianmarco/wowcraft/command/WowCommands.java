@@ -1,5 +1,6 @@
 package com.gianmarco.wowcraft.command;
 
+import com.gianmarco.wowcraft.core.BackgroundWork;
 import com.gianmarco.wowcraft.item.ItemGenerator;
 import com.gianmarco.wowcraft.item.ItemRarity;
 import com.gianmarco.wowcraft.item.LootManager;
@@ -8,6 +9,9 @@ import com.gianmarco.wowcraft.playerclass.PlayerClass;
 import com.gianmarco.wowcraft.playerclass.PlayerDataManager;
 import com.gianmarco.wowcraft.network.NetworkHandler;
 import com.gianmarco.wowcraft.roads.RoadGenerator;
+import com.gianmarco.wowcraft.spawn.SpawnGovernor;
+import com.gianmarco.wowcraft.spawn.SpawnPoolManager;
+import com.gianmarco.wowcraft.world.SurfaceCache;
 import com.mojang.brigadier.Command;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
@@ -22,7 +26,9 @@ import net.minecraft.server.level.ServerPlayer;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import com.gianmarco.wowcraft.entity.pack.HomePathFollower;
 import com.gianmarco.wowcraft.mobpack.*;
 import com.gianmarco.wowcraft.zone.BiomeGroup;
 import net.minecraft.core.BlockPos;
@@ -69,7 +75,36 @@ public class WowCommands {
                             .then(Commands.literal("status")
                                     .executes(WowCommands::roadStatus))
                             .then(Commands.literal("reset")
-                                    .executes(WowCommands::resetRoads))));
+                                    .executes(WowCommands::resetRoads))
+                            .then(Commands.literal("rollback")
+                                    .then(Commands.literal("road")
+                                            .executes(WowCommands::rollbackRoad))
+                                    .then(Commands.literal("region")
+                                            .executes(WowCommands::rollbackRegion))
+                                    .then(Commands.literal("all")
+                                            .executes(WowCommands::rollbackAllRoads))))
+                    .then(Commands.literal("spawns")
+                            .requires(source -> source.hasPermission(2))
+                            .then(Commands.literal("status")
+                                    .executes(WowCommands::spawnStatus))
+                            .then(Commands.literal("budget")
+                                    .then(Commands.argument("micros", IntegerArgumentType.integer(50, 20000))
+                                            .executes(WowCommands::setSpawnBudget)))
+                            .then(Commands.literal("queue")
+                                    .then(Commands.argument("entities", IntegerArgumentType.integer(1, 200))
+                                            .then(Commands.argument("micros", IntegerArgumentType.integer(50, 20000))
+                                                    .executes(WowCommands::setSpawnQueueBudget))))
+                            .then(Commands.literal("caps")
+                                    .then(Commands.argument("region", IntegerArgumentType.integer(1, 1000))
+                                            .then(Commands.argument("global", IntegerArgumentType.integer(1, 10000))
+                                                    .executes(WowCommands::setSpawnCaps))))
+                            .then(Commands.literal("surfacecache")
+                                    .executes(WowCommands::surfaceCacheStatus)
+                                    .then(Commands.argument("chunks", IntegerArgumentType.integer(64, 65536))
+                                            .executes(WowCommands::setSurfaceCacheSize))))
+                    .then(Commands.literal("work")
+                            .requires(source -> source.hasPermission(2))
+                            .executes(WowCommands::backgroundWorkStatus)));
         });
     }
 
@@ -246,6 +281,16 @@ public class WowCommands {
     private static int countPacks(CommandContext<CommandSourceStack> context) {
         int count = MobPackManager.getAllPacks().size();
         context.getSource().sendSuccess(() -> Component.literal("Active mob packs: " + count), false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("Pack AI last tick: " + PackBrainCoordinator.getLastActivePacks()
+                        + " packs awake, " + PackBrainCoordinator.getLastCommands() + " commands, "
+                        + PackBrainCoordinator.getLastTickNanos() / 1000 + " µs"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("Evade paths: " + HomePathFollower.getComputedPaths() + " computed, "
+                        + HomePathFollower.getJoinedPaths() + " joined camp route, "
+                        + HomePathFollower.getResumedPaths() + " resumed"),
+                false);
         return 1;
     }
 
@@ -353,6 +398,12 @@ public class WowCommands {
         int built = generator.getTotalRoadsBuilt();
         int blocks = generator.getTotalBlocksPlaced();
         int active = generator.getActivePlanCount();
+        int planning = generator.getPlanningCount();
+        int corridors = generator.getCorridorsPlanned();
+        int segments = generator.getSegmentsPlanned();
+        long searches = com.gianmarco.wowcraft.roads.RoadPathPlanner.getPlansRun();
+        long expanded = com.gianmarco.wowcraft.roads.RoadPathPlanner.getNodesExpanded();
+        double avgMicros = com.gianmarco.wowcraft.roads.RoadPathPlanner.getAveragePlanMicros();
 
         context.getSource().sendSuccess(
                 () -> Component.literal("Road Generator Status: " + status),
@@ -369,6 +420,21 @@ public class WowCommands {
         context.getSource().sendSuccess(
                 () -> Component.literal("  Active plans: " + active),
                 false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Plans in progress: " + planning),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Segments planned: " + segments + " (" + corridors + " long-road corridors)"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal(String.format("  Path searches: %d, %d nodes expanded, %.0f us avg",
+                        searches, expanded, avgMicros)),
+                false);
+        if (generator.isRollingBack()) {
+            context.getSource().sendSuccess(
+                    () -> Component.literal("  Rolling back roads, building paused"),
+                    false);
+        }
 
         return 1;
     }
@@ -380,4 +446,194 @@ public class WowCommands {
                 true);
         return 1;
     }
+
+    private static int rollbackRoad(CommandContext<CommandSourceStack> context) {
+        try {
+            ServerPlayer player = context.getSource().getPlayerOrException();
+            BlockPos pos = player.blockPosition();
+
+            if (!RoadGenerator.getInstance().rollbackRoad(player.serverLevel(), pos, 16)) {
+                context.getSource().sendFailure(Component.literal("No road within 16 blocks."));
+                return 0;
+            }
+
+            context.getSource().sendSuccess(
+                    () -> Component.literal("Rolling back the road near " + pos.toShortString() + "."),
+                    true);
+            return 1;
+        } catch (Exception e) {
+            context.getSource().sendFailure(Component.literal("Error: " + e.getMessage()));
+            return 0;
+        }
+    }
+
+    private static int rollbackRegion(CommandContext<CommandSourceStack> context) {
+        try {
+            ServerPlayer player = context.getSource().getPlayerOrException();
+            BlockPos pos = player.blockPosition();
+            RoadGenerator.getInstance().rollbackRegion(player.serverLevel(), pos);
+
+            context.getSource().sendSuccess(
+                    () -> Component.literal("Rolling back all road blocks in region "
+                            + (pos.getX() >> 9) + ", " + (pos.getZ() >> 9) + "."),
+                    true);
+            return 1;
+        } catch (Exception e) {
+            context.getSource().sendFailure(Component.literal("Error: " + e.getMessage()));
+            return 0;
+        }
+    }
+
+    private static int rollbackAllRoads(CommandContext<CommandSourceStack> context) {
+        RoadGenerator.getInstance().rollbackAll(context.getSource().getLevel());
+        context.getSource().sendSuccess(
+                () -> Component.literal("Rolling back all roads. The network is regenerated once it finishes."),
+                true);
+        return 1;
+    }
+
+    // === Background Work ===
+
+    private static int backgroundWorkStatus(CommandContext<CommandSourceStack> context) {
+        long budgetMicros = BackgroundWork.getLastBudgetNanos() / 1000;
+        long usedMicros = BackgroundWork.getLastUsedNanos() / 1000;
+
+        context.getSource().sendSuccess(
+                () -> Component.literal("Background Work: " + usedMicros + " of " + budgetMicros + " µs last tick"),
+                false);
+        for (Map.Entry<String, BackgroundWork.Usage> entry : BackgroundWork.getUsage().entrySet()) {
+            BackgroundWork.Usage usage = entry.getValue();
+            String line = String.format("  %s: %d µs last tick, %.0f µs avg, %d ms total, %d slices out of time",
+                    entry.getKey(), usage.getLastTickNanos() / 1000, usage.getAverageNanos() / 1000,
+                    usage.getTotalNanos() / 1_000_000, usage.getExhaustedSlices());
+            context.getSource().sendSuccess(() -> Component.literal(line), false);
+        }
+
+        return 1;
+    }
+
+    // === Spawn Commands ===
+
+    private static int spawnStatus(CommandContext<CommandSourceStack> context) {
+        int points = SpawnPoolManager.getSpawnPointCount();
+        int compact = SpawnPoolManager.getCompactSpawnPointCount();
+        int regions = SpawnPoolManager.getLoadedRegionCount();
+        int awake = SpawnPoolManager.getAwakeRegionCount();
+        int queued = SpawnPoolManager.getEvaluationQueueDepth();
+        long budgetMicros = SpawnPoolManager.getEvaluationBudgetNanos() / 1000;
+        int generating = com.gianmarco.wowcraft.spawn.RegionGenerationPipeline.getInFlightCount();
+        String mspt = String.format("%.1f", SpawnGovernor.getMspt());
+        int loadPercent = Math.round(SpawnGovernor.getLoad() * 100);
+        int activePercent = Math.round(SpawnGovernor.getActivePercentage() * 100);
+        int queueDepth = SpawnGovernor.getQueueDepth();
+        int peakDepth = SpawnGovernor.getPeakQueueDepth();
+        String avgWait = String.format("%.1f", SpawnGovernor.getAverageWaitTicks());
+        long maxWait = SpawnGovernor.getMaxWaitTicks();
+        int lastEntities = SpawnGovernor.getLastTickEntities();
+        long lastMicros = SpawnGovernor.getLastTickNanos() / 1000;
+
+        context.getSource().sendSuccess(
+                () -> Component.literal("Spawn System Status:"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Spawn points loaded: " + points + " in " + regions + " regions"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Live: " + (points - compact) + ", compact: " + compact),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Awake regions: " + awake + " (" + queued + " queued this pass)"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  State update budget: " + budgetMicros + " µs/tick"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Regions generating: " + generating),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Governor: " + mspt + " mspt, load " + loadPercent + "%, "
+                        + activePercent + "% scatter active"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Entity caps: " + SpawnGovernor.getRegionEntityCap() + "/region, "
+                        + SpawnGovernor.getGlobalEntityCap() + " total; " + SpawnGovernor.getQueueDepth()
+                        + " queued, " + SpawnGovernor.getDeferredByCap() + " capped, "
+                        + SpawnGovernor.getDeferredByLoad() + " held by load"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Spawn queue: " + queueDepth + " now, peak " + peakDepth
+                        + "; wait avg " + avgWait + " / max " + maxWait + " ticks"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Spawn budget: " + SpawnGovernor.getEntitiesPerTick() + " entities, "
+                        + SpawnGovernor.getSpawnBudgetNanos() / 1000 + " µs/tick (last tick " + lastEntities
+                        + " entities, " + lastMicros + " µs)"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Respawns scheduled: " + SpawnPoolManager.getScheduledRespawnCount()),
+                false);
+        SpawnGovernor.resetQueueStats();
+
+        return 1;
+    }
+
+    private static int surfaceCacheStatus(CommandContext<CommandSourceStack> context) {
+        SurfaceCache cache = SurfaceCache.get(context.getSource().getLevel());
+        String hitRate = String.format("%.1f%%", cache.getHitRate() * 100.0);
+
+        context.getSource().sendSuccess(
+                () -> Component.literal("Surface Cache (" + cache.size() + "/" + SurfaceCache.getMaxChunks() + " chunks):"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Hit rate: " + hitRate + " (" + cache.getHits() + " hits, "
+                        + cache.getMisses() + " misses, " + cache.getRefreshes() + " refreshes)"),
+                false);
+        context.getSource().sendSuccess(
+                () -> Component.literal("  Evictions: " + cache.getEvictions()
+                        + ", column invalidations: " + cache.getInvalidations()),
+                false);
+
+        cache.resetStats();
+        return 1;
+    }
+
+    private static int setSurfaceCacheSize(CommandContext<CommandSourceStack> context) {
+        int chunks = IntegerArgumentType.getInteger(context, "chunks");
+        SurfaceCache.setMaxChunks(chunks);
+        context.getSource().sendSuccess(
+                () -> Component.literal("Surface cache limit set to " + chunks + " chunks per dimension"),
+                true);
+        return 1;
+    }
+
+    private static int setSpawnBudget(CommandContext<CommandSourceStack> context) {
+        int micros = IntegerArgumentType.getInteger(context, "micros");
+        SpawnPoolManager.setEvaluationBudgetNanos(micros * 1000L);
+        context.getSource().sendSuccess(
+                () -> Component.literal("Spawn state update budget set to " + micros + " µs/tick"),
+                true);
+        return 1;
+    }
+
+    private static int setSpawnQueueBudget(CommandContext<CommandSourceStack> context) {
+        int entities = IntegerArgumentType.getInteger(context, "entities");
+        int micros = IntegerArgumentType.getInteger(context, "micros");
+        SpawnGovernor.setSpawnBudget(entities, micros * 1000L);
+        context.getSource().sendSuccess(
+                () -> Component.literal("Spawn queue budget set to " + entities + " entities, "
+                        + micros + " µs/tick (before load scaling)"),
+                true);
+        return 1;
+    }
+
+    private static int setSpawnCaps(CommandContext<CommandSourceStack> context) {
+        int perRegion = IntegerArgumentType.getInteger(context, "region");
+        int global = IntegerArgumentType.getInteger(context, "global");
+        SpawnGovernor.setEntityCaps(perRegion, global);
+        context.getSource().sendSuccess(
+                () -> Component.literal("Spawn entity caps set to " + perRegion + " per region, "
+                        + Math.max(perRegion, global) + " total (before load scaling)"),
+                true);
+        return 1;
+    }
 }
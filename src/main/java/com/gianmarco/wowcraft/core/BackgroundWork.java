@@ -0,0 +1,224 @@
+package com.gianmarco.wowcraft.core;
+
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One time budget per tick for all of WowCraft's deferrable server-thread work
+ * (pack spawning, spawn region generation, road building, ...).
+ *
+ * The budget follows the tick's headroom: what is left of the 50ms tick after the
+ * work done so far and a reserve for the rest of the tick, clamped between a small
+ * floor (so background work never stops) and a ceiling. When the server's average
+ * tick time is high the floor is all there is, so busy ticks stay cheap while idle
+ * ticks get up to the ceiling.
+ *
+ * Tasks run in priority order, each with an equal share of what is left. Time a
+ * task doesn't use goes to the tasks after it, and whatever is left at the end is
+ * handed back to tasks that used their whole slice. Tasks are resumable: each run
+ * does work until its slice is used up and picks up where it left off next time.
+ * Server thread only.
+ */
+public class BackgroundWork {
+
+    public static final int PRIORITY_HIGH = 0;
+    public static final int PRIORITY_NORMAL = 1;
+    public static final int PRIORITY_LOW = 2;
+
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final long RESERVE_NANOS = 10_000_000L;  // other dimensions, network, autosave
+    private static final long MIN_BUDGET_NANOS = 1_000_000L;
+    private static final long MAX_BUDGET_NANOS = 8_000_000L;
+    private static final double BUSY_MSPT = 30.0;  // above this, only the floor is handed out
+
+    private static final double AVERAGE_WEIGHT = 0.05;
+
+    /**
+     * A resumable piece of work.
+     */
+    @FunctionalInterface
+    public interface Task {
+        /**
+         * Work until the slice is used up or there is nothing left to do.
+         * Return false to be dropped from the scheduler.
+         */
+        boolean run(ServerLevel level, Slice slice);
+    }
+
+    /**
+     * The time a task may use in this run.
+     */
+    public static final class Slice {
+        private long deadline;
+
+        public boolean isExceeded() {
+            return System.nanoTime() >= deadline;
+        }
+
+        public long getRemainingNanos() {
+            return Math.max(0L, deadline - System.nanoTime());
+        }
+    }
+
+    /**
+     * Time used by one subsystem.
+     */
+    public static final class Usage {
+        private long lastTickNanos;
+        private double averageNanos;
+        private long totalNanos;
+        private long exhaustedSlices;
+
+        public long getLastTickNanos() {
+            return lastTickNanos;
+        }
+
+        public double getAverageNanos() {
+            return averageNanos;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Runs that used their whole slice, i.e. had more work than time.
+         */
+        public long getExhaustedSlices() {
+            return exhaustedSlices;
+        }
+    }
+
+    private record Entry(String subsystem, int priority, long order, Task task) {}
+
+    private static final List<Entry> tasks = new ArrayList<>();
+    private static final Map<String, Usage> usage = new LinkedHashMap<>();
+    private static final Slice slice = new Slice();
+    private static long nextOrder = 0;
+
+    private static long tickStartNanos = 0L;
+    private static long lastBudgetNanos = 0L;
+    private static long lastUsedNanos = 0L;
+
+    /**
+     * Add a task. Tasks with the same priority run in the order they were added.
+     */
+    public static void submit(String subsystem, int priority, Task task) {
+        tasks.add(new Entry(subsystem, priority, nextOrder++, task));
+        tasks.sort(Comparator.comparingInt(Entry::priority).thenComparingLong(Entry::order));
+        usage.computeIfAbsent(subsystem, name -> new Usage());
+    }
+
+    /**
+     * Mark the start of a server tick. Called from the start-of-tick event.
+     */
+    public static void onTickStart() {
+        tickStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Run the tasks within this tick's budget. Called once per tick.
+     */
+    public static void run(ServerLevel level) {
+        long start = System.nanoTime();
+        long budget = computeBudget(level, start);
+        long end = start + budget;
+        lastBudgetNanos = budget;
+
+        Map<String, Long> used = new LinkedHashMap<>();
+        List<Entry> wantMore = new ArrayList<>();
+        List<Entry> finished = new ArrayList<>();
+
+        // Pass 1: an equal share of what is left, in priority order
+        for (int i = 0; i < tasks.size(); i++) {
+            long remaining = end - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Entry entry = tasks.get(i);
+            long share = remaining / (tasks.size() - i);
+            if (runSlice(level, entry, share, used, finished)) {
+                wantMore.add(entry);
+            }
+        }
+
+        // Pass 2: slack goes back to the tasks that ran out of time
+        for (Entry entry : wantMore) {
+            long remaining = end - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            if (!finished.contains(entry)) {
+                runSlice(level, entry, remaining, used, finished);
+            }
+        }
+
+        tasks.removeAll(finished);
+
+        for (Map.Entry<String, Usage> entry : usage.entrySet()) {
+            Usage subsystem = entry.getValue();
+            subsystem.lastTickNanos = used.getOrDefault(entry.getKey(), 0L);
+            subsystem.averageNanos += (subsystem.lastTickNanos - subsystem.averageNanos) * AVERAGE_WEIGHT;
+        }
+        lastUsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Run one task for up to sliceNanos. Returns true if it used the whole slice.
+     */
+    private static boolean runSlice(ServerLevel level, Entry entry, long sliceNanos,
+                                    Map<String, Long> used, List<Entry> finished) {
+        long sliceStart = System.nanoTime();
+        slice.deadline = sliceStart + sliceNanos;
+
+        boolean keep = entry.task().run(level, slice);
+
+        long elapsed = System.nanoTime() - sliceStart;
+        used.merge(entry.subsystem(), elapsed, Long::sum);
+        Usage subsystem = usage.get(entry.subsystem());
+        subsystem.totalNanos += elapsed;
+
+        if (!keep) {
+            finished.add(entry);
+            return false;
+        }
+        if (elapsed >= sliceNanos) {
+            subsystem.exhaustedSlices++;
+            return true;
+        }
+        return false;
+    }
+
+    private static long computeBudget(ServerLevel level, long now) {
+        double mspt = level.getServer().getAverageTickTimeNanos() / 1_000_000.0;
+        if (mspt > BUSY_MSPT) {
+            return MIN_BUDGET_NANOS;
+        }
+
+        long elapsed = tickStartNanos > 0 ? now - tickStartNanos : 0L;
+        long headroom = TICK_NANOS - elapsed - RESERVE_NANOS;
+        return Math.max(MIN_BUDGET_NANOS, Math.min(MAX_BUDGET_NANOS, headroom));
+    }
+
+    // === Stats ===
+
+    public static long getLastBudgetNanos() {
+        return lastBudgetNanos;
+    }
+
+    public static long getLastUsedNanos() {
+        return lastUsedNanos;
+    }
+
+    /**
+     * Usage per subsystem, in the order subsystems were first submitted.
+     */
+    public static Map<String, Usage> getUsage() {
+        return usage;
+    }
+}
@@ -0,0 +1,168 @@
+package com.gianmarco.wowcraft.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel keyed by game tick.
+ *
+ * Three levels of slots: 256 one-tick slots, 64 slots of 256 ticks (about 13
+ * minutes) and 64 slots of 16384 ticks (about 12 days). An item lands in the
+ * coarsest level that still resolves its due tick and cascades down as the
+ * wheel turns, so advancing one tick only touches the items due on that tick
+ * plus, every 256 ticks, one coarse slot. Nothing is scanned when nothing is due.
+ *
+ * There is no cancel: owners check on fire whether the item is still wanted.
+ * Not thread safe; meant for the server thread.
+ */
+public class TimingWheel<T> {
+
+    private static final int LEVEL0_BITS = 8;
+    private static final int LEVEL1_BITS = 6;
+    private static final int LEVEL2_BITS = 6;
+
+    private static final int LEVEL0_SIZE = 1 << LEVEL0_BITS;
+    private static final int LEVEL1_SIZE = 1 << LEVEL1_BITS;
+    private static final int LEVEL2_SIZE = 1 << LEVEL2_BITS;
+
+    private static final int LEVEL1_SHIFT = LEVEL0_BITS;
+    private static final int LEVEL2_SHIFT = LEVEL0_BITS + LEVEL1_BITS;
+
+    private static final long LEVEL0_SPAN = LEVEL0_SIZE;
+    private static final long LEVEL1_SPAN = 1L << LEVEL2_SHIFT;
+    private static final long LEVEL2_SPAN = 1L << (LEVEL2_SHIFT + LEVEL2_BITS);
+
+    private record Entry<T>(T item, long dueTick) {}
+
+    private final List<Entry<T>>[] level0 = newSlots(LEVEL0_SIZE);
+    private final List<Entry<T>>[] level1 = newSlots(LEVEL1_SIZE);
+    private final List<Entry<T>>[] level2 = newSlots(LEVEL2_SIZE);
+
+    // Further out than level 2 can resolve; re-filed whenever level 2 wraps
+    private final List<Entry<T>> overflow = new ArrayList<>();
+
+    // Scheduled before the first advance told us what tick it is
+    private final List<Entry<T>> unplaced = new ArrayList<>();
+
+    private long currentTick;
+    private boolean started;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<Entry<T>>[] newSlots(int count) {
+        List<Entry<T>>[] slots = new List[count];
+        for (int i = 0; i < count; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        return slots;
+    }
+
+    /**
+     * Schedule an item. Anything due at or before the current tick fires on the next advance.
+     */
+    public void schedule(T item, long dueTick) {
+        size++;
+        if (!started) {
+            unplaced.add(new Entry<>(item, dueTick));
+            return;
+        }
+        place(new Entry<>(item, Math.max(dueTick, currentTick + 1)));
+    }
+
+    private void place(Entry<T> entry) {
+        long due = entry.dueTick();
+        long delta = due - currentTick;
+
+        if (delta < LEVEL0_SPAN) {
+            level0[(int) (due & (LEVEL0_SIZE - 1))].add(entry);
+        } else if (delta < LEVEL1_SPAN) {
+            level1[(int) ((due >>> LEVEL1_SHIFT) & (LEVEL1_SIZE - 1))].add(entry);
+        } else if (delta < LEVEL2_SPAN) {
+            level2[(int) ((due >>> LEVEL2_SHIFT) & (LEVEL2_SIZE - 1))].add(entry);
+        } else {
+            overflow.add(entry);
+        }
+    }
+
+    /**
+     * Turn the wheel up to (and including) tick, handing every item that came due to fire.
+     * Items scheduled from inside fire for a later tick are kept; for this or an
+     * earlier tick they fire on the next call.
+     */
+    public void advance(long tick, Consumer<T> fire) {
+        if (!started) {
+            currentTick = tick - 1;
+            started = true;
+            for (Entry<T> entry : unplaced) {
+                place(new Entry<>(entry.item(), Math.max(entry.dueTick(), tick)));
+            }
+            unplaced.clear();
+        }
+
+        while (currentTick < tick) {
+            currentTick++;
+
+            // Pull the next coarse slot down whenever the finer level wraps
+            if ((currentTick & (LEVEL0_SIZE - 1)) == 0) {
+                if (((currentTick >>> LEVEL1_SHIFT) & (LEVEL1_SIZE - 1)) == 0) {
+                    if (((currentTick >>> LEVEL2_SHIFT) & (LEVEL2_SIZE - 1)) == 0) {
+                        cascade(overflow);
+                    }
+                    cascade(level2[(int) ((currentTick >>> LEVEL2_SHIFT) & (LEVEL2_SIZE - 1))]);
+                }
+                cascade(level1[(int) ((currentTick >>> LEVEL1_SHIFT) & (LEVEL1_SIZE - 1))]);
+            }
+
+            List<Entry<T>> slot = level0[(int) (currentTick & (LEVEL0_SIZE - 1))];
+            if (slot.isEmpty()) {
+                continue;
+            }
+
+            List<Entry<T>> due = new ArrayList<>(slot);
+            slot.clear();
+            size -= due.size();
+            for (Entry<T> entry : due) {
+                fire.accept(entry.item());
+            }
+        }
+    }
+
+    private void cascade(List<Entry<T>> slot) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Entry<T>> entries = new ArrayList<>(slot);
+        slot.clear();
+        for (Entry<T> entry : entries) {
+            place(entry);
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Number of scheduled items, including ones whose owner no longer wants them.
+     */
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (List<Entry<T>> slot : level0) {
+            slot.clear();
+        }
+        for (List<Entry<T>> slot : level1) {
+            slot.clear();
+        }
+        for (List<Entry<T>> slot : level2) {
+            slot.clear();
+        }
+        overflow.clear();
+        unplaced.clear();
+        size = 0;
+        started = false;
+    }
+}
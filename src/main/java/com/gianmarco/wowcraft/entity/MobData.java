@@ -9,38 +9,56 @@ import java.util.Optional;
 import java.util.UUID;
 
 /**
- * Stores level, zone, and pack data for mobs.
+ * Stores level, zone, pack and spawn point data for mobs.
  */
-public record MobData(int level, int zoneTier, @Nullable UUID packId) {
+public record MobData(int level, int zoneTier, @Nullable UUID packId, @Nullable UUID spawnPointId) {
 
-    // Default is level 1, zone 0, no pack
-    public static final MobData DEFAULT = new MobData(1, 0, null);
+    // Default is level 1, zone 0, no pack, no spawn point
+    public static final MobData DEFAULT = new MobData(1, 0, null, null);
 
-    // Codec for serialization (packId is optional)
+    // Codec for serialization (packId and spawnPointId are optional)
     public static final Codec<MobData> CODEC = RecordCodecBuilder.create(instance -> instance.group(
             Codec.INT.fieldOf("level").forGetter(MobData::level),
             Codec.INT.fieldOf("zoneTier").forGetter(MobData::zoneTier),
-            UUIDUtil.CODEC.optionalFieldOf("packId").forGetter(d -> Optional.ofNullable(d.packId())))
-            .apply(instance, (level, zoneTier, packIdOpt) -> new MobData(level, zoneTier, packIdOpt.orElse(null))));
+            UUIDUtil.CODEC.optionalFieldOf("packId").forGetter(d -> Optional.ofNullable(d.packId())),
+            UUIDUtil.CODEC.optionalFieldOf("spawnPointId").forGetter(d -> Optional.ofNullable(d.spawnPointId())))
+            .apply(instance, (level, zoneTier, packIdOpt, spawnPointIdOpt) ->
+                    new MobData(level, zoneTier, packIdOpt.orElse(null), spawnPointIdOpt.orElse(null))));
 
     // Constructor without packId for backward compatibility
     public MobData(int level, int zoneTier) {
-        this(level, zoneTier, null);
+        this(level, zoneTier, null, null);
+    }
+
+    // Constructor without spawnPointId (old pack system)
+    public MobData(int level, int zoneTier, @Nullable UUID packId) {
+        this(level, zoneTier, packId, null);
     }
 
     public MobData withLevel(int newLevel) {
-        return new MobData(newLevel, this.zoneTier, this.packId);
+        return new MobData(newLevel, this.zoneTier, this.packId, this.spawnPointId);
     }
 
     public MobData withZoneTier(int newZoneTier) {
-        return new MobData(this.level, newZoneTier, this.packId);
+        return new MobData(this.level, newZoneTier, this.packId, this.spawnPointId);
     }
 
     public MobData withPackId(@Nullable UUID newPackId) {
-        return new MobData(this.level, this.zoneTier, newPackId);
+        return new MobData(this.level, this.zoneTier, newPackId, this.spawnPointId);
+    }
+
+    public MobData withSpawnPointId(@Nullable UUID newSpawnPointId) {
+        return new MobData(this.level, this.zoneTier, this.packId, newSpawnPointId);
     }
 
     public boolean isPackMob() {
         return packId != null;
     }
+
+    /**
+     * Owned by a spawn point of the spawn pool system.
+     */
+    public boolean hasSpawnPoint() {
+        return spawnPointId != null;
+    }
 }
@@ -0,0 +1,199 @@
+package com.gianmarco.wowcraft.entity.pack;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.navigation.PathNavigation;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.Path;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Walks evading pack mobs home on a path computed once, instead of asking the
+ * navigation for a fresh path every few ticks.
+ *
+ * A mob's path is only recomputed when it runs out short of home, the mob is
+ * knocked more than STRAY_DISTANCE off it, or the navigation gives up (stuck).
+ * The first path computed for a camp is kept for a few seconds; other members
+ * starting near it join it at the closest node and only path the last few
+ * blocks to their own home themselves.
+ *
+ * Server thread only.
+ */
+public final class HomePathFollower {
+
+    private static final double STRAY_DISTANCE = 6.0;
+    private static final double JOIN_DISTANCE = 4.0;
+    private static final long CAMP_ROUTE_TICKS = 200; // 10 seconds
+    private static final int MAX_CAMP_ROUTES = 64;
+
+    private record Route(Path path, BlockPos home) {}
+
+    private record CampRoute(List<Node> nodes, BlockPos target, boolean reached, long createdTick) {}
+
+    // Keyed by the mob itself so routes of dead or unloaded mobs go away on their own
+    private static final Map<Mob, Route> routes = new WeakHashMap<>();
+    private static final Map<BlockPos, CampRoute> campRoutes = new HashMap<>();
+
+    // Stats
+    private static long computed = 0;
+    private static long joined = 0;
+    private static long resumed = 0;
+
+    private HomePathFollower() {
+    }
+
+    /**
+     * Keep a mob moving home. Cheap when the mob is already on a good path;
+     * call as often as the old moveTo was called.
+     *
+     * @param camp key shared by the members of one camp (pack center), or home for a lone mob
+     */
+    public static void follow(Mob mob, BlockPos home, BlockPos camp, double speed) {
+        PathNavigation navigation = mob.getNavigation();
+        Route route = routes.get(mob);
+        if (route != null && route.home().equals(home)) {
+            Path path = route.path();
+            Path current = navigation.getPath();
+            boolean stuck = current == null && !path.isDone();
+
+            if (!path.isDone() && !stuck && !hasStrayed(mob, path)) {
+                if (current != path) {
+                    // Another goal took the navigation over; put ours back, no pathfinding needed
+                    navigation.moveTo(path, speed);
+                    resumed++;
+                }
+                return;
+            }
+
+            // Ran out short of home (a joined route ends at another member's home), stuck or
+            // knocked off: path the rest on our own
+            startRoute(mob, computePath(mob, home), home, speed);
+            return;
+        }
+
+        // A new evade may join the camp's route
+
+        long now = mob.level().getGameTime();
+        Path path = joinCampRoute(mob, camp, now);
+        if (path != null) {
+            joined++;
+            startRoute(mob, path, home, speed);
+            return;
+        }
+
+        path = computePath(mob, home);
+        if (path != null) {
+            rememberCampRoute(camp, path, now);
+        }
+        startRoute(mob, path, home, speed);
+    }
+
+    /**
+     * Drop a mob's route (evade finished).
+     */
+    public static void forget(Mob mob) {
+        routes.remove(mob);
+    }
+
+    public static void clear() {
+        routes.clear();
+        campRoutes.clear();
+    }
+
+    private static void startRoute(Mob mob, Path path, BlockPos home, double speed) {
+        if (path == null) {
+            routes.remove(mob);
+            return;
+        }
+        routes.put(mob, new Route(path, home));
+        mob.getNavigation().moveTo(path, speed);
+    }
+
+    private static Path computePath(Mob mob, BlockPos home) {
+        computed++;
+        return mob.getNavigation().createPath(home, 0);
+    }
+
+    private static boolean hasStrayed(Mob mob, Path path) {
+        BlockPos next = path.getNextNodePos();
+        double dx = mob.getX() - (next.getX() + 0.5);
+        double dy = mob.getY() - next.getY();
+        double dz = mob.getZ() - (next.getZ() + 0.5);
+        return dx * dx + dy * dy + dz * dz > STRAY_DISTANCE * STRAY_DISTANCE;
+    }
+
+    /**
+     * A copy of the camp's route from the node nearest the mob, if the mob is close to it.
+     */
+    private static Path joinCampRoute(Mob mob, BlockPos camp, long now) {
+        CampRoute campRoute = campRoutes.get(camp);
+        if (campRoute == null) {
+            return null;
+        }
+        if (now - campRoute.createdTick() > CAMP_ROUTE_TICKS) {
+            campRoutes.remove(camp);
+            return null;
+        }
+
+        List<Node> nodes = campRoute.nodes();
+        int best = -1;
+        double bestSq = JOIN_DISTANCE * JOIN_DISTANCE;
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            double dx = mob.getX() - (node.x + 0.5);
+            double dy = mob.getY() - node.y;
+            double dz = mob.getZ() - (node.z + 0.5);
+            double distSq = dx * dx + dy * dy + dz * dz;
+            if (distSq <= bestSq) {
+                bestSq = distSq;
+                best = i;
+            }
+        }
+        if (best < 0) {
+            return null;
+        }
+
+        // Each follower needs its own Path; only the nodes are shared
+        return new Path(new ArrayList<>(nodes.subList(best, nodes.size())), campRoute.target(), campRoute.reached());
+    }
+
+    private static void rememberCampRoute(BlockPos camp, Path path, long now) {
+        if (campRoutes.size() >= MAX_CAMP_ROUTES) {
+            Iterator<CampRoute> iterator = campRoutes.values().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next().createdTick() > CAMP_ROUTE_TICKS) {
+                    iterator.remove();
+                }
+            }
+            if (campRoutes.size() >= MAX_CAMP_ROUTES) {
+                return;
+            }
+        }
+
+        List<Node> nodes = new ArrayList<>(path.getNodeCount());
+        for (int i = 0; i < path.getNodeCount(); i++) {
+            nodes.add(path.getNode(i));
+        }
+        campRoutes.put(camp, new CampRoute(nodes, path.getTarget(), path.canReach(), now));
+    }
+
+    // === Stats ===
+
+    public static long getComputedPaths() {
+        return computed;
+    }
+
+    public static long getJoinedPaths() {
+        return joined;
+    }
+
+    public static long getResumedPaths() {
+        return resumed;
+    }
+}
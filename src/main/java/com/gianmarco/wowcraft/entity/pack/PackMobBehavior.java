@@ -1,6 +1,7 @@
 package com.gianmarco.wowcraft.entity.pack;
 
 import com.gianmarco.wowcraft.WowCraft;
+import com.gianmarco.wowcraft.mobpack.PackBrainCoordinator;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.ai.attributes.AttributeModifier;
@@ -62,6 +63,7 @@ public class PackMobBehavior {
 
     public void stopEvade() {
         this.isEvading = false;
+        HomePathFollower.forget(mob);
         this.wasAggroed = false;
         this.ticksOutOfLeashRange = 0;
 
@@ -91,6 +93,11 @@ public class PackMobBehavior {
             return;
         }
 
+        // Members of a managed pack are driven by the pack brain instead
+        if (PackBrainCoordinator.isCoordinated(mob)) {
+            return;
+        }
+
         boolean hasTarget = mob.getTarget() != null;
         boolean needsHealthRegen = regenTicksRemaining > 0;
 
@@ -133,14 +140,9 @@ public class PackMobBehavior {
             mob.setTarget(null);
         }
 
-        // Force pathfind to home every 5 ticks
+        // Keep heading home every 5 ticks (the path itself is only computed when needed)
         if (mob.tickCount % 5 == 0) {
-            mob.getNavigation().moveTo(
-                    homePosition.getX() + 0.5,
-                    homePosition.getY(),
-                    homePosition.getZ() + 0.5,
-                    1.5
-            );
+            HomePathFollower.follow(mob, homePosition, homePosition, 1.5);
         }
 
         // Check if reached home
@@ -201,7 +203,7 @@ public class PackMobBehavior {
         }
     }
 
-    private static AttributeModifier getSpeedModifier() {
+    public static AttributeModifier getSpeedModifier() {
         return new AttributeModifier(
                 net.minecraft.resources.ResourceLocation.fromNamespaceAndPath("wowcraft", "pack_return_speed"),
                 0.5, // 50% speed increase
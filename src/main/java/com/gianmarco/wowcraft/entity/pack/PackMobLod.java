@@ -0,0 +1,91 @@
+package com.gianmarco.wowcraft.entity.pack;
+
+import com.gianmarco.wowcraft.world.PlayerSpatialIndex;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Mob;
+
+/**
+ * Distance-tiered AI level of detail for pack mobs (see PackMobLodMixin).
+ *
+ * FULL    - a player within NEAR_DISTANCE, or the mob is fighting/evading: vanilla AI every tick.
+ * REDUCED - a player within FAR_DISTANCE: goals, navigation and pack behavior every REDUCED_INTERVAL ticks.
+ * FROZEN  - nobody around: no AI at all. Movement input is zeroed on the way in,
+ *           so only physics (gravity, pushes, fluids) keeps running.
+ *
+ * The player distance is rechecked every RECHECK_INTERVAL ticks, staggered by
+ * entity id. Combat promotes to FULL on the same tick.
+ */
+public final class PackMobLod {
+
+    public static final int TIER_FULL = 0;
+    public static final int TIER_REDUCED = 1;
+    public static final int TIER_FROZEN = 2;
+
+    private static final double NEAR_DISTANCE = 48.0;
+    private static final double FAR_DISTANCE = 96.0;
+    private static final int REDUCED_INTERVAL = 4;
+    private static final int RECHECK_INTERVAL = 10;
+    private static final int RECENT_HURT_TICKS = 100;
+
+    private PackMobLod() {
+    }
+
+    /**
+     * True on the ticks where the tier should be recomputed from player distance.
+     */
+    public static boolean isRecheckTick(Mob mob) {
+        return (mob.tickCount + mob.getId()) % RECHECK_INTERVAL == 0;
+    }
+
+    /**
+     * Fighting, evading or recently hurt mobs always get full AI.
+     */
+    public static boolean isEngaged(Mob mob) {
+        if (mob.getTarget() != null) {
+            return true;
+        }
+        if (mob instanceof IPackMob packMob && packMob.isEvading()) {
+            return true;
+        }
+        return mob.getLastHurtByMob() != null
+                && mob.tickCount - mob.getLastHurtByMobTimestamp() < RECENT_HURT_TICKS;
+    }
+
+    /**
+     * Tier from the distance to the nearest player.
+     */
+    public static int computeTier(Mob mob) {
+        if (!(mob.level() instanceof ServerLevel level)) {
+            return TIER_FULL;
+        }
+
+        double distSq = PlayerSpatialIndex.get(level).nearestDistanceSq(mob.getX(), mob.getY(), mob.getZ(), FAR_DISTANCE);
+        if (distSq <= NEAR_DISTANCE * NEAR_DISTANCE) {
+            return TIER_FULL;
+        }
+        return distSq != Double.MAX_VALUE ? TIER_REDUCED : TIER_FROZEN;
+    }
+
+    /**
+     * Whether the AI step runs this tick for a mob in the given tier.
+     */
+    public static boolean shouldRunAi(Mob mob, int tier) {
+        return switch (tier) {
+            case TIER_FULL -> true;
+            case TIER_REDUCED -> (mob.tickCount + mob.getId()) % REDUCED_INTERVAL == 0;
+            default -> false;
+        };
+    }
+
+    /**
+     * Drop whatever the mob was doing so it doesn't keep walking on stale input while frozen.
+     */
+    public static void freeze(Mob mob) {
+        mob.getNavigation().stop();
+        mob.setSpeed(0.0F);
+        mob.setZza(0.0F);
+        mob.setXxa(0.0F);
+        mob.setYya(0.0F);
+        mob.setJumping(false);
+    }
+}
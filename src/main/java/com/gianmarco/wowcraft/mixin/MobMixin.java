@@ -1,12 +1,15 @@
 package com.gianmarco.wowcraft.mixin;
 
+import com.gianmarco.wowcraft.combat.AggroTracker;
 import com.gianmarco.wowcraft.entity.MobLevelManager;
+import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.SpawnGroupData;
 import net.minecraft.world.level.ServerLevelAccessor;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 @Mixin(Mob.class)
@@ -21,4 +24,10 @@ public class MobMixin {
         // Apply WowCraft levels and stats
         MobLevelManager.initializeMob(self);
     }
+
+    @Inject(method = "setTarget", at = @At("TAIL"))
+    private void wowcraft$onSetTarget(LivingEntity target, CallbackInfo ci) {
+        // Lets combat detection find the mobs after a player without scanning
+        AggroTracker.onTargetSet((Mob) (Object) this, target);
+    }
 }
@@ -3,6 +3,7 @@ package com.gianmarco.wowcraft.mixin;
 import com.gianmarco.wowcraft.WowCraft;
 import com.gianmarco.wowcraft.entity.MobData;
 import com.gianmarco.wowcraft.mobpack.DynamicAggroRangeGoal;
+import com.gianmarco.wowcraft.mobpack.PackBrainCoordinator;
 import com.gianmarco.wowcraft.mobpack.PackMobEvadeGoal;
 import com.gianmarco.wowcraft.mobpack.PackMobStationaryGoal;
 import com.gianmarco.wowcraft.playerclass.PlayerDataRegistry;
@@ -93,6 +94,11 @@ public abstract class PackMobGoalMixin {
             return;
         }
 
+        // Packs with a brain get their leash, evade and regen from it
+        if (PackBrainCoordinator.isCoordinated(self)) {
+            return;
+        }
+
         // Check if mob is too far from home position
         BlockPos home = self.getRestrictCenter();
         if (home != null) {
@@ -0,0 +1,47 @@
+package com.gianmarco.wowcraft.mixin;
+
+import com.gianmarco.wowcraft.entity.pack.IPackMob;
+import com.gianmarco.wowcraft.entity.pack.PackMobLod;
+import net.minecraft.world.entity.Mob;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * AI level of detail for pack mobs: skips the whole AI step (sensing, goals,
+ * navigation, controls and customServerAiStep) at a reduced rate or entirely
+ * when no player is near. See PackMobLod for the tiers.
+ */
+@Mixin(Mob.class)
+public abstract class PackMobLodMixin {
+
+    @Unique
+    private int wowcraft$lodTier = PackMobLod.TIER_FULL;
+
+    @Inject(method = "serverAiStep", at = @At("HEAD"), cancellable = true)
+    private void wowcraft$applyAiLod(CallbackInfo ci) {
+        Mob self = (Mob) (Object) this;
+        if (!(self instanceof IPackMob)) {
+            return;
+        }
+
+        int tier = wowcraft$lodTier;
+        if (PackMobLod.isEngaged(self)) {
+            // Combat promotes straight away, without waiting for the next distance check
+            tier = PackMobLod.TIER_FULL;
+        } else if (PackMobLod.isRecheckTick(self)) {
+            tier = PackMobLod.computeTier(self);
+        }
+
+        if (tier == PackMobLod.TIER_FROZEN && wowcraft$lodTier != PackMobLod.TIER_FROZEN) {
+            PackMobLod.freeze(self);
+        }
+        wowcraft$lodTier = tier;
+
+        if (!PackMobLod.shouldRunAi(self, tier)) {
+            ci.cancel();
+        }
+    }
+}
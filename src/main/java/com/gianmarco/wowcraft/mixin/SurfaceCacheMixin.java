@@ -0,0 +1,27 @@
+package com.gianmarco.wowcraft.mixin;
+
+import com.gianmarco.wowcraft.world.SurfaceCache;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Mixin to keep the surface cache in sync with block changes.
+ */
+@Mixin(Level.class)
+public abstract class SurfaceCacheMixin {
+
+    @Inject(method = "setBlock(Lnet/minecraft/core/BlockPos;Lnet/minecraft/world/level/block/state/BlockState;II)Z",
+            at = @At("RETURN"))
+    private void wowcraft$invalidateSurface(BlockPos pos, BlockState state, int flags, int recursionLeft,
+            CallbackInfoReturnable<Boolean> cir) {
+        if (cir.getReturnValueZ() && (Object) this instanceof ServerLevel serverLevel) {
+            SurfaceCache.onBlockChanged(serverLevel, pos);
+        }
+    }
+}
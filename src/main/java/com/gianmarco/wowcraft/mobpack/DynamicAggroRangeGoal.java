@@ -1,8 +1,8 @@
 package com.gianmarco.wowcraft.mobpack;
 
 import com.gianmarco.wowcraft.entity.MobLevelManager;
-import com.gianmarco.wowcraft.playerclass.PlayerData;
-import com.gianmarco.wowcraft.playerclass.PlayerDataRegistry;
+import com.gianmarco.wowcraft.world.PlayerSpatialIndex;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.entity.ai.goal.Goal;
@@ -33,7 +33,7 @@ public class DynamicAggroRangeGoal extends NearestAttackableTargetGoal<Player> {
 
     private static final int BASE_AGGRO_RANGE = 10;
     private static final int MIN_AGGRO_RANGE = 2;
-    private static final int MAX_AGGRO_RANGE = 18;
+    static final int MAX_AGGRO_RANGE = 18;
 
     private final Mob mob;
     private int mobLevel;
@@ -52,10 +52,12 @@ public class DynamicAggroRangeGoal extends NearestAttackableTargetGoal<Player> {
 
     @Override
     public boolean canUse() {
-        // Update aggro range periodically
+        // Update aggro range periodically (the pack brain does it for coordinated packs)
         ticksSinceLastUpdate++;
         if (ticksSinceLastUpdate >= UPDATE_INTERVAL) {
-            updateDynamicAggroRange();
+            if (!PackBrainCoordinator.isCoordinated(mob)) {
+                updateDynamicAggroRange();
+            }
             ticksSinceLastUpdate = 0;
         }
 
@@ -66,31 +68,37 @@ public class DynamicAggroRangeGoal extends NearestAttackableTargetGoal<Player> {
      * Dynamically update follow range based on nearest player's level.
      */
     private void updateDynamicAggroRange() {
+        if (!(mob.level() instanceof ServerLevel level)) {
+            return;
+        }
+
         // Find nearest player to calculate appropriate aggro range
-        Player nearestPlayer = mob.level().getNearestPlayer(mob, MAX_AGGRO_RANGE);
+        PlayerSpatialIndex players = PlayerSpatialIndex.get(level);
+        int nearest = players.nearest(mob.getX(), mob.getY(), mob.getZ(), MAX_AGGRO_RANGE);
 
-        if (nearestPlayer == null) {
+        if (nearest < 0) {
             // No players nearby, use max range for detection
             updateFollowRange(MAX_AGGRO_RANGE);
             return;
         }
 
-        // Get player level
-        int playerLevel = 1;
-        if (nearestPlayer.hasAttached(PlayerDataRegistry.PLAYER_DATA)) {
-            PlayerData data = nearestPlayer.getAttached(PlayerDataRegistry.PLAYER_DATA);
-            playerLevel = data.level();
-        }
+        // Player level comes with the index
+        int playerLevel = players.getPlayerLevel(nearest);
 
+        // Update the mob's follow range attribute
+        updateFollowRange(computeAggroRange(mobLevel, playerLevel));
+    }
+
+    /**
+     * Aggro range for a mob of one level against a player of another.
+     */
+    static double computeAggroRange(int mobLevel, int playerLevel) {
         // Calculate dynamic range with gentler scaling (0.5 blocks per level)
         int levelDiff = mobLevel - playerLevel;
         double aggroRange = BASE_AGGRO_RANGE + (levelDiff * 0.5);
 
         // Clamp to min/max
-        aggroRange = Math.max(MIN_AGGRO_RANGE, Math.min(MAX_AGGRO_RANGE, aggroRange));
-
-        // Update the mob's follow range attribute
-        updateFollowRange(aggroRange);
+        return Math.max(MIN_AGGRO_RANGE, Math.min(MAX_AGGRO_RANGE, aggroRange));
     }
 
     /**
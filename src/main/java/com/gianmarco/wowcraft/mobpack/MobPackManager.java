@@ -1,13 +1,16 @@
 package com.gianmarco.wowcraft.mobpack;
 
 import com.gianmarco.wowcraft.WowCraft;
+import com.gianmarco.wowcraft.core.BackgroundWork;
+import com.gianmarco.wowcraft.core.TimingWheel;
 import com.gianmarco.wowcraft.entity.MobData;
 import com.gianmarco.wowcraft.playerclass.PlayerDataRegistry;
-import com.gianmarco.wowcraft.poi.POIGenerator;
 import com.gianmarco.wowcraft.poi.POIManager;
 import com.gianmarco.wowcraft.poi.POISaveData;
 import com.gianmarco.wowcraft.poi.PointOfInterest;
 import com.gianmarco.wowcraft.spawn.SpawnSystemManager;
+import com.gianmarco.wowcraft.world.ChunkSurface;
+import com.gianmarco.wowcraft.world.SurfaceCache;
 import com.gianmarco.wowcraft.zone.BiomeGroup;
 import com.gianmarco.wowcraft.zone.ZoneRegion;
 import com.gianmarco.wowcraft.zone.ZoneSaveData;
@@ -22,7 +25,6 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.biome.Biome;
-import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.Heightmap;
 import org.jetbrains.annotations.Nullable;
 
@@ -53,6 +55,12 @@ public class MobPackManager {
     /** All spawned packs by pack ID */
     private static final Map<UUID, SpawnedMobPack> allPacks = new ConcurrentHashMap<>();
 
+    /** Delay before retrying slots that could not spawn (chunk not loaded, no valid ground) */
+    private static final int RESPAWN_RETRY_TICKS = 200;
+
+    /** Packs with dead slots, filed by the tick their next respawn is due */
+    private static final TimingWheel<SpawnedMobPack> respawnWheel = new TimingWheel<>();
+
     /** Pack lookup by mob entity ID (for social aggro) */
     private static final Map<UUID, UUID> mobToPackMap = new ConcurrentHashMap<>();
 
@@ -86,10 +94,15 @@ public class MobPackManager {
     }
 
     /**
-     * Process pending chunks gradually to avoid lag spikes.
-     * Called from server tick.
+     * Pack spawning for newly loaded chunks, run by BackgroundWork within the slice
+     * it hands out. At least one chunk per run, more while the slice lasts.
      */
-    private static void processPendingChunks(ServerLevel level) {
+    public static boolean runBackgroundWork(ServerLevel level, BackgroundWork.Slice slice) {
+        processPendingChunks(level, slice);
+        return true;
+    }
+
+    private static void processPendingChunks(ServerLevel level, BackgroundWork.Slice slice) {
         if (pendingChunks.isEmpty()) {
             return;
         }
@@ -99,11 +112,10 @@ public class MobPackManager {
             return;
         }
 
-        // Process up to 1 chunk per tick to avoid lag (reduced from 2)
-        int processedThisTick = 0;
+        int processed = 0;
         Iterator<Long> iterator = pendingChunks.iterator();
 
-        while (iterator.hasNext() && processedThisTick < 1) {
+        while (iterator.hasNext() && (processed == 0 || !slice.isExceeded())) {
             long chunkKey = iterator.next();
             iterator.remove();
 
@@ -113,7 +125,7 @@ public class MobPackManager {
             }
 
             processChunkForPackSpawn(level, new ChunkPos(chunkKey));
-            processedThisTick++;
+            processed++;
         }
     }
 
@@ -144,30 +156,8 @@ public class MobPackManager {
         POISaveData poiSaveData = POISaveData.get(level);
         POIManager poiManager = poiSaveData.getManager();
 
-        // Check if POIs have been generated for this region
-        if (!poiManager.isRegionGenerated(chunkCenter)) {
-            // Generate POIs for this region
-            POIManager.RegionPos regionPos = POIManager.RegionPos.fromBlockPos(chunkCenter, 300);
-            BlockPos regionCenter = regionPos.getCenterBlockPos(300);
-
-            WowCraft.LOGGER.debug("Generating POIs for region at {} (biome: {})", regionCenter, group);
-
-            List<PointOfInterest> newPOIs = POIGenerator.generatePOIsForRegion(
-                    level, regionCenter, level.getSeed(), group);
-
-            // Add POIs to manager
-            for (PointOfInterest poi : newPOIs) {
-                poiManager.addPOI(poi);
-            }
-
-            // Mark region as generated
-            poiManager.markRegionGenerated(regionCenter);
-
-            // Save POI data (async to avoid blocking)
-            poiSaveData.save();
-
-            WowCraft.LOGGER.debug("Generated and saved {} POIs for region {}", newPOIs.size(), regionPos);
-        }
+        // POIs for the region are generated off-thread by the spawn region pipeline
+        // (RegionGenerationPipeline); chunks of a region it hasn't reached yet see none
 
         // Get POIs near this chunk
         List<PointOfInterest> nearbyPOIs = poiManager.getPOIsNearChunk(chunkPos);
@@ -241,21 +231,12 @@ public class MobPackManager {
      */
     @Nullable
     private static BlockPos findSurfaceNear(ServerLevel level, BlockPos target) {
-        // Try the exact position first
-        int y = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, target.getX(), target.getZ());
-
-        // Validate Y is within world bounds
-        if (y >= level.getMinY() && y <= level.getMaxY() - 2) {
-            BlockPos pos = new BlockPos(target.getX(), y, target.getZ());
-
-            // Quick check: is there a solid block below and air above?
-            BlockState below = level.getBlockState(pos.below());
-            BlockState at = level.getBlockState(pos);
+        SurfaceCache surfaceCache = SurfaceCache.get(level);
 
-            if ((below.isSuffocating(level, pos.below()) || below.blocksMotion()) &&
-                !at.isSuffocating(level, pos)) {
-                return pos;
-            }
+        // Try the exact position first
+        BlockPos pos = surfaceCache.findSurfacePos(target.getX(), target.getZ(), false);
+        if (pos != null) {
+            return pos;
         }
 
         // If exact position fails, try nearby positions
@@ -264,19 +245,9 @@ public class MobPackManager {
             int offsetX = random.nextInt(10) - 5;
             int offsetZ = random.nextInt(10) - 5;
 
-            int x = target.getX() + offsetX;
-            int z = target.getZ() + offsetZ;
-            y = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, x, z);
-
-            if (y >= level.getMinY() && y <= level.getMaxY() - 2) {
-                BlockPos pos = new BlockPos(x, y, z);
-                BlockState below = level.getBlockState(pos.below());
-                BlockState at = level.getBlockState(pos);
-
-                if ((below.isSuffocating(level, pos.below()) || below.blocksMotion()) &&
-                    !at.isSuffocating(level, pos)) {
-                    return pos;
-                }
+            pos = surfaceCache.findSurfacePos(target.getX() + offsetX, target.getZ() + offsetZ, false);
+            if (pos != null) {
+                return pos;
             }
         }
 
@@ -295,25 +266,14 @@ public class MobPackManager {
         }
 
         // Try a few random positions in the chunk
+        SurfaceCache surfaceCache = SurfaceCache.get(level);
         for (int attempt = 0; attempt < 10; attempt++) {
             int x = chunkPos.getMinBlockX() + random.nextInt(16);
             int z = chunkPos.getMinBlockZ() + random.nextInt(16);
 
-            // Get surface Y
-            int y = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, x, z);
-
-            // Validate Y is within world bounds
-            if (y >= level.getMinY() && y <= level.getMaxY() - 2) {
-                BlockPos pos = new BlockPos(x, y, z);
-
-                // Quick check: is there a solid block below and air above?
-                BlockState below = level.getBlockState(pos.below());
-                BlockState at = level.getBlockState(pos);
-
-                if ((below.isSuffocating(level, pos.below()) || below.blocksMotion()) &&
-                    !at.isSuffocating(level, pos)) {
-                    return pos;
-                }
+            BlockPos pos = surfaceCache.findSurfacePos(x, z, false);
+            if (pos != null) {
+                return pos;
             }
         }
 
@@ -429,8 +389,10 @@ public class MobPackManager {
             BlockPos mobPos = center.offset(offsetX, 0, offsetZ);
 
             // Adjust to surface
-            int surfaceY = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES,
-                    mobPos.getX(), mobPos.getZ());
+            ChunkSurface surface = SurfaceCache.get(level).getColumn(mobPos.getX(), mobPos.getZ());
+            int surfaceY = surface != null
+                    ? surface.getGroundY(mobPos.getX(), mobPos.getZ())
+                    : level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, mobPos.getX(), mobPos.getZ());
             mobPos = new BlockPos(mobPos.getX(), surfaceY, mobPos.getZ());
 
             pack.addMob(new SpawnedMob(selected.mobType(), mobPos));
@@ -449,28 +411,53 @@ public class MobPackManager {
         ChunkPos chunkPos = new ChunkPos(pack.getCenterPos());
         chunkPackMap.computeIfAbsent(chunkPos.toLong(), k -> new java.util.concurrent.CopyOnWriteArrayList<>())
                 .add(pack);
+
+        scheduleRespawn(pack, respawnWheel.getCurrentTick());
     }
 
     /**
-     * Called on server tick to handle respawns and process pending chunks.
+     * File a pack on the respawn wheel at its next due tick, unless an
+     * earlier entry is already waiting.
      */
-    public static void onServerTick(ServerLevel level) {
-        long currentTick = level.getGameTime();
-
-        // NEW SPAWN SYSTEM: Process queued spawn generation
-        SpawnSystemManager.onServerTick(level);
+    private static void scheduleRespawn(SpawnedMobPack pack, long currentTick) {
+        scheduleRespawnAt(pack, pack.getNextRespawnTick(currentTick));
+    }
 
-        // Process pending chunks gradually (every tick, up to 5 chunks)
-        processPendingChunks(level);
+    private static void scheduleRespawnAt(SpawnedMobPack pack, long dueTick) {
+        if (dueTick == Long.MAX_VALUE || dueTick >= pack.getScheduledRespawnTick()) {
+            return;
+        }
+        pack.setScheduledRespawnTick(dueTick);
+        respawnWheel.schedule(pack, dueTick);
+    }
 
-        // Only check respawns every 20 ticks (1 second)
-        if (currentTick % 20 != 0) {
+    private static void fireRespawn(SpawnedMobPack pack, ServerLevel level, long currentTick) {
+        // Superseded by an earlier entry, or the pack is gone
+        if (pack.getScheduledRespawnTick() > currentTick || allPacks.get(pack.getPackId()) != pack) {
             return;
         }
+        pack.setScheduledRespawnTick(Long.MAX_VALUE);
+        pack.spawnReadyMobs(level, currentTick);
 
-        for (SpawnedMobPack pack : allPacks.values()) {
-            pack.spawnReadyMobs(level, currentTick);
+        // Slots still due now could not spawn; try again later
+        long next = pack.getNextRespawnTick(currentTick);
+        if (next <= currentTick) {
+            next = currentTick + RESPAWN_RETRY_TICKS;
         }
+        scheduleRespawnAt(pack, next);
+    }
+
+    /**
+     * Called on server tick to handle respawns and process pending chunks.
+     */
+    public static void onServerTick(ServerLevel level) {
+        long currentTick = level.getGameTime();
+
+        // Pack AI: one brain per active pack instead of per-mob leash logic
+        PackBrainCoordinator.tick(level, allPacks.values());
+
+        // Respawn only the packs that came due this tick
+        respawnWheel.advance(currentTick, pack -> fireRespawn(pack, level, currentTick));
     }
 
     /**
@@ -490,9 +477,41 @@ public class MobPackManager {
         if (pack != null) {
             pack.onMobDeath(mob.getUUID(), level.getGameTime());
             mobToPackMap.remove(mob.getUUID());
+            scheduleRespawn(pack, level.getGameTime());
         }
     }
 
+    /**
+     * Called when an entity is added to a level or loaded with its chunk.
+     * Links pack mobs to their pack slot so the pack can reach them directly.
+     */
+    public static void onEntityLoad(net.minecraft.world.entity.Entity entity) {
+        if (entity instanceof net.minecraft.world.entity.Mob mob) {
+            SpawnedMobPack pack = getPackOf(mob);
+            if (pack != null) {
+                pack.attachMember(mob);
+            }
+        }
+    }
+
+    /**
+     * Called when an entity is removed from a level or unloaded with its chunk.
+     */
+    public static void onEntityUnload(net.minecraft.world.entity.Entity entity) {
+        if (entity instanceof net.minecraft.world.entity.Mob mob) {
+            SpawnedMobPack pack = getPackOf(mob);
+            if (pack != null) {
+                pack.detachMember(mob);
+            }
+        }
+    }
+
+    @Nullable
+    private static SpawnedMobPack getPackOf(net.minecraft.world.entity.Mob mob) {
+        MobData data = mob.getAttached(PlayerDataRegistry.MOB_DATA);
+        return data != null && data.packId() != null ? allPacks.get(data.packId()) : null;
+    }
+
     /**
      * Called when a pack mob spawns to register in lookup map.
      */
@@ -528,6 +547,8 @@ public class MobPackManager {
 
         processedChunks.clear();
         allPacks.clear();
+        respawnWheel.clear();
+        com.gianmarco.wowcraft.entity.pack.HomePathFollower.clear();
         mobToPackMap.clear();
         chunkPackMap.clear();
         pendingChunks.clear();
@@ -0,0 +1,216 @@
+package com.gianmarco.wowcraft.mobpack;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pack-level AI, run once per pack per tick instead of once per member.
+ * Handles leash timers, pack-wide evade, health regen, aggro spreading and
+ * the members' aggro range.
+ *
+ * evaluate only reads the snapshot and this brain's own state, so brains of
+ * different packs can run in parallel. Everything it decides goes into a
+ * command buffer that the server thread applies to the entities.
+ */
+class PackBrain {
+
+    private static final double LEASH_RANGE = 24.0;
+    private static final int LEASH_RESET_TICKS = 100; // 5 seconds
+    private static final int HEALTH_REGEN_TICKS = 100; // 5 seconds
+    private static final double HOME_RADIUS = 2.0;
+    private static final int MOVE_HOME_INTERVAL = 5;
+    private static final int AGGRO_RANGE_INTERVAL = 20; // matches DynamicAggroRangeGoal
+
+    /** Per-member state that outlives a tick */
+    private static class MemberState {
+        int ticksOutOfLeash;
+        boolean evading;
+        int regenTicksRemaining;
+        float healthPerTick;
+    }
+
+    private final Map<UUID, MemberState> states = new HashMap<>();
+
+    /**
+     * True while a member is still evading or regenerating, so the brain keeps
+     * running after the players have left.
+     */
+    boolean hasWork() {
+        for (MemberState state : states.values()) {
+            if (state.evading || state.regenTicksRemaining > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isEvading(UUID memberId) {
+        MemberState state = states.get(memberId);
+        return state != null && state.evading;
+    }
+
+    PackCommandBuffer evaluate(PackSnapshot snapshot) {
+        PackCommandBuffer commands = new PackCommandBuffer(snapshot);
+        List<PackSnapshot.Member> members = snapshot.members();
+        long tick = snapshot.tick();
+
+        // Forget members that died or unloaded
+        Set<UUID> present = new HashSet<>();
+        for (PackSnapshot.Member member : members) {
+            present.add(member.id());
+        }
+        states.keySet().retainAll(present);
+
+        boolean leashBroken = false;
+        for (int i = 0; i < members.size(); i++) {
+            PackSnapshot.Member member = members.get(i);
+            MemberState state = states.computeIfAbsent(member.id(), k -> new MemberState());
+            double distanceFromHome = member.distanceToHome();
+
+            if (state.evading) {
+                if (distanceFromHome <= HOME_RADIUS) {
+                    state.evading = false;
+                    state.ticksOutOfLeash = 0;
+                    commands.stopEvade(i);
+                } else {
+                    if (member.targetId() != null) {
+                        commands.clearTarget(i);
+                    }
+                    if (tick % MOVE_HOME_INTERVAL == 0) {
+                        commands.moveHome(i);
+                    }
+                }
+            } else if (member.targetId() != null && distanceFromHome > LEASH_RANGE) {
+                // Damage resets the timer
+                state.ticksOutOfLeash = member.hurtRecently() ? 0 : state.ticksOutOfLeash + 1;
+                if (state.ticksOutOfLeash >= LEASH_RESET_TICKS) {
+                    leashBroken = true;
+                }
+            } else {
+                state.ticksOutOfLeash = 0;
+            }
+
+            if (state.regenTicksRemaining > 0) {
+                commands.heal(i, state.healthPerTick);
+                state.regenTicksRemaining--;
+            }
+        }
+
+        if (leashBroken) {
+            // One member pulled too far resets the whole camp, like a WoW pack
+            evadePack(snapshot, commands);
+        } else {
+            spreadAggro(snapshot, commands);
+        }
+
+        if (tick % AGGRO_RANGE_INTERVAL == 0) {
+            updateAggroRanges(snapshot, commands);
+        }
+
+        return commands;
+    }
+
+    private void evadePack(PackSnapshot snapshot, PackCommandBuffer commands) {
+        List<PackSnapshot.Member> members = snapshot.members();
+        for (int i = 0; i < members.size(); i++) {
+            PackSnapshot.Member member = members.get(i);
+            MemberState state = states.get(member.id());
+            if (state.evading) {
+                continue;
+            }
+            if (member.targetId() == null && member.distanceToHome() <= HOME_RADIUS) {
+                continue; // Never left home
+            }
+
+            state.evading = true;
+            state.ticksOutOfLeash = 0;
+            state.healthPerTick = (member.maxHealth() - member.health()) / HEALTH_REGEN_TICKS;
+            state.regenTicksRemaining = HEALTH_REGEN_TICKS;
+            commands.startEvade(i);
+        }
+    }
+
+    /**
+     * Idle members near a member fighting a player join in, as long as the
+     * player is within their own leash.
+     */
+    private void spreadAggro(PackSnapshot snapshot, PackCommandBuffer commands) {
+        List<PackSnapshot.Member> members = snapshot.members();
+        double radiusSq = snapshot.pack().getSocialAggroRadius() * snapshot.pack().getSocialAggroRadius();
+
+        for (PackSnapshot.Member engaged : members) {
+            if (engaged.targetId() == null || isEvading(engaged.id())) {
+                continue;
+            }
+            int playerIndex = indexOfPlayer(snapshot.players(), engaged.targetId());
+            if (playerIndex < 0) {
+                continue; // Fighting something other than a nearby player
+            }
+            PackSnapshot.NearbyPlayer player = snapshot.players().get(playerIndex);
+
+            for (int i = 0; i < members.size(); i++) {
+                PackSnapshot.Member idle = members.get(i);
+                if (idle.targetId() != null || isEvading(idle.id())) {
+                    continue;
+                }
+                if (idle.distanceSqTo(engaged.x(), engaged.y(), engaged.z()) > radiusSq) {
+                    continue;
+                }
+                double homeX = idle.home().getX() + 0.5;
+                double homeY = idle.home().getY() + 0.5;
+                double homeZ = idle.home().getZ() + 0.5;
+                double dx = player.x() - homeX;
+                double dy = player.y() - homeY;
+                double dz = player.z() - homeZ;
+                if (dx * dx + dy * dy + dz * dz > LEASH_RANGE * LEASH_RANGE) {
+                    continue;
+                }
+                commands.setTarget(i, playerIndex);
+            }
+        }
+    }
+
+    /**
+     * Level-based aggro range against the nearest player, for vanilla members
+     * (custom pack entities don't use follow range for aggro).
+     */
+    private void updateAggroRanges(PackSnapshot snapshot, PackCommandBuffer commands) {
+        List<PackSnapshot.Member> members = snapshot.members();
+        double maxRangeSq = DynamicAggroRangeGoal.MAX_AGGRO_RANGE * DynamicAggroRangeGoal.MAX_AGGRO_RANGE;
+
+        for (int i = 0; i < members.size(); i++) {
+            PackSnapshot.Member member = members.get(i);
+            if (member.customEntity()) {
+                continue;
+            }
+
+            PackSnapshot.NearbyPlayer nearest = null;
+            double nearestSq = maxRangeSq;
+            for (PackSnapshot.NearbyPlayer player : snapshot.players()) {
+                double distSq = member.distanceSqTo(player.x(), player.y(), player.z());
+                if (distSq <= nearestSq) {
+                    nearestSq = distSq;
+                    nearest = player;
+                }
+            }
+
+            double range = nearest != null
+                    ? DynamicAggroRangeGoal.computeAggroRange(member.level(), nearest.level())
+                    : DynamicAggroRangeGoal.MAX_AGGRO_RANGE;
+            commands.setAggroRange(i, (float) range);
+        }
+    }
+
+    private static int indexOfPlayer(List<PackSnapshot.NearbyPlayer> players, UUID id) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).id().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
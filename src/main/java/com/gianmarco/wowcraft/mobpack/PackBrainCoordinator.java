@@ -0,0 +1,153 @@
+package com.gianmarco.wowcraft.mobpack;
+
+import com.gianmarco.wowcraft.WowCraft;
+import com.gianmarco.wowcraft.entity.MobData;
+import com.gianmarco.wowcraft.playerclass.PlayerDataRegistry;
+import com.gianmarco.wowcraft.world.PlayerSpatialIndex;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Mob;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the pack brains once per tick.
+ *
+ * Three steps:
+ * 1. Snapshot - the server thread copies members and nearby players of every pack with something to do.
+ * 2. Decide - the brains evaluate their snapshots, in parallel on a ForkJoin pool once there are enough packs.
+ * 3. Apply - the server thread applies the command buffers in pack order.
+ *
+ * Pack AI cost follows the number of active packs rather than the number of
+ * mobs, and only steps 1 and 3 touch the world.
+ */
+public class PackBrainCoordinator {
+
+    /** Packs with no player this close to their center sleep (leash 24 + max aggro 18, plus chase room) */
+    private static final double ACTIVE_RADIUS = 64.0;
+
+    /** Below this many active packs the fork/join overhead isn't worth it */
+    private static final int PARALLEL_THRESHOLD = 4;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("WowCraft-PackAI-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false);
+
+    private static int lastActivePacks = 0;
+    private static int lastCommands = 0;
+    private static long lastTickNanos = 0;
+
+    /**
+     * Snapshot, evaluate and apply every active pack. Server thread only.
+     */
+    public static void tick(ServerLevel level, Collection<SpawnedMobPack> packs) {
+        long startNanos = System.nanoTime();
+        long currentTick = level.getGameTime();
+
+        PlayerSpatialIndex players = PlayerSpatialIndex.get(level);
+
+        // Step 1: snapshot the packs that have players around or unfinished business
+        List<PackSnapshot> snapshots = new ArrayList<>();
+        double activeSq = ACTIVE_RADIUS * ACTIVE_RADIUS;
+        for (SpawnedMobPack pack : packs) {
+            BlockPos center = pack.getCenterPos();
+            boolean playersNear = players.anyWithin(center.getX(), center.getZ(), center.getX(), center.getZ(),
+                    ACTIVE_RADIUS);
+            if (!playersNear && !pack.getBrain().hasWork()) {
+                continue;
+            }
+
+            List<PackSnapshot.NearbyPlayer> nearby = new ArrayList<>();
+            for (int i = 0; playersNear && i < players.size(); i++) {
+                double dx = players.getX(i) - center.getX();
+                double dz = players.getZ(i) - center.getZ();
+                if (dx * dx + dz * dz <= activeSq) {
+                    nearby.add(PackSnapshot.NearbyPlayer.of(players, i));
+                }
+            }
+            snapshots.add(PackSnapshot.capture(level, pack, List.copyOf(nearby), currentTick));
+        }
+
+        // Step 2: decide
+        List<PackCommandBuffer> buffers = evaluate(snapshots);
+
+        // Step 3: apply
+        int commands = 0;
+        for (PackCommandBuffer buffer : buffers) {
+            buffer.apply();
+            commands += buffer.size();
+        }
+
+        lastActivePacks = snapshots.size();
+        lastCommands = commands;
+        lastTickNanos = System.nanoTime() - startNanos;
+    }
+
+    private static List<PackCommandBuffer> evaluate(List<PackSnapshot> snapshots) {
+        List<PackCommandBuffer> buffers = new ArrayList<>(snapshots.size());
+        if (snapshots.size() < PARALLEL_THRESHOLD) {
+            for (PackSnapshot snapshot : snapshots) {
+                try {
+                    buffers.add(snapshot.pack().getBrain().evaluate(snapshot));
+                } catch (RuntimeException e) {
+                    // Same as a failed task on the pool: skip this pack, keep the rest
+                    WowCraft.LOGGER.error("Pack brain evaluation failed", e);
+                }
+            }
+            return buffers;
+        }
+
+        // Each brain is only touched by its own task; invokeAll waits for all of them
+        List<Callable<PackCommandBuffer>> tasks = new ArrayList<>(snapshots.size());
+        for (PackSnapshot snapshot : snapshots) {
+            tasks.add(() -> snapshot.pack().getBrain().evaluate(snapshot));
+        }
+
+        for (Future<PackCommandBuffer> future : POOL.invokeAll(tasks)) {
+            try {
+                buffers.add(future.get());
+            } catch (ExecutionException e) {
+                WowCraft.LOGGER.error("Pack brain evaluation failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return buffers;
+    }
+
+    /**
+     * True if the mob belongs to a pack that a brain drives, in which case its
+     * own per-mob leash/evade/aggro-range logic should stand down.
+     */
+    public static boolean isCoordinated(Mob mob) {
+        MobData data = mob.getAttached(PlayerDataRegistry.MOB_DATA);
+        return data != null && data.packId() != null && MobPackManager.getPack(data.packId()) != null;
+    }
+
+    public static int getLastActivePacks() {
+        return lastActivePacks;
+    }
+
+    public static int getLastCommands() {
+        return lastCommands;
+    }
+
+    public static long getLastTickNanos() {
+        return lastTickNanos;
+    }
+}
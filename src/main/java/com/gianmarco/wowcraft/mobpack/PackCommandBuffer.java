@@ -0,0 +1,134 @@
+package com.gianmarco.wowcraft.mobpack;
+
+import com.gianmarco.wowcraft.WowCraft;
+import com.gianmarco.wowcraft.entity.pack.HomePathFollower;
+import com.gianmarco.wowcraft.entity.pack.IPackMob;
+import com.gianmarco.wowcraft.entity.pack.PackMobBehavior;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity changes decided by a PackBrain, applied afterwards on the server thread.
+ * Commands refer to members and players by their index in the snapshot.
+ */
+class PackCommandBuffer {
+
+    private enum Type {
+        START_EVADE,
+        STOP_EVADE,
+        MOVE_HOME,
+        CLEAR_TARGET,
+        SET_TARGET,
+        HEAL,
+        SET_AGGRO_RANGE
+    }
+
+    private record Command(Type type, int member, int player, float value) {}
+
+    private final PackSnapshot snapshot;
+    private final List<Command> commands = new ArrayList<>();
+
+    PackCommandBuffer(PackSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    void startEvade(int member) {
+        commands.add(new Command(Type.START_EVADE, member, -1, 0));
+    }
+
+    void stopEvade(int member) {
+        commands.add(new Command(Type.STOP_EVADE, member, -1, 0));
+    }
+
+    void moveHome(int member) {
+        commands.add(new Command(Type.MOVE_HOME, member, -1, 0));
+    }
+
+    void clearTarget(int member) {
+        commands.add(new Command(Type.CLEAR_TARGET, member, -1, 0));
+    }
+
+    void setTarget(int member, int player) {
+        commands.add(new Command(Type.SET_TARGET, member, player, 0));
+    }
+
+    void heal(int member, float amount) {
+        commands.add(new Command(Type.HEAL, member, -1, amount));
+    }
+
+    void setAggroRange(int member, float range) {
+        commands.add(new Command(Type.SET_AGGRO_RANGE, member, -1, range));
+    }
+
+    int size() {
+        return commands.size();
+    }
+
+    /**
+     * Apply the commands in order. Members that died or unloaded since the
+     * snapshot are skipped. Server thread only.
+     */
+    void apply() {
+        for (Command command : commands) {
+            PackSnapshot.Member member = snapshot.members().get(command.member());
+            Mob mob = member.mob();
+            if (mob.isRemoved() || !mob.isAlive()) {
+                continue;
+            }
+
+            switch (command.type()) {
+                case START_EVADE -> startEvade(mob);
+                case STOP_EVADE -> stopEvade(mob);
+                case MOVE_HOME -> HomePathFollower.follow(mob, member.home(), snapshot.pack().getCenterPos(), 1.5);
+                case CLEAR_TARGET -> mob.setTarget(null);
+                case SET_TARGET -> {
+                    ServerPlayer player = snapshot.players().get(command.player()).player();
+                    if (player.isAlive() && !player.isRemoved() && mob.getTarget() == null) {
+                        mob.setTarget(player);
+                    }
+                }
+                case HEAL -> mob.setHealth(Math.min(mob.getMaxHealth(), mob.getHealth() + command.value()));
+                case SET_AGGRO_RANGE -> {
+                    var followRangeAttr = mob.getAttribute(Attributes.FOLLOW_RANGE);
+                    if (followRangeAttr != null && followRangeAttr.getBaseValue() != command.value()) {
+                        followRangeAttr.setBaseValue(command.value());
+                    }
+                }
+            }
+        }
+    }
+
+    private static void startEvade(Mob mob) {
+        // Custom pack entities also block retargeting while evading
+        if (mob instanceof IPackMob packMob) {
+            packMob.startEvade();
+            return;
+        }
+
+        mob.setTarget(null);
+        mob.setLastHurtByMob(null);
+        var speedAttr = mob.getAttribute(Attributes.MOVEMENT_SPEED);
+        if (speedAttr != null && !speedAttr.hasModifier(PackMobBehavior.getSpeedModifier().id())) {
+            speedAttr.addPermanentModifier(PackMobBehavior.getSpeedModifier());
+        }
+        WowCraft.LOGGER.info("{} entering EVADE mode!", mob.getName().getString());
+    }
+
+    private static void stopEvade(Mob mob) {
+        HomePathFollower.forget(mob);
+        if (mob instanceof IPackMob packMob) {
+            packMob.stopEvade();
+            return;
+        }
+
+        var speedAttr = mob.getAttribute(Attributes.MOVEMENT_SPEED);
+        if (speedAttr != null && speedAttr.hasModifier(PackMobBehavior.getSpeedModifier().id())) {
+            speedAttr.removeModifier(PackMobBehavior.getSpeedModifier().id());
+        }
+        WowCraft.LOGGER.info("{} stopped evading", mob.getName().getString());
+    }
+}
@@ -1,5 +1,6 @@
 package com.gianmarco.wowcraft.mobpack;
 
+import com.gianmarco.wowcraft.entity.pack.HomePathFollower;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.ai.goal.Goal;
@@ -35,6 +36,7 @@ public class PackMobEvadeGoal extends Goal {
      */
     public void stopEvade() {
         this.isEvading = false;
+        HomePathFollower.forget(mob);
         this.homePos = null;
     }
 
@@ -83,8 +85,8 @@ public class PackMobEvadeGoal extends Goal {
             return;
         }
 
-        // Force pathfind to home every tick for reliable return
-        mob.getNavigation().moveTo(homePos.getX() + 0.5, homePos.getY(), homePos.getZ() + 0.5, 1.5);
+        // Follow the cached home path; it is only recomputed when the mob strays or gets stuck
+        HomePathFollower.follow(mob, homePos, homePos, 1.5);
     }
 
     @Override
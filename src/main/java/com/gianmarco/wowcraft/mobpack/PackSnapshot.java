@@ -0,0 +1,94 @@
+package com.gianmarco.wowcraft.mobpack;
+
+import com.gianmarco.wowcraft.entity.MobData;
+import com.gianmarco.wowcraft.entity.pack.IPackMob;
+import com.gianmarco.wowcraft.playerclass.PlayerDataRegistry;
+import com.gianmarco.wowcraft.world.PlayerSpatialIndex;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable view of one pack and the players around it, captured on the server
+ * thread for a PackBrain to read from a worker.
+ *
+ * The entity references are carried only so the command buffer can be applied
+ * afterwards; the brain reads the plain fields and never touches them.
+ */
+record PackSnapshot(SpawnedMobPack pack, long tick, List<Member> members, List<NearbyPlayer> players) {
+
+    record Member(
+            Mob mob,
+            UUID id,
+            double x,
+            double y,
+            double z,
+            BlockPos home,
+            float health,
+            float maxHealth,
+            int level,
+            @Nullable UUID targetId,
+            boolean hurtRecently,
+            boolean customEntity) {
+
+        double distanceToHome() {
+            double dx = x - (home.getX() + 0.5);
+            double dy = y - (home.getY() + 0.5);
+            double dz = z - (home.getZ() + 0.5);
+            return Math.sqrt(dx * dx + dy * dy + dz * dz);
+        }
+
+        double distanceSqTo(double ox, double oy, double oz) {
+            double dx = x - ox;
+            double dy = y - oy;
+            double dz = z - oz;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    record NearbyPlayer(ServerPlayer player, UUID id, double x, double y, double z, int level) {
+
+        static NearbyPlayer of(PlayerSpatialIndex players, int index) {
+            ServerPlayer player = players.getPlayer(index);
+            return new NearbyPlayer(player, player.getUUID(), players.getX(index), players.getY(index),
+                    players.getZ(index), players.getPlayerLevel(index));
+        }
+    }
+
+    /**
+     * Copy the loaded members of a pack. Dead or unloaded slots are left out.
+     */
+    static PackSnapshot capture(ServerLevel level, SpawnedMobPack pack, List<NearbyPlayer> players, long tick) {
+        List<Member> members = new ArrayList<>();
+        for (SpawnedMob slot : pack.getMobs()) {
+            Mob mob = slot.getLoadedEntity();
+            if (!slot.isAlive() || mob == null || !mob.isAlive()) {
+                continue;
+            }
+
+            LivingEntity target = mob.getTarget();
+            MobData data = mob.getAttached(PlayerDataRegistry.MOB_DATA);
+            members.add(new Member(
+                    mob,
+                    mob.getUUID(),
+                    mob.getX(),
+                    mob.getY(),
+                    mob.getZ(),
+                    slot.getSpawnPos(),
+                    mob.getHealth(),
+                    mob.getMaxHealth(),
+                    data != null ? data.level() : pack.getTargetLevel(),
+                    target != null ? target.getUUID() : null,
+                    mob.tickCount - mob.getLastHurtByMobTimestamp() < 2,
+                    mob instanceof IPackMob));
+        }
+        return new PackSnapshot(pack, tick, List.copyOf(members), players);
+    }
+}
@@ -8,13 +8,13 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.player.Player;
 
-import java.util.List;
-import java.util.UUID;
 
 /**
  * Handles social aggro when a player attacks a pack mob.
  * Nearby pack members within the social aggro radius will also target the
- * player.
+ * player. Members are reached through the pack's live references, and hits
+ * while every member near the attacked mob is already on the same player
+ * return straight away.
  */
 public class SocialAggroHandler {
 
@@ -39,27 +39,27 @@ public class SocialAggroHandler {
             return;
         }
 
-        // Get all alive pack mobs within social aggro radius of the attacked mob
-        List<UUID> nearbyMobIds = pack.getAliveMobsWithinRadius(
-                level,
-                mob.blockPosition(),
-                pack.getSocialAggroRadius());
+        // Later hits in the same fight change nothing once this mob's neighbours are on the player
+        if (pack.isEngagedWith(player, mob)) {
+            return;
+        }
 
-        // Set aggro for nearby mobs
+        // Pull the loaded pack mobs within social aggro radius of the attacked mob
+        double radiusSq = pack.getSocialAggroRadius() * pack.getSocialAggroRadius();
         int aggroCount = 0;
-        for (UUID mobId : nearbyMobIds) {
-            if (mobId.equals(mob.getUUID())) {
-                continue; // Skip the mob that was directly attacked
+        for (SpawnedMob slot : pack.getMobs()) {
+            Mob nearbyMob = slot.getLoadedEntity();
+            if (nearbyMob == null || nearbyMob == mob || !nearbyMob.isAlive()) {
+                continue; // Unloaded, dead, or the mob that was directly attacked
             }
-
-            // Find the entity in the world
-            var entity = level.getEntity(mobId);
-            if (entity instanceof Mob nearbyMob && nearbyMob.isAlive()) {
-                // Set the player as target
-                nearbyMob.setTarget(player);
-                aggroCount++;
+            if (nearbyMob.getTarget() == player || nearbyMob.distanceToSqr(mob) > radiusSq) {
+                continue;
             }
+
+            nearbyMob.setTarget(player);
+            aggroCount++;
         }
+        pack.setEngagedPlayer(player.getUUID());
 
         if (aggroCount > 0) {
             WowCraft.LOGGER.debug("Social aggro triggered: {} additional mobs targeting {}",
@@ -2,6 +2,7 @@ package com.gianmarco.wowcraft.mobpack;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Mob;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
@@ -19,6 +20,10 @@ public class SpawnedMob {
     private long deathTick; // game tick when mob died (for respawn timing)
     private boolean alive;
 
+    // Live entity while it is loaded (runtime only, kept by entity load/unload events)
+    @Nullable
+    private Mob loadedEntity;
+
     public SpawnedMob(ResourceLocation mobType, BlockPos spawnPos) {
         this.mobType = mobType;
         this.spawnPos = spawnPos;
@@ -50,6 +55,17 @@ public class SpawnedMob {
         return alive;
     }
 
+    /**
+     * The live entity, or null while it is dead or unloaded.
+     */
+    @Nullable
+    public Mob getLoadedEntity() {
+        if (loadedEntity != null && loadedEntity.isRemoved()) {
+            loadedEntity = null;
+        }
+        return loadedEntity;
+    }
+
     // === State Management ===
 
     /**
@@ -68,6 +84,14 @@ public class SpawnedMob {
         this.alive = false;
         this.deathTick = currentTick;
         this.entityId = null;
+        this.loadedEntity = null;
+    }
+
+    /**
+     * Link or unlink the live entity of this slot.
+     */
+    void setLoadedEntity(@Nullable Mob entity) {
+        this.loadedEntity = entity;
     }
 
     /**
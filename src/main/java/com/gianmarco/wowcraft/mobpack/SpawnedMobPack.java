@@ -5,6 +5,8 @@ import com.gianmarco.wowcraft.entity.ModEntities;
 import com.gianmarco.wowcraft.entity.pack.IPackMob;
 import com.gianmarco.wowcraft.playerclass.PlayerDataRegistry;
 import com.gianmarco.wowcraft.entity.MobData;
+import com.gianmarco.wowcraft.world.ChunkSurface;
+import com.gianmarco.wowcraft.world.SurfaceCache;
 import com.gianmarco.wowcraft.zone.BiomeGroup;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
@@ -16,6 +18,7 @@ import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.Nullable;
 
@@ -37,6 +40,16 @@ public class SpawnedMobPack {
     private final BiomeGroup zone;
     private final List<SpawnedMob> mobs;
 
+    // Due tick of the respawn wheel entry that is still wanted (runtime only)
+    private long scheduledRespawnTick = Long.MAX_VALUE;
+
+    // Pack-level AI state (runtime only)
+    private final PackBrain brain = new PackBrain();
+
+    // Player social aggro last pulled this pack onto (runtime only)
+    @Nullable
+    private UUID engagedPlayer;
+
     public SpawnedMobPack(UUID packId, String templateId, BlockPos centerPos,
             int targetLevel, float socialAggroRadius,
             int respawnDelaySeconds, BiomeGroup zone) {
@@ -80,6 +93,18 @@ public class SpawnedMobPack {
         return mobs;
     }
 
+    PackBrain getBrain() {
+        return brain;
+    }
+
+    long getScheduledRespawnTick() {
+        return scheduledRespawnTick;
+    }
+
+    void setScheduledRespawnTick(long tick) {
+        this.scheduledRespawnTick = tick;
+    }
+
     // === Mob Management ===
 
     /**
@@ -100,6 +125,21 @@ public class SpawnedMobPack {
         }
     }
 
+    /**
+     * Earliest tick a dead mob slot can respawn, or Long.MAX_VALUE if every slot is alive.
+     */
+    public long getNextRespawnTick(long currentTick) {
+        long next = Long.MAX_VALUE;
+        for (SpawnedMob mobSlot : mobs) {
+            if (mobSlot.isAlive()) {
+                continue;
+            }
+            long due = mobSlot.getDeathTick() == 0 ? currentTick : mobSlot.getDeathTick() + respawnDelayTicks;
+            next = Math.min(next, due);
+        }
+        return next;
+    }
+
     /**
      * Spawns a single mob into the world.
      */
@@ -110,7 +150,7 @@ public class SpawnedMobPack {
         if (!level.isLoaded(targetPos)) {
             WowCraft.LOGGER.debug("Chunk not loaded for pack {} mob at {}, deferring spawn",
                     packId, targetPos);
-            return; // Will retry on next respawn check
+            return; // Pack is rescheduled for a retry
         }
 
         BlockPos spawnPos = findValidSpawnPosition(level, targetPos);
@@ -164,6 +204,7 @@ public class SpawnedMobPack {
             level.addFreshEntity(mob);
 
             mobSlot.onSpawned(mob.getUUID());
+            mobSlot.setLoadedEntity(mob);
 
             WowCraft.LOGGER.debug("Spawned pack mob {} at {} (Level {})",
                     mobSlot.getMobType(), spawnPos, targetLevel);
@@ -281,17 +322,16 @@ public class SpawnedMobPack {
             return target;
         }
 
-        // Search in expanding radius
+        // Search in expanding radius, reading surfaces from the shared cache
+        SurfaceCache surfaceCache = SurfaceCache.get(level);
         for (int radius = 1; radius <= 5; radius++) {
             for (int dx = -radius; dx <= radius; dx++) {
                 for (int dz = -radius; dz <= radius; dz++) {
-                    BlockPos candidate = target.offset(dx, 0, dz);
-                    // Get surface Y
-                    BlockPos surface = level.getHeightmapPos(
-                            net.minecraft.world.level.levelgen.Heightmap.Types.MOTION_BLOCKING_NO_LEAVES,
-                            candidate);
-                    if (isValidSpawnPos(level, surface)) {
-                        return surface;
+                    int x = target.getX() + dx;
+                    int z = target.getZ() + dz;
+                    ChunkSurface surface = surfaceCache.getColumn(x, z);
+                    if (surface != null && isValidSurfaceColumn(surface, x, z)) {
+                        return new BlockPos(x, surface.getGroundY(x, z), z);
                     }
                 }
             }
@@ -299,6 +339,15 @@ public class SpawnedMobPack {
         return null;
     }
 
+    /**
+     * Cached equivalent of isValidSpawnPos at the column's ground Y.
+     */
+    private static boolean isValidSurfaceColumn(ChunkSurface surface, int x, int z) {
+        return surface.isStandable(x, z)
+                && !surface.hasFlag(x, z, ChunkSurface.FLUID_AT)
+                && surface.hasFlag(x, z, ChunkSurface.HEADROOM);
+    }
+
     private boolean isValidSpawnPos(ServerLevel level, BlockPos pos) {
         // Check Y bounds (Minecraft 1.21.5 has world height from -64 to 320)
         if (pos.getY() < level.getMinY() || pos.getY() > level.getMaxY() - 2) {
@@ -333,26 +382,66 @@ public class SpawnedMobPack {
     }
 
     /**
-     * Gets all alive mobs within the social aggro radius of a position.
-     * Uses live entity positions for accurate distance checks.
+     * Entity load: link the slot that owns this entity to it.
+     *
+     * @return false if no slot owns the entity
+     */
+    public boolean attachMember(Mob entity) {
+        UUID entityId = entity.getUUID();
+        for (SpawnedMob mob : mobs) {
+            if (entityId.equals(mob.getEntityId())) {
+                mob.setLoadedEntity(entity);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Entity unload: drop the slot's reference, the slot itself stays alive.
+     */
+    public void detachMember(Mob entity) {
+        for (SpawnedMob mob : mobs) {
+            if (mob.getLoadedEntity() == entity) {
+                mob.setLoadedEntity(null);
+                return;
+            }
+        }
+    }
+
+    // === Social Aggro Engagement ===
+
+    /**
+     * Whether social aggro already pulled this pack onto the player around the
+     * attacked mob: the fight is still on and every loaded member within social
+     * aggro radius of it already targets the player.
      */
-    public List<UUID> getAliveMobsWithinRadius(ServerLevel level, BlockPos center, float radius) {
-        List<UUID> result = new ArrayList<>();
-        double radiusSq = radius * radius;
+    public boolean isEngagedWith(Player player, Mob attacked) {
+        if (!player.getUUID().equals(engagedPlayer)) {
+            return false;
+        }
 
+        double radiusSq = socialAggroRadius * socialAggroRadius;
+        boolean fightOn = false;
         for (SpawnedMob mob : mobs) {
-            if (mob.isAlive() && mob.getEntityId() != null) {
-                // Look up the actual entity to get its current position
-                Entity entity = level.getEntity(mob.getEntityId());
-                if (entity != null && entity.isAlive()) {
-                    double distSq = entity.blockPosition().distSqr(center);
-                    if (distSq <= radiusSq) {
-                        result.add(mob.getEntityId());
-                    }
-                }
+            Mob entity = mob.getLoadedEntity();
+            if (entity == null || !entity.isAlive()) {
+                continue;
+            }
+            if (entity.getTarget() == player) {
+                fightOn = true;
+            } else if (entity != attacked && entity.distanceToSqr(attacked) <= radiusSq) {
+                return false; // A neighbour of this mob hasn't been pulled yet
             }
         }
-        return result;
+        if (!fightOn) {
+            engagedPlayer = null; // Fight over (evaded, died, lost target)
+        }
+        return fightOn;
+    }
+
+    public void setEngagedPlayer(@Nullable UUID playerId) {
+        this.engagedPlayer = playerId;
     }
 
     // === Serialization ===
@@ -1,14 +1,12 @@
 package com.gianmarco.wowcraft.poi;
 
 import com.gianmarco.wowcraft.WowCraft;
+import com.gianmarco.wowcraft.world.SurfaceSnapshot;
 import com.gianmarco.wowcraft.zone.BiomeGroup;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
 import net.minecraft.resources.ResourceKey;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.biome.Biome;
-import net.minecraft.world.level.block.Blocks;
-import net.minecraft.world.level.block.state.BlockState;
 
 import java.util.*;
 
@@ -26,9 +24,17 @@ public class POIGenerator {
     private static final int TERRAIN_SAMPLE_RADIUS = 10;
 
     /**
-     * Generate POIs for a region.
+     * Blocks around the region center that POI generation may probe.
      */
-    public static List<PointOfInterest> generatePOIsForRegion(ServerLevel level, BlockPos regionCenter,
+    public static int getSampleRadius() {
+        return REGION_SIZE / 2 + TERRAIN_SAMPLE_RADIUS;
+    }
+
+    /**
+     * Generate POIs for a region from a terrain snapshot.
+     * Touches no level state, so it can run off the server thread.
+     */
+    public static List<PointOfInterest> generatePOIsForRegion(SurfaceSnapshot terrain, BlockPos regionCenter,
             long worldSeed, BiomeGroup biomeGroup) {
 
         List<PointOfInterest> pois = new ArrayList<>();
@@ -45,7 +51,7 @@ public class POIGenerator {
         // 8-12 individual Camps per region (single 3-5 mob spawn points)
         int campCount = 8 + random.nextInt(5);
         for (int i = 0; i < campCount; i++) {
-            BlockPos campPos = findValidCampLocation(level, regionCenter, REGION_SIZE, random, pois);
+            BlockPos campPos = findValidCampLocation(terrain, regionCenter, REGION_SIZE, random, pois);
             if (campPos != null) {
                 CampPOI camp = new CampPOI(UUID.randomUUID(), campPos);
                 pois.add(camp);
@@ -56,7 +62,7 @@ public class POIGenerator {
         // 1-2 Compounds per region (multi-camp clusters - rare special encounters)
         int compoundCount = 1 + random.nextInt(2);
         for (int i = 0; i < compoundCount; i++) {
-            BlockPos compoundPos = findValidCampLocation(level, regionCenter, REGION_SIZE, random, pois);
+            BlockPos compoundPos = findValidCampLocation(terrain, regionCenter, REGION_SIZE, random, pois);
             if (compoundPos != null) {
                 CompoundPOI compound = new CompoundPOI(
                         UUID.randomUUID(),
@@ -74,7 +80,7 @@ public class POIGenerator {
         // 1-2 Wildlife areas per region (rare peaceful encounters)
         int wildlifeCount = 1 + random.nextInt(2);
         for (int i = 0; i < wildlifeCount; i++) {
-            BlockPos wildlifePos = findRandomLocation(level, regionCenter, REGION_SIZE, random, pois);
+            BlockPos wildlifePos = findRandomLocation(terrain, regionCenter, REGION_SIZE, random, pois);
             if (wildlifePos != null) {
                 WildlifePOI wildlife = new WildlifePOI(
                         UUID.randomUUID(),
@@ -90,7 +96,7 @@ public class POIGenerator {
 
         // 0-1 Patrol routes per region
         if (random.nextFloat() < 0.5f && pois.size() >= 2) {
-            PatrolRoutePOI patrol = generatePatrolRoute(level, pois, random);
+            PatrolRoutePOI patrol = generatePatrolRoute(terrain, pois, random);
             if (patrol != null) {
                 pois.add(patrol);
                 WowCraft.LOGGER.debug("Generated PATROL_ROUTE with {} waypoints", patrol.getWaypoints().size());
@@ -99,7 +105,7 @@ public class POIGenerator {
 
         // 0-1 Lair per region (rare)
         if (random.nextFloat() < 0.3f) {
-            BlockPos lairPos = findSecludedLocation(level, regionCenter, REGION_SIZE, random, pois);
+            BlockPos lairPos = findSecludedLocation(terrain, regionCenter, REGION_SIZE, random, pois);
             if (lairPos != null) {
                 LairPOI lair = new LairPOI(
                         UUID.randomUUID(),
@@ -120,7 +126,7 @@ public class POIGenerator {
     /**
      * Find a valid location for a camp (prefers flat areas).
      */
-    private static BlockPos findValidCampLocation(ServerLevel level, BlockPos regionCenter, int regionSize,
+    private static BlockPos findValidCampLocation(SurfaceSnapshot terrain, BlockPos regionCenter, int regionSize,
             Random random, List<PointOfInterest> existingPOIs) {
 
         int attempts = 20;
@@ -129,26 +135,26 @@ public class POIGenerator {
             int offsetZ = random.nextInt(regionSize) - regionSize / 2;
 
             BlockPos testPos = regionCenter.offset(offsetX, 0, offsetZ);
-            BlockPos surfacePos = findSurfacePos(level, testPos);
+            BlockPos surfacePos = findSurfacePos(terrain, testPos);
 
-            if (surfacePos != null && isFlatEnough(level, surfacePos) && !isTooCloseToExisting(surfacePos, existingPOIs)) {
+            if (surfacePos != null && isFlatEnough(terrain, surfacePos) && !isTooCloseToExisting(surfacePos, existingPOIs)) {
                 return surfacePos;
             }
         }
 
         // Fallback: just find any surface (with distance check)
-        return findRandomLocation(level, regionCenter, regionSize, random, existingPOIs);
+        return findRandomLocation(terrain, regionCenter, regionSize, random, existingPOIs);
     }
 
     /**
      * Find a secluded location (prefers areas away from other POIs).
      */
-    private static BlockPos findSecludedLocation(ServerLevel level, BlockPos regionCenter, int regionSize,
+    private static BlockPos findSecludedLocation(SurfaceSnapshot terrain, BlockPos regionCenter, int regionSize,
             Random random, List<PointOfInterest> existingPOIs) {
 
         int attempts = 15;
         for (int i = 0; i < attempts; i++) {
-            BlockPos testPos = findRandomLocation(level, regionCenter, regionSize, random, existingPOIs);
+            BlockPos testPos = findRandomLocation(terrain, regionCenter, regionSize, random, existingPOIs);
 
             if (testPos != null) {
                 // Check if far enough from other POIs
@@ -172,7 +178,7 @@ public class POIGenerator {
     /**
      * Find a random valid location in the region.
      */
-    private static BlockPos findRandomLocation(ServerLevel level, BlockPos regionCenter, int regionSize,
+    private static BlockPos findRandomLocation(SurfaceSnapshot terrain, BlockPos regionCenter, int regionSize,
             Random random, List<PointOfInterest> existingPOIs) {
 
         int attempts = 10;
@@ -181,7 +187,7 @@ public class POIGenerator {
             int offsetZ = random.nextInt(regionSize) - regionSize / 2;
 
             BlockPos testPos = regionCenter.offset(offsetX, 0, offsetZ);
-            BlockPos surfacePos = findSurfacePos(level, testPos);
+            BlockPos surfacePos = findSurfacePos(terrain, testPos);
 
             if (surfacePos != null && !isTooCloseToExisting(surfacePos, existingPOIs)) {
                 return surfacePos;
@@ -194,7 +200,7 @@ public class POIGenerator {
     /**
      * Generate a patrol route between existing POIs.
      */
-    private static PatrolRoutePOI generatePatrolRoute(ServerLevel level, List<PointOfInterest> existingPOIs,
+    private static PatrolRoutePOI generatePatrolRoute(SurfaceSnapshot terrain, List<PointOfInterest> existingPOIs,
             Random random) {
 
         if (existingPOIs.size() < 2) {
@@ -299,44 +305,23 @@ public class POIGenerator {
 
     /**
      * Find surface position at XZ coordinates.
+     * Columns in chunks that weren't loaded at snapshot time count as missing,
+     * so generation never causes cascading chunk loads.
      */
-    private static BlockPos findSurfacePos(ServerLevel level, BlockPos pos) {
-        // Check if chunk is loaded first to prevent cascading chunk loads during world generation
-        if (!level.isLoaded(pos)) {
-            return null;
-        }
-
-        // Use heightmap instead of Y-loop (eliminates 192 chunk accesses per call)
-        int y = level.getHeight(net.minecraft.world.level.levelgen.Heightmap.Types.MOTION_BLOCKING_NO_LEAVES,
-            pos.getX(), pos.getZ());
-
-        // Validate Y is within world bounds
-        if (y >= level.getMinY() && y <= level.getMaxY() - 2) {
-            BlockPos surfacePos = new BlockPos(pos.getX(), y, pos.getZ());
-
-            // Quick validation
-            BlockState below = level.getBlockState(surfacePos.below());
-            BlockState at = level.getBlockState(surfacePos);
-
-            if ((below.isSuffocating(level, surfacePos.below()) || below.blocksMotion()) &&
-                !at.isSuffocating(level, surfacePos) && at.getBlock() != Blocks.WATER) {
-                return surfacePos;
-            }
-        }
-
-        return null;
+    private static BlockPos findSurfacePos(SurfaceSnapshot terrain, BlockPos pos) {
+        return terrain.findSurfacePos(pos.getX(), pos.getZ(), true);
     }
 
     /**
      * Check if terrain is flat enough for a camp.
      */
-    private static boolean isFlatEnough(ServerLevel level, BlockPos center) {
+    private static boolean isFlatEnough(SurfaceSnapshot terrain, BlockPos center) {
         int flatCount = 0;
         int totalSamples = 0;
 
         for (int dx = -TERRAIN_SAMPLE_RADIUS; dx <= TERRAIN_SAMPLE_RADIUS; dx += 5) {
             for (int dz = -TERRAIN_SAMPLE_RADIUS; dz <= TERRAIN_SAMPLE_RADIUS; dz += 5) {
-                BlockPos samplePos = findSurfacePos(level, center.offset(dx, 0, dz));
+                BlockPos samplePos = findSurfacePos(terrain, center.offset(dx, 0, dz));
                 if (samplePos != null && Math.abs(samplePos.getY() - center.getY()) <= 3) {
                     flatCount++;
                 }
@@ -0,0 +1,105 @@
+package com.gianmarco.wowcraft.roads;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int items (grid cell indices) keyed by double, with
+ * decrease-key. Backed by primitive arrays that are reused across reset calls,
+ * so an A* run allocates nothing once the arrays have grown to the grid size.
+ * Not thread-safe; planners keep one per thread.
+ */
+final class IndexedMinHeap {
+
+    private int[] heap = new int[0];  // heap slot -> item
+    private int[] slots = new int[0];  // item -> heap slot, -1 when not queued
+    private double[] keys = new double[0];  // item -> key
+    private int size;
+
+    /**
+     * Empty the heap and make room for items 0 to itemCount - 1.
+     */
+    void reset(int itemCount) {
+        if (slots.length < itemCount) {
+            heap = new int[itemCount];
+            slots = new int[itemCount];
+            keys = new double[itemCount];
+        }
+        Arrays.fill(slots, 0, itemCount, -1);
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Queue an item, or lower its key if it is queued with a higher one.
+     */
+    void insertOrDecrease(int item, double key) {
+        int slot = slots[item];
+        if (slot < 0) {
+            slot = size++;
+            heap[slot] = item;
+            slots[item] = slot;
+        } else if (key >= keys[item]) {
+            return;
+        }
+        keys[item] = key;
+        siftUp(slot);
+    }
+
+    /**
+     * Remove and return the item with the lowest key.
+     */
+    int poll() {
+        int top = heap[0];
+        slots[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            slots[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int slot) {
+        int item = heap[slot];
+        double key = keys[item];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            int parentItem = heap[parent];
+            if (keys[parentItem] <= key) {
+                break;
+            }
+            heap[slot] = parentItem;
+            slots[parentItem] = slot;
+            slot = parent;
+        }
+        heap[slot] = item;
+        slots[item] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int item = heap[slot];
+        double key = keys[item];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int childItem = heap[child];
+            if (key <= keys[childItem]) {
+                break;
+            }
+            heap[slot] = childItem;
+            slots[childItem] = slot;
+            slot = child;
+        }
+        heap[slot] = item;
+        slots[item] = slot;
+    }
+}
@@ -0,0 +1,186 @@
+package com.gianmarco.wowcraft.roads;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * First pass of hierarchical road planning for roads too long for one fine grid.
+ *
+ * A* over 64-block regions, costed from RoadTerrainSummaries, gives a corridor.
+ * The corridor is cut into segments of a few hundred blocks; RoadPathPlanner then
+ * plans each segment on its normal 12-block grid, restricted to the corridor.
+ * Regions never seen cost a little more than open flat ground, so routes prefer
+ * known terrain without refusing to cross the unknown.
+ *
+ * plan is pure and runs on a worker thread; CoarseTerrain is filled on the server thread.
+ */
+class RoadCorridorPlanner {
+
+    private static final int PADDING_CELLS = 3;
+    private static final int SEGMENT_CELLS = 6;  // ~384 blocks per fine plan
+    private static final int CORRIDOR_RADIUS = 1;
+
+    private static final double UNKNOWN_COST = 0.5;
+    private static final double RELIEF_COST = 0.08;
+    private static final double SLOPE_COST = 0.1;
+    private static final double WATER_COST = 6.0;
+    private static final double TREE_COST = 1.5;
+
+    private static final int[] DIR_X = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] DIR_Z = {0, 0, 1, -1, 1, -1, 1, -1};
+    private static final double[] DIR_COST = {1.0, 1.0, 1.0, 1.0, 1.42, 1.42, 1.42, 1.42};
+
+    /**
+     * Segment end points from start to end, and the region keys fine plans may use.
+     */
+    record Corridor(List<BlockPos> waypoints, Set<Long> cells) {
+        int getSegmentCount() {
+            return waypoints.size() - 1;
+        }
+    }
+
+    /**
+     * Region summaries around a route, copied on the server thread a few at a time.
+     */
+    static final class CoarseTerrain {
+        private final int minCellX;
+        private final int minCellZ;
+        private final int width;
+        private final int height;
+        private final RoadTerrainSummaries.Summary[] summaries;  // null for regions never seen
+        private int next = 0;
+
+        CoarseTerrain(BlockPos start, BlockPos end) {
+            this.minCellX = (Math.min(start.getX(), end.getX()) >> RoadTerrainSummaries.CELL_SHIFT) - PADDING_CELLS;
+            this.minCellZ = (Math.min(start.getZ(), end.getZ()) >> RoadTerrainSummaries.CELL_SHIFT) - PADDING_CELLS;
+            int maxCellX = (Math.max(start.getX(), end.getX()) >> RoadTerrainSummaries.CELL_SHIFT) + PADDING_CELLS;
+            int maxCellZ = (Math.max(start.getZ(), end.getZ()) >> RoadTerrainSummaries.CELL_SHIFT) + PADDING_CELLS;
+            this.width = maxCellX - minCellX + 1;
+            this.height = maxCellZ - minCellZ + 1;
+            this.summaries = new RoadTerrainSummaries.Summary[width * height];
+        }
+
+        boolean isDone() {
+            return next >= summaries.length;
+        }
+
+        void captureNext(ServerLevel level, RoadTerrainSummaries source) {
+            summaries[next] = source.getOrSample(level, minCellX + next % width, minCellZ + next / width);
+            next++;
+        }
+
+        private int indexForBlock(int x, int z) {
+            int cx = (x >> RoadTerrainSummaries.CELL_SHIFT) - minCellX;
+            int cz = (z >> RoadTerrainSummaries.CELL_SHIFT) - minCellZ;
+            return cx + cz * width;
+        }
+    }
+
+    /**
+     * Route between start and end over the regions. Null if no route was found.
+     */
+    @Nullable
+    static Corridor plan(CoarseTerrain terrain, BlockPos start, BlockPos end) {
+        int startIndex = terrain.indexForBlock(start.getX(), start.getZ());
+        int endIndex = terrain.indexForBlock(end.getX(), end.getZ());
+        int size = terrain.width * terrain.height;
+
+        double[] gScore = new double[size];
+        Arrays.fill(gScore, Double.POSITIVE_INFINITY);
+        int[] cameFrom = new int[size];
+        Arrays.fill(cameFrom, -1);
+
+        IndexedMinHeap open = new IndexedMinHeap();
+        open.reset(size);
+        gScore[startIndex] = 0.0;
+        open.insertOrDecrease(startIndex, heuristic(terrain, startIndex, endIndex));
+
+        while (!open.isEmpty()) {
+            int current = open.poll();
+            if (current == endIndex) {
+                return buildCorridor(terrain, cameFrom, endIndex, start, end);
+            }
+
+            int cx = current % terrain.width;
+            int cz = current / terrain.width;
+            RoadTerrainSummaries.Summary from = terrain.summaries[current];
+
+            for (int i = 0; i < DIR_X.length; i++) {
+                int nx = cx + DIR_X[i];
+                int nz = cz + DIR_Z[i];
+                if (nx < 0 || nz < 0 || nx >= terrain.width || nz >= terrain.height) {
+                    continue;
+                }
+
+                int neighbor = nx + nz * terrain.width;
+                double tentative = gScore[current] + DIR_COST[i] * (1.0 + penalty(from, terrain.summaries[neighbor]));
+                if (tentative < gScore[neighbor]) {
+                    cameFrom[neighbor] = current;
+                    gScore[neighbor] = tentative;
+                    open.insertOrDecrease(neighbor, tentative + heuristic(terrain, neighbor, endIndex));
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static double penalty(@Nullable RoadTerrainSummaries.Summary from, @Nullable RoadTerrainSummaries.Summary to) {
+        if (to == null) {
+            return UNKNOWN_COST;
+        }
+
+        double penalty = to.relief() * RELIEF_COST + to.water() * WATER_COST + to.trees() * TREE_COST;
+        if (from != null) {
+            penalty += Math.abs(to.groundY() - from.groundY()) * SLOPE_COST;
+        }
+        return penalty;
+    }
+
+    private static double heuristic(CoarseTerrain terrain, int index, int endIndex) {
+        int dx = endIndex % terrain.width - index % terrain.width;
+        int dz = endIndex / terrain.width - index / terrain.width;
+        return Math.sqrt(dx * dx + dz * dz);
+    }
+
+    private static Corridor buildCorridor(CoarseTerrain terrain, int[] cameFrom, int endIndex, BlockPos start, BlockPos end) {
+        List<Integer> indices = new ArrayList<>();
+        for (int current = endIndex; current != -1; current = cameFrom[current]) {
+            indices.add(current);
+        }
+        Collections.reverse(indices);
+
+        Set<Long> cells = new HashSet<>();
+        for (int index : indices) {
+            int cellX = terrain.minCellX + index % terrain.width;
+            int cellZ = terrain.minCellZ + index / terrain.width;
+            for (int dx = -CORRIDOR_RADIUS; dx <= CORRIDOR_RADIUS; dx++) {
+                for (int dz = -CORRIDOR_RADIUS; dz <= CORRIDOR_RADIUS; dz++) {
+                    cells.add(RoadTerrainSummaries.cellKey(cellX + dx, cellZ + dz));
+                }
+            }
+        }
+
+        // Cut every SEGMENT_CELLS regions, folding a short tail into the last segment
+        List<BlockPos> waypoints = new ArrayList<>();
+        waypoints.add(start);
+        for (int i = SEGMENT_CELLS; i < indices.size() - SEGMENT_CELLS / 2; i += SEGMENT_CELLS) {
+            int index = indices.get(i);
+            int x = ((terrain.minCellX + index % terrain.width) << RoadTerrainSummaries.CELL_SHIFT) + RoadTerrainSummaries.CELL_SIZE / 2;
+            int z = ((terrain.minCellZ + index / terrain.width) << RoadTerrainSummaries.CELL_SHIFT) + RoadTerrainSummaries.CELL_SIZE / 2;
+            RoadTerrainSummaries.Summary summary = terrain.summaries[index];
+            waypoints.add(new BlockPos(x, summary != null ? summary.groundY() : start.getY(), z));
+        }
+        waypoints.add(end);
+
+        return new Corridor(List.copyOf(waypoints), Set.copyOf(cells));
+    }
+}
@@ -1,7 +1,10 @@
 package com.gianmarco.wowcraft.roads;
 
 import com.gianmarco.wowcraft.WowCraft;
+import com.gianmarco.wowcraft.core.BackgroundWork;
 import com.gianmarco.wowcraft.spawn.SpawnPoolManager;
+import com.gianmarco.wowcraft.world.ChunkSurface;
+import com.gianmarco.wowcraft.world.SurfaceCache;
 import com.gianmarco.wowcraft.zone.BiomeGroup;
 import com.gianmarco.wowcraft.zone.ZoneRegion;
 import com.gianmarco.wowcraft.zone.ZoneSaveData;
@@ -23,7 +26,11 @@ import net.minecraft.world.level.levelgen.structure.StructureStart;
 import net.minecraft.tags.FluidTags;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.core.Holder;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 
 public class RoadGenerator {
@@ -56,20 +63,21 @@ public class RoadGenerator {
 
     private static final int MAX_GRADE_STEP = 1;
     private static final int MAX_TERRAFORM_HEIGHT = 1;
-    private static final int TREE_SCAN_HEIGHT = 6;
     private static final int ZONE_HUB_CHECK_INTERVAL = 200;
 
-    private static final int PROCESS_STEPS_PER_TICK = 120;
-    private static final int NODES_PLANNED_PER_TICK = 2;
-    private static final int PLAN_REQUESTS_PER_TICK = 1;
-    private static final int SAFE_ZONE_CHUNKS_PER_TICK = 6;
-    private static final int ROAD_TICK_INTERVAL = 2;
-    private static final long MAX_NANOS_PER_TICK = 2_500_000L;
+    private static final int PROCESS_STEPS_PER_BATCH = 120;
+    private static final int NODES_PLANNED_PER_RUN = 2;
+    private static final int PLAN_REQUESTS_PER_RUN = 1;
+    private static final int SAFE_ZONE_CHUNKS_PER_RUN = 6;
     private static final int CHUNK_BUILD_GRACE_TICKS = 40;
     private static final int RECENT_CHUNK_CLEANUP_INTERVAL = 200;
     private static final int BRIDGE_MAX_WATER_WIDTH = 12;
     private static final int BRIDGE_MAX_Y = 80;
     private static final int DOCK_LENGTH = 4;
+    private static final int PLAN_CHECKPOINT_STEPS = 2000;
+    // Send to clients, but skip neighbor and shape updates; writeChunkColumns runs both once per
+    // written block after the chunk
+    private static final int ROAD_BLOCK_FLAGS = Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE;
 
     private static final Set<String> EXTRA_STRUCTURES = Set.of(
             "pillager_outpost",
@@ -77,7 +85,8 @@ public class RoadGenerator {
             "swamp_hut");
 
     private final RoadRegistry registry = new RoadRegistry();
-    private final RoadPathPlanner planner = new RoadPathPlanner();
+    private final RoadPlanningPipeline planning = new RoadPlanningPipeline();
+    private final Map<RoadPlanningPipeline.Route, RoadPlan> streamingPlans = new HashMap<>();
     private final List<RoadPlan> activePlans = new ArrayList<>();
     private final Deque<RoadNode> pendingNodes = new ArrayDeque<>();
     private final Set<UUID> pendingNodeIds = new HashSet<>();
@@ -89,11 +98,13 @@ public class RoadGenerator {
     private boolean initialized = false;
     private boolean needsPlanning = false;
     private int initDelayTicks = 0;
-    private int roadTickCounter = 0;
-    private long tickStartTime = 0L;
+    private BackgroundWork.Slice slice;
     private int recentChunkCleanupCounter = 0;
 
     private RoadSaveData saveData;
+    private RoadPlanStorage planStorage;
+    private RoadJournal journal;
+    private int stepsSinceCheckpoint = 0;
 
     private int roadWidth = 3;
     private int decorationChance = 60;
@@ -140,33 +151,47 @@ public class RoadGenerator {
         }
 
         cleanupRecentChunks(level.getGameTime());
+    }
 
-        roadTickCounter++;
-        if (roadTickCounter < ROAD_TICK_INTERVAL) {
-            return;
-        }
-        roadTickCounter = 0;
-
-        tickStartTime = System.nanoTime();
-        processPendingNodes(level, NODES_PLANNED_PER_TICK);
-        if (isBudgetExceeded()) {
-            return;
-        }
-        processPlanRequests(level, PLAN_REQUESTS_PER_TICK);
-        if (isBudgetExceeded()) {
-            return;
-        }
-        processPlans(level, PROCESS_STEPS_PER_TICK);
-        if (isBudgetExceeded()) {
-            return;
+    /**
+     * Road planning and building, run by BackgroundWork within the slice it hands out.
+     * Building keeps going in batches while there is time and progress.
+     */
+    public boolean runBackgroundWork(ServerLevel level, BackgroundWork.Slice slice) {
+        this.slice = slice;
+        try {
+            if (journal != null && journal.isRollingBack()) {
+                journal.tickRollback(level, this::isBudgetExceeded);
+                return true;  // Don't build while roads are being taken out
+            }
+            processPendingNodes(level, NODES_PLANNED_PER_RUN);
+            if (isBudgetExceeded()) {
+                return true;
+            }
+            processPlanRequests(level, PLAN_REQUESTS_PER_RUN);
+            if (isBudgetExceeded()) {
+                return true;
+            }
+            while (processPlans(level, PROCESS_STEPS_PER_BATCH) > 0 && !isBudgetExceeded()) {
+                // Another batch
+            }
+            if (isBudgetExceeded()) {
+                return true;
+            }
+            processSafeZoneChunks(level, SAFE_ZONE_CHUNKS_PER_RUN);
+            return true;
+        } finally {
+            this.slice = null;
         }
-        processSafeZoneChunks(level, SAFE_ZONE_CHUNKS_PER_TICK);
     }
 
     private void ensureLoaded(ServerLevel level) {
         if (saveData == null) {
             saveData = RoadSaveData.get(level);
             saveData.loadInto(registry);
+            planStorage = RoadPlanStorage.open(level);
+            planStorage.load(this::readPlans);
+            journal = RoadJournal.open(level);
             if (registry.getNodeCount() >= 2) {
                 needsPlanning = true;
             }
@@ -178,6 +203,90 @@ public class RoadGenerator {
             saveData = RoadSaveData.get(level);
         }
         saveData.save(registry);
+        if (planStorage == null) {
+            planStorage = RoadPlanStorage.open(level);
+        }
+        planStorage.save(this::writePlans);
+        StructureIndex.get(level).save();
+        stepsSinceCheckpoint = 0;
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
+    /**
+     * Release the world's files and drop everything loaded from it, so the next
+     * world starts clean. Call after save.
+     */
+    public void onWorldUnload() {
+        if (journal != null) {
+            journal.close();
+        }
+        journal = null;
+        planStorage = null;
+        saveData = null;
+        RoadSaveData.clearCache();
+        reset();
+    }
+
+    // === Plan Persistence ===
+
+    /**
+     * Unfinished work: roads being built, then roads still to be planned.
+     *
+     * Routes the pipeline is planning are written as requests. A long road that is
+     * already building is written as its built-so-far plan plus a request for the
+     * rest, from the end of its path to the end node.
+     */
+    private void writePlans(DataOutputStream out) throws IOException {
+        List<RoadPlan> plans = new ArrayList<>();
+        for (RoadPlan plan : activePlans) {
+            if (!plan.complete) {
+                plans.add(plan);
+            }
+        }
+
+        List<RoadPlanRequest> requests = new ArrayList<>();
+        for (RoadPlanningPipeline.Route route : planning.getInFlightRoutes()) {
+            RoadPlan streaming = streamingPlans.get(route);
+            if (streaming == null) {
+                requests.add(new RoadPlanRequest(route.getStartId(), route.getEndId(),
+                        route.getStartPos(), route.getEndPos(), route.getSeed()));
+            } else if (!streaming.complete && !streaming.path.isEmpty()) {
+                requests.add(new RoadPlanRequest(route.getStartId(), route.getEndId(),
+                        streaming.path.get(streaming.path.size() - 1), route.getEndPos(), route.getSeed()));
+            }
+        }
+        requests.addAll(planRequests);
+
+        out.writeInt(plans.size());
+        for (RoadPlan plan : plans) {
+            plan.writeTo(out);
+        }
+        out.writeInt(requests.size());
+        for (RoadPlanRequest request : requests) {
+            request.writeTo(out);
+        }
+    }
+
+    private void readPlans(DataInputStream in) throws IOException {
+        // Read everything before adding any of it, so a damaged file adds nothing
+        int planCount = in.readInt();
+        List<RoadPlan> plans = new ArrayList<>(planCount);
+        for (int i = 0; i < planCount; i++) {
+            plans.add(RoadPlan.readFrom(in));
+        }
+        int requestCount = in.readInt();
+        List<RoadPlanRequest> requests = new ArrayList<>(requestCount);
+        for (int i = 0; i < requestCount; i++) {
+            requests.add(RoadPlanRequest.readFrom(in));
+        }
+
+        activePlans.addAll(plans);
+        planRequests.addAll(requests);
+        if (planCount > 0 || requestCount > 0) {
+            WowCraft.LOGGER.info("Resuming {} road plans and {} plan requests", planCount, requestCount);
+        }
     }
 
     private void autoInitialize(ServerLevel level) {
@@ -193,12 +302,13 @@ public class RoadGenerator {
                     level.getServer().execute(() -> {
                         int added = 0;
                         for (BlockPos pos : structures) {
-                            if (addStructure(level, pos, "auto")) {
+                            StructureIndex.Found found = verifyPrediction(level, pos);
+                            if (found != null && addStructure(level, found.pos(), found.id())) {
                                 added++;
                             }
                         }
 
-                        WowCraft.LOGGER.info("Auto search found {} structures, added {}", structures.size(), added);
+                        WowCraft.LOGGER.info("Auto search predicted {} structures, added {}", structures.size(), added);
                     });
                 });
     }
@@ -262,12 +372,10 @@ public class RoadGenerator {
             chosen = fallback;
         }
 
-        int y = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES,
-                chosen.getX(), chosen.getZ());
+        int y = groundY(level, chosen.getX(), chosen.getZ());
         BlockPos result = new BlockPos(chosen.getX(), y, chosen.getZ());
         if (BiomeRoadMaterial.isOceanBiome(level.getBiome(result))) {
-            int fallbackY = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES,
-                    fallback.getX(), fallback.getZ());
+            int fallbackY = groundY(level, fallback.getX(), fallback.getZ());
             return new BlockPos(fallback.getX(), fallbackY, fallback.getZ());
         }
         return result;
@@ -290,12 +398,23 @@ public class RoadGenerator {
             }
 
             BlockPos center = start.getBoundingBox().getCenter();
+            StructureIndex.get(level).recordConfirmed(center, id.toString());
             if (!addStructure(level, center, id.toString())) {
                 ensureStructureExtras(level, center, id.toString());
             }
         }
     }
 
+    /**
+     * A predicted structure as generation really placed it, or null if it didn't.
+     * Nodes use the confirmed center and id, the same as registerStructuresFromChunk,
+     * so a structure found both ways becomes one node.
+     */
+    @Nullable
+    private StructureIndex.Found verifyPrediction(ServerLevel level, BlockPos predicted) {
+        return StructureIndex.get(level).verify(predicted, id -> isAllowedStructure(ResourceLocation.parse(id)));
+    }
+
     private boolean isAllowedStructure(ResourceLocation id) {
         String path = id.getPath();
         if (path.startsWith("village")) {
@@ -397,7 +516,7 @@ public class RoadGenerator {
             if (BiomeRoadMaterial.isOceanBiome(level.getBiome(info.groundPos))) {
                 continue;
             }
-            if (hasTreeColumn(level, x, info.groundPos.getY(), z)) {
+            if (hasTreeColumn(level, x, z)) {
                 continue;
             }
 
@@ -408,13 +527,7 @@ public class RoadGenerator {
     }
 
     private boolean isNodeNearby(BlockPos pos, int radius) {
-        int radiusSq = radius * radius;
-        for (RoadNode node : registry.getNodes()) {
-            if (node.getPosition().distSqr(pos) <= radiusSq) {
-                return true;
-            }
-        }
-        return false;
+        return registry.hasNodeWithin(pos, radius);
     }
 
     private void enqueueAllNodes() {
@@ -434,14 +547,13 @@ public class RoadGenerator {
             return;
         }
 
-        List<RoadNode> nodes = new ArrayList<>(registry.getNodes());
         int processed = 0;
 
         while (processed < maxNodes && !pendingNodes.isEmpty()) {
             RoadNode node = pendingNodes.poll();
             pendingNodeIds.remove(node.getId());
 
-            List<RoadNode> nearest = findNearestNodes(level, node, nodes);
+            List<RoadNode> nearest = findNearestNodes(level, node);
             for (RoadNode neighbor : nearest) {
                 queuePlanRequest(level, node, neighbor, true);
             }
@@ -452,120 +564,56 @@ public class RoadGenerator {
         }
     }
 
-    private List<RoadNode> findNearestNodes(ServerLevel level, RoadNode node, List<RoadNode> nodes) {
-        List<RoadNode> candidates = new ArrayList<>();
-        for (RoadNode other : nodes) {
-            if (other.getId().equals(node.getId())) {
-                continue;
-            }
-            double distSq = node.getPosition().distSqr(other.getPosition());
-            if (node.getType() == RoadNodeType.HUB) {
-                if (distSq <= (double) HUB_LONG_DISTANCE * HUB_LONG_DISTANCE) {
-                    candidates.add(other);
-                }
-                continue;
-            }
-
-            if (node.getType() == RoadNodeType.TRAIL) {
-                if (distSq <= (double) TRAIL_CONNECT_DISTANCE * TRAIL_CONNECT_DISTANCE) {
-                    candidates.add(other);
-                }
-                continue;
-            }
-
-            if (other.getType() == RoadNodeType.TRAIL) {
-                if (node.getType() == RoadNodeType.STRUCTURE
-                        && distSq <= (double) TRAIL_CONNECT_DISTANCE * TRAIL_CONNECT_DISTANCE) {
-                    candidates.add(other);
-                }
-                continue;
-            }
-
-            if (node.getType() == RoadNodeType.STRUCTURE && other.getType() == RoadNodeType.HUB) {
-                if (distSq <= (double) STRUCTURE_HUB_DISTANCE * STRUCTURE_HUB_DISTANCE) {
-                    candidates.add(other);
-                }
-            } else if (distSq <= (double) MAX_CONNECTION_DISTANCE * MAX_CONNECTION_DISTANCE) {
-                candidates.add(other);
-            }
-        }
-
-        candidates.sort(Comparator.comparingDouble(a -> a.getPosition().distSqr(node.getPosition())));
-        if (node.getType() == RoadNodeType.CLEARING) {
-            return selectClearingNeighbors(node, candidates);
-        }
-        if (node.getType() == RoadNodeType.HUB) {
-            return selectHubNeighbors(level, node, candidates);
-        }
-        if (node.getType() == RoadNodeType.TRAIL) {
-            return selectTrailNeighbors(node, candidates);
-        }
-
-        return selectStructureNeighbors(node, candidates);
+    /**
+     * Pick the nodes a node should connect to, by its type. Each rule asks the
+     * registry's spatial index for the nearest nodes of the types it wants.
+     */
+    private List<RoadNode> findNearestNodes(ServerLevel level, RoadNode node) {
+        return switch (node.getType()) {
+            case CLEARING -> selectClearingNeighbors(node);
+            case HUB -> selectHubNeighbors(level, node);
+            case TRAIL -> selectTrailNeighbors(node);
+            default -> selectStructureNeighbors(node);
+        };
     }
 
-    private List<RoadNode> selectClearingNeighbors(RoadNode node, List<RoadNode> candidates) {
-        RoadNode nearestStructure = null;
-        double nearestStructureDist = Double.MAX_VALUE;
-
-        for (RoadNode other : candidates) {
-            if (other.getType() != RoadNodeType.STRUCTURE) {
-                continue;
-            }
-            double distSq = node.getPosition().distSqr(other.getPosition());
-            if (distSq < nearestStructureDist && distSq <= CLEARING_CONNECT_DISTANCE * CLEARING_CONNECT_DISTANCE) {
-                nearestStructureDist = distSq;
-                nearestStructure = other;
-            }
-        }
-
+    private List<RoadNode> selectClearingNeighbors(RoadNode node) {
+        RoadNode nearestStructure = registry.findNearest(node.getPosition(),
+                Math.min(CLEARING_CONNECT_DISTANCE, MAX_CONNECTION_DISTANCE), node.getId(), RoadNodeType.STRUCTURE);
         if (nearestStructure != null) {
             return List.of(nearestStructure);
         }
 
-        for (RoadNode other : candidates) {
-            if (other.getType() == RoadNodeType.HUB) {
-                return List.of(other);
-            }
+        RoadNode nearestHub = registry.findNearest(node.getPosition(), MAX_CONNECTION_DISTANCE, node.getId(),
+                RoadNodeType.HUB);
+        if (nearestHub != null) {
+            return List.of(nearestHub);
         }
 
         return Collections.emptyList();
     }
 
-    private List<RoadNode> selectStructureNeighbors(RoadNode node, List<RoadNode> candidates) {
-        RoadNode nearestHub = null;
-        RoadNode nearestStructure = null;
-        double hubDist = Double.MAX_VALUE;
-        double structureDist = Double.MAX_VALUE;
-        List<RoadNode> trails = new ArrayList<>();
-
-        for (RoadNode other : candidates) {
-            double distSq = node.getPosition().distSqr(other.getPosition());
-            if (other.getType() == RoadNodeType.HUB && distSq < hubDist) {
-                nearestHub = other;
-                hubDist = distSq;
-            } else if (other.getType() == RoadNodeType.STRUCTURE && distSq < structureDist) {
-                nearestStructure = other;
-                structureDist = distSq;
-            } else if (other.getType() == RoadNodeType.TRAIL) {
-                trails.add(other);
-            }
-        }
+    private List<RoadNode> selectStructureNeighbors(RoadNode node) {
+        BlockPos pos = node.getPosition();
+        boolean isStructure = node.getType() == RoadNodeType.STRUCTURE;
 
-        trails.sort(Comparator.comparingDouble(a -> a.getPosition().distSqr(node.getPosition())));
+        RoadNode nearestHub = registry.findNearest(pos,
+                isStructure ? STRUCTURE_HUB_DISTANCE : MAX_CONNECTION_DISTANCE, node.getId(), RoadNodeType.HUB);
+        RoadNode nearestStructure = registry.findNearest(pos, MAX_CONNECTION_DISTANCE, node.getId(),
+                RoadNodeType.STRUCTURE);
+        double structureDist = nearestStructure != null ? pos.distSqr(nearestStructure.getPosition()) : Double.MAX_VALUE;
 
         List<RoadNode> result = new ArrayList<>();
         if (nearestHub != null) {
             result.add(nearestHub);
         }
 
-        int trailCount = 0;
-        for (RoadNode trail : trails) {
-            if (trailCount >= STRUCTURE_TRAIL_CONNECTIONS || result.size() >= MAX_CONNECTIONS_PER_NODE) {
-                break;
-            }
-            result.add(trail);
-            trailCount++;
+        // Only structures link to trails
+        if (isStructure) {
+            List<RoadNode> trails = registry.findNearest(pos, TRAIL_CONNECT_DISTANCE,
+                    Math.min(STRUCTURE_TRAIL_CONNECTIONS, MAX_CONNECTIONS_PER_NODE - result.size()),
+                    node.getId(), EnumSet.of(RoadNodeType.TRAIL));
+            result.addAll(trails);
         }
 
         boolean addedDirect = false;
@@ -581,33 +629,24 @@ public class RoadGenerator {
             result.add(nearestStructure);
         }
 
-        if (result.isEmpty() && !candidates.isEmpty()) {
-            result.add(candidates.get(0));
+        if (result.isEmpty()) {
+            // Nothing preferred in range, settle for the closest clearing or dock
+            result.addAll(registry.findNearest(pos, MAX_CONNECTION_DISTANCE, 1, node.getId(),
+                    EnumSet.of(RoadNodeType.CLEARING, RoadNodeType.DOCK)));
         }
 
         return result;
     }
 
-    private List<RoadNode> selectTrailNeighbors(RoadNode node, List<RoadNode> candidates) {
-        RoadNode nearestStructure = null;
-        RoadNode nearestHub = null;
-        double structureDist = Double.MAX_VALUE;
-        double hubDist = Double.MAX_VALUE;
-
-        for (RoadNode other : candidates) {
-            double distSq = node.getPosition().distSqr(other.getPosition());
-            if (other.getType() == RoadNodeType.STRUCTURE && distSq < structureDist) {
-                nearestStructure = other;
-                structureDist = distSq;
-            } else if (other.getType() == RoadNodeType.HUB && distSq < hubDist) {
-                nearestHub = other;
-                hubDist = distSq;
-            }
-        }
-
+    private List<RoadNode> selectTrailNeighbors(RoadNode node) {
+        RoadNode nearestStructure = registry.findNearest(node.getPosition(), TRAIL_CONNECT_DISTANCE, node.getId(),
+                RoadNodeType.STRUCTURE);
         if (nearestStructure != null) {
             return List.of(nearestStructure);
         }
+
+        RoadNode nearestHub = registry.findNearest(node.getPosition(), TRAIL_CONNECT_DISTANCE, node.getId(),
+                RoadNodeType.HUB);
         if (nearestHub != null) {
             return List.of(nearestHub);
         }
@@ -615,7 +654,7 @@ public class RoadGenerator {
         return Collections.emptyList();
     }
 
-    private List<RoadNode> selectHubNeighbors(ServerLevel level, RoadNode node, List<RoadNode> candidates) {
+    private List<RoadNode> selectHubNeighbors(ServerLevel level, RoadNode node) {
         BlockPos spawn = level.getSharedSpawnPos();
         double nodeDist = node.getPosition().distSqr(spawn);
         double minOutwardDist = nodeDist + (double) HUB_OUTWARD_MIN_DELTA * HUB_OUTWARD_MIN_DELTA;
@@ -625,8 +664,8 @@ public class RoadGenerator {
         RoadNode outwardHub = null;
         double outwardDist = Double.MAX_VALUE;
 
-        for (RoadNode other : candidates) {
-            if (other.getType() != RoadNodeType.HUB) {
+        for (RoadNode other : registry.findWithin(node.getPosition(), HUB_LONG_DISTANCE, RoadNodeType.HUB)) {
+            if (other.getId().equals(node.getId())) {
                 continue;
             }
 
@@ -670,28 +709,51 @@ public class RoadGenerator {
         }
     }
 
+    /**
+     * Collect finished paths, start new plans while the pipeline has room and copy
+     * terrain for the plans waiting on it. The A* search itself runs on workers.
+     */
     private void processPlanRequests(ServerLevel level, int maxRequests) {
-        int processed = 0;
-        while (processed < maxRequests && !planRequests.isEmpty()) {
+        planning.drainCompleted(this::onSegmentPlanned);
+
+        int submitted = 0;
+        while (submitted < maxRequests && planning.hasCapacity() && !planRequests.isEmpty()) {
             RoadPlanRequest request = planRequests.poll();
-            if (request == null) {
-                break;
-            }
+            planning.submit(request.startId, request.endId, request.startPos, request.endPos, request.seed);
+            submitted++;
+        }
 
-            List<BlockPos> path = planner.plan(level, request.startPos, request.endPos, request.seed);
-            if (!path.isEmpty()) {
-                activePlans.add(new RoadPlan(request.startId, request.endId, path, request.seed));
-            }
-            processed++;
-            if (isBudgetExceeded()) {
-                break;
+        planning.captureTerrain(level, this::isBudgetExceeded);
+    }
+
+    /**
+     * Start a road on its first planned segment and extend it with the rest as they arrive.
+     */
+    private void onSegmentPlanned(RoadPlanningPipeline.SegmentResult result) {
+        RoadPlanningPipeline.Route route = result.route();
+        RoadPlan plan = streamingPlans.remove(route);
+        if (plan == null) {
+            if (result.path().isEmpty() && result.last()) {
+                return;
             }
+            plan = new RoadPlan(route.getStartId(), route.getEndId(), new ArrayList<>(result.path()), route.getSeed());
+            activePlans.add(plan);
+        } else {
+            plan.append(result.path());
+        }
+
+        plan.awaitingSegments = !result.last();
+        if (plan.awaitingSegments) {
+            streamingPlans.put(route, plan);
         }
     }
 
-    private void processPlans(ServerLevel level, int maxSteps) {
+    /**
+     * Build up to maxSteps path steps. Returns the steps used.
+     */
+    private int processPlans(ServerLevel level, int maxSteps) {
         if (activePlans.isEmpty()) {
-            return;
+            return 0;
         }
 
         int stepsRemaining = maxSteps;
@@ -701,6 +763,7 @@ public class RoadGenerator {
             RoadPlan plan = iterator.next();
             int used = buildPlan(level, plan, stepsRemaining);
             stepsRemaining -= used;
+            stepsSinceCheckpoint += used;
 
             if (!plan.touchedChunks.isEmpty()) {
                 queueSafeZoneChunks(plan.touchedChunks);
@@ -716,6 +779,16 @@ public class RoadGenerator {
                 break;
             }
         }
+
+        // Built pairs are recorded before roads are built, so keep the registry and
+        // the plans on disk close behind them in case the server stops without a clean
+        // save; the plans name nodes and pairs, so the two are saved together
+        if (stepsSinceCheckpoint >= PLAN_CHECKPOINT_STEPS && planStorage != null) {
+            saveData.save(registry);
+            planStorage.save(this::writePlans);
+            stepsSinceCheckpoint = 0;
+        }
+        return maxSteps - stepsRemaining;
     }
 
     private int buildPlan(ServerLevel level, RoadPlan plan, int maxSteps) {
@@ -740,6 +813,9 @@ public class RoadGenerator {
                 if (run == null) {
                     break;
                 }
+                if (plan.awaitingSegments && run.endIndex >= plan.path.size() - 1) {
+                    break; // The water may go on into the next segment
+                }
 
                 if (run.isHigh()) {
                     plan.nextIndex = run.endIndex + 1;
@@ -747,6 +823,7 @@ public class RoadGenerator {
                     continue;
                 }
 
+                flushRaster(level, plan);
                 if (run.isWide()) {
                     placeDock(level, plan, run);
                     plan.complete = true;
@@ -782,7 +859,10 @@ public class RoadGenerator {
             steps++;
         }
 
-        if (plan.nextIndex >= plan.path.size()) {
+        // Nothing stays pending across ticks; the chunks may unload in between
+        flushRaster(level, plan);
+
+        if (plan.nextIndex >= plan.path.size() && !plan.awaitingSegments) {
             plan.complete = true;
         }
 
@@ -790,6 +870,22 @@ public class RoadGenerator {
     }
 
     private SurfaceInfo getSurfaceInfo(ServerLevel level, BlockPos centerPos) {
+        ChunkSurface surface = SurfaceCache.get(level).getColumn(centerPos.getX(), centerPos.getZ());
+        if (surface == null) {
+            return getUncachedSurfaceInfo(level, centerPos);
+        }
+
+        int surfaceY = surface.getSurfaceY(centerPos.getX(), centerPos.getZ());
+        BlockPos surfacePos = new BlockPos(centerPos.getX(), surfaceY - 1, centerPos.getZ());
+        boolean water = surface.hasFlag(centerPos.getX(), centerPos.getZ(), ChunkSurface.SURFACE_WATER);
+
+        int groundY = surface.getGroundY(centerPos.getX(), centerPos.getZ());
+        BlockPos groundPos = new BlockPos(centerPos.getX(), groundY - 1, centerPos.getZ());
+
+        return new SurfaceInfo(surfacePos, groundPos, surfaceY, groundY, water);
+    }
+
+    private SurfaceInfo getUncachedSurfaceInfo(ServerLevel level, BlockPos centerPos) {
         int surfaceY = level.getHeight(Heightmap.Types.WORLD_SURFACE, centerPos.getX(), centerPos.getZ());
         BlockPos surfacePos = new BlockPos(centerPos.getX(), surfaceY - 1, centerPos.getZ());
         BlockState surfaceState = level.getBlockState(surfacePos);
@@ -844,8 +940,7 @@ public class RoadGenerator {
         Block roadBlock = BiomeRoadMaterial.getRoadBlock(level, info.groundPos);
         Block edgeBlock = BiomeRoadMaterial.getEdgeBlock(level, info.groundPos);
 
-        int centerGroundY = info.groundPos.getY();
-        if (hasTreeColumn(level, centerPos.getX(), centerGroundY, centerPos.getZ())) {
+        if (hasTreeColumn(level, centerPos.getX(), centerPos.getZ())) {
             return null;
         }
 
@@ -858,76 +953,181 @@ public class RoadGenerator {
             for (int dz = -halfWidth; dz <= halfWidth; dz++) {
                 int placeX = centerPos.getX() + dx;
                 int placeZ = centerPos.getZ() + dz;
-                int groundY = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, placeX, placeZ) - 1;
-                if (hasTreeColumn(level, placeX, groundY, placeZ)) {
-                    continue;
-                }
-
-                int desiredY = targetY;
-                if (Math.abs(desiredY - groundY) > MAX_TERRAFORM_HEIGHT) {
-                    desiredY = groundY;
-                }
-
-                if (desiredY > groundY) {
-                    BlockPos fillPos = new BlockPos(placeX, groundY + 1, placeZ);
-                    BlockState fillState = level.getBlockState(fillPos);
-                    if (fillState.isAir() || fillState.getFluidState().is(FluidTags.WATER)) {
-                        level.setBlock(fillPos, Blocks.DIRT.defaultBlockState(), 3);
-                        totalBlocksPlaced++;
-                    } else {
-                        desiredY = groundY;
+                if (plan.raster.isClaimed(placeX, placeZ)) {
+                    // An earlier square of this road already decided this column
+                    if (dx == 0 && dz == 0) {
+                        placedCenterY = plan.raster.getRoadY(placeX, placeZ);
                     }
-                } else if (desiredY < groundY) {
-                    BlockPos cutPos = new BlockPos(placeX, groundY, placeZ);
-                    BlockState cutState = level.getBlockState(cutPos);
-                    if (isSoftGround(cutState)) {
-                        level.setBlock(cutPos, Blocks.AIR.defaultBlockState(), 3);
-                    } else {
-                        desiredY = groundY;
-                    }
-                }
-
-                BlockPos placePos = new BlockPos(placeX, desiredY, placeZ);
-                BlockState currentState = level.getBlockState(placePos);
-                if (currentState.isAir()
-                        || currentState.getFluidState().is(FluidTags.WATER)
-                        || currentState.is(BlockTags.LOGS)
-                        || currentState.is(BlockTags.LEAVES)) {
                     continue;
                 }
 
                 boolean isEdge = Math.abs(dx) > innerHalf || Math.abs(dz) > innerHalf;
-                Block blockToPlace = isEdge ? edgeBlock : roadBlock;
-
-                if (blockToPlace == Blocks.DIRT_PATH) {
-                    BlockPos above = placePos.above();
-                    BlockState aboveState = level.getBlockState(above);
-                    if (aboveState.is(BlockTags.LOGS)) {
-                        continue;
-                    }
-                    if (!aboveState.isAir()) {
-                        level.setBlock(above, Blocks.AIR.defaultBlockState(), 3);
-                    }
+                RoadRaster.Column column = rasterizeColumn(level, placeX, placeZ, targetY,
+                        isEdge ? edgeBlock : roadBlock);
+                if (column == null) {
+                    plan.raster.skip(placeX, placeZ);
+                    continue;
                 }
 
-                level.setBlock(placePos, blockToPlace.defaultBlockState(), 3);
-                totalBlocksPlaced++;
-                plan.touchedChunks.add(new ChunkPos(placePos).toLong());
-
-                if (dx == 0 && dz == 0) {
-                    placedCenterY = desiredY;
+                plan.raster.add(column);
+                if (dx == 0 && dz == 0 && column.block() != null) {
+                    placedCenterY = column.roadY();
                 }
             }
         }
 
+        // Write the chunks this square no longer reaches into
+        for (List<RoadRaster.Column> chunkColumns : plan.raster.takeChunksOutside(
+                centerPos.getX() - halfWidth, centerPos.getZ() - halfWidth,
+                centerPos.getX() + halfWidth, centerPos.getZ() + halfWidth)) {
+            writeChunkColumns(level, plan, chunkColumns);
+        }
+
         RandomSource localRandom = RandomSource.create(plan.seed ^ centerPos.asLong());
         if (localRandom.nextInt(decorationChance) == 0) {
-            placeDecoration(level, info.groundPos, localRandom);
+            placeDecoration(level, plan, info.groundPos, localRandom);
         }
 
         return placedCenterY;
     }
 
+    /**
+     * Decide what one road column needs, reading the level but not writing it.
+     * Null when the column is left alone entirely.
+     */
+    private RoadRaster.Column rasterizeColumn(ServerLevel level, int x, int z, int targetY, Block block) {
+        int groundY = groundY(level, x, z) - 1;
+        if (hasTreeColumn(level, x, z)) {
+            return null;
+        }
+
+        int desiredY = targetY;
+        if (Math.abs(desiredY - groundY) > MAX_TERRAFORM_HEIGHT) {
+            desiredY = groundY;
+        }
+
+        int ops = 0;
+        if (desiredY > groundY) {
+            BlockState fillState = level.getBlockState(new BlockPos(x, groundY + 1, z));
+            if (fillState.isAir() || fillState.getFluidState().is(FluidTags.WATER)) {
+                ops |= RoadRaster.FILL;
+            } else {
+                desiredY = groundY;
+            }
+        } else if (desiredY < groundY) {
+            BlockState cutState = level.getBlockState(new BlockPos(x, groundY, z));
+            if (isSoftGround(cutState)) {
+                ops |= RoadRaster.CUT;
+            } else {
+                desiredY = groundY;
+            }
+        }
+
+        // A fill puts dirt right where the road goes, so the spot is fine
+        BlockPos placePos = new BlockPos(x, desiredY, z);
+        if ((ops & RoadRaster.FILL) == 0) {
+            BlockState currentState = level.getBlockState(placePos);
+            if (currentState.isAir()
+                    || currentState.getFluidState().is(FluidTags.WATER)
+                    || currentState.is(BlockTags.LOGS)
+                    || currentState.is(BlockTags.LEAVES)) {
+                return ops != 0 ? new RoadRaster.Column(x, z, groundY, desiredY, null, ops) : null;
+            }
+        }
+
+        // A cut already empties the block above a lowered road
+        if (block == Blocks.DIRT_PATH && (ops & RoadRaster.CUT) == 0) {
+            BlockState aboveState = level.getBlockState(placePos.above());
+            if (aboveState.is(BlockTags.LOGS)) {
+                return ops != 0 ? new RoadRaster.Column(x, z, groundY, desiredY, null, ops) : null;
+            }
+            if (!aboveState.isAir()) {
+                ops |= RoadRaster.CLEAR_ABOVE;
+            }
+        }
+
+        return new RoadRaster.Column(x, z, groundY, desiredY, block, ops);
+    }
+
+    /**
+     * Write the rasterized columns of one chunk. Blocks are set without neighbor
+     * or shape updates, so clients get one section update per chunk section;
+     * shapes and neighbors are updated for every written block afterwards.
+     */
+    private void writeChunkColumns(ServerLevel level, RoadPlan plan, List<RoadRaster.Column> columns) {
+        RoadRaster.Column first = columns.get(0);
+        if (!level.hasChunk(first.x() >> 4, first.z() >> 4)) {
+            return;
+        }
+
+        for (RoadRaster.Column column : columns) {
+            int x = column.x();
+            int z = column.z();
+            if (writesFill(column)) {
+                setRoadBlock(level, plan, new BlockPos(x, column.groundY() + 1, z), Blocks.DIRT.defaultBlockState(), ROAD_BLOCK_FLAGS);
+                totalBlocksPlaced++;
+            } else if (column.has(RoadRaster.CUT)) {
+                setRoadBlock(level, plan, new BlockPos(x, column.groundY(), z), Blocks.AIR.defaultBlockState(), ROAD_BLOCK_FLAGS);
+            }
+            if (column.block() == null) {
+                continue;
+            }
+
+            if (column.has(RoadRaster.CLEAR_ABOVE)) {
+                setRoadBlock(level, plan, new BlockPos(x, column.roadY() + 1, z), Blocks.AIR.defaultBlockState(), ROAD_BLOCK_FLAGS);
+            }
+            setRoadBlock(level, plan, new BlockPos(x, column.roadY(), z), column.block().defaultBlockState(), ROAD_BLOCK_FLAGS);
+            totalBlocksPlaced++;
+        }
+        plan.touchedChunks.add(ChunkPos.asLong(first.x() >> 4, first.z() >> 4));
+
+        // Deferred block updates. Shape updates drop plants and snow left without
+        // support, reconnect fences and panes and wake sand and gravel; neighbor
+        // updates let water flow into cuts
+        for (RoadRaster.Column column : columns) {
+            int x = column.x();
+            int z = column.z();
+            if (writesFill(column)) {
+                updateWrittenBlock(level, new BlockPos(x, column.groundY() + 1, z));
+            } else if (column.has(RoadRaster.CUT)) {
+                updateWrittenBlock(level, new BlockPos(x, column.groundY(), z));
+            }
+            if (column.block() == null) {
+                continue;
+            }
+            if (column.has(RoadRaster.CLEAR_ABOVE)) {
+                updateWrittenBlock(level, new BlockPos(x, column.roadY() + 1, z));
+            }
+            updateWrittenBlock(level, new BlockPos(x, column.roadY(), z));
+        }
+    }
+
+    /**
+     * Whether a FILL column needs its dirt; not when the road block itself sits at groundY + 1.
+     */
+    private static boolean writesFill(RoadRaster.Column column) {
+        return column.has(RoadRaster.FILL) && (column.block() == null || column.roadY() != column.groundY() + 1);
+    }
+
+    /**
+     * The updates setBlock skipped for ROAD_BLOCK_FLAGS, for a block already written.
+     */
+    private static void updateWrittenBlock(ServerLevel level, BlockPos pos) {
+        BlockState state = level.getBlockState(pos);
+        state.updateNeighbourShapes(level, pos, Block.UPDATE_CLIENTS);
+        state.updateIndirectNeighbourShapes(level, pos, Block.UPDATE_CLIENTS);
+        level.updateNeighborsAt(pos, state.getBlock());
+    }
+
+    private void flushRaster(ServerLevel level, RoadPlan plan) {
+        if (!plan.raster.hasPending()) {
+            return;
+        }
+        for (List<RoadRaster.Column> chunkColumns : plan.raster.takeAll()) {
+            writeChunkColumns(level, plan, chunkColumns);
+        }
+    }
+
     private void placeBridge(ServerLevel level, RoadPlan plan, WaterRun run) {
         int halfWidth = roadWidth / 2;
         Block bridgeBlock = Blocks.OAK_PLANKS;
@@ -941,9 +1141,13 @@ public class RoadGenerator {
                 for (int dz = -halfWidth; dz <= halfWidth; dz++) {
                     int placeX = centerPos.getX() + dx;
                     int placeZ = centerPos.getZ() + dz;
+                    if (plan.raster.isClaimed(placeX, placeZ)) {
+                        continue;
+                    }
+                    plan.raster.skip(placeX, placeZ);
                     BlockPos placePos = new BlockPos(placeX, deckY, placeZ);
 
-                    level.setBlock(placePos, bridgeBlock.defaultBlockState(), 3);
+                    setRoadBlock(level, plan, placePos, bridgeBlock.defaultBlockState(), ROAD_BLOCK_FLAGS);
                     totalBlocksPlaced++;
                     plan.touchedChunks.add(new ChunkPos(placePos).toLong());
                 }
@@ -972,19 +1176,18 @@ public class RoadGenerator {
 
             BlockState current = level.getBlockState(deckPos);
             if (current.isAir() || current.getFluidState().is(FluidTags.WATER)) {
-                level.setBlock(deckPos, Blocks.OAK_PLANKS.defaultBlockState(), 3);
+                setRoadBlock(level, plan, deckPos, Blocks.OAK_PLANKS.defaultBlockState(), ROAD_BLOCK_FLAGS);
                 totalBlocksPlaced++;
                 plan.touchedChunks.add(new ChunkPos(deckPos).toLong());
             }
         }
     }
 
-    private void placeDecoration(ServerLevel level, BlockPos roadPos, RandomSource random) {
+    private void placeDecoration(ServerLevel level, RoadPlan plan, BlockPos roadPos, RandomSource random) {
         int side = random.nextBoolean() ? (roadWidth / 2 + 2) : -(roadWidth / 2 + 2);
         BlockPos decorPos = roadPos.offset(side, 0, 0);
 
-        int y = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES,
-                decorPos.getX(), decorPos.getZ());
+        int y = groundY(level, decorPos.getX(), decorPos.getZ());
         decorPos = new BlockPos(decorPos.getX(), y, decorPos.getZ());
 
         if (level.getBlockState(decorPos.below()).getFluidState().is(FluidTags.WATER)) {
@@ -994,12 +1197,22 @@ public class RoadGenerator {
         Block fenceBlock = BiomeRoadMaterial.getFenceBlock(level, decorPos);
 
         for (int i = 0; i < 3; i++) {
-            level.setBlock(decorPos.above(i), fenceBlock.defaultBlockState(), 3);
+            setRoadBlock(level, plan, decorPos.above(i), fenceBlock.defaultBlockState(), 3);
         }
-        level.setBlock(decorPos.above(3), Blocks.LANTERN.defaultBlockState(), 3);
+        setRoadBlock(level, plan, decorPos.above(3), Blocks.LANTERN.defaultBlockState(), 3);
         totalBlocksPlaced += 4;
     }
 
+    /**
+     * Every road write goes through here so it lands in the journal.
+     */
+    private void setRoadBlock(ServerLevel level, RoadPlan plan, BlockPos pos, BlockState state, int flags) {
+        BlockState previous = level.getBlockState(pos);
+        if (level.setBlock(pos, state, flags) && journal != null) {
+            journal.record(plan.journalKey, pos, previous, state);
+        }
+    }
+
     private void queueSafeZoneChunks(Set<Long> chunkKeys) {
         for (long key : chunkKeys) {
             if (pendingSafeZoneChunkSet.add(key)) {
@@ -1023,7 +1236,7 @@ public class RoadGenerator {
     }
 
     private boolean isBudgetExceeded() {
-        return System.nanoTime() - tickStartTime >= MAX_NANOS_PER_TICK;
+        return slice != null && slice.isExceeded();
     }
 
     private void recordChunkLoad(ServerLevel level, LevelChunk chunk) {
@@ -1051,16 +1264,25 @@ public class RoadGenerator {
         }
     }
 
-    private boolean hasTreeColumn(ServerLevel level, int x, int baseY, int z) {
-        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
-        for (int y = baseY; y <= baseY + TREE_SCAN_HEIGHT; y++) {
-            pos.set(x, y, z);
-            BlockState state = level.getBlockState(pos);
-            if (state.is(BlockTags.LOGS)) {
-                return true;
-            }
+    /**
+     * Ground Y (first free block above MOTION_BLOCKING_NO_LEAVES) from the surface cache.
+     */
+    private int groundY(ServerLevel level, int x, int z) {
+        ChunkSurface surface = SurfaceCache.get(level).getColumn(x, z);
+        return surface != null
+                ? surface.getGroundY(x, z)
+                : level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, x, z);
+    }
+
+    /**
+     * Check for a log in the ground block or just above it (the column is part of a tree).
+     */
+    private boolean hasTreeColumn(ServerLevel level, int x, int z) {
+        ChunkSurface surface = SurfaceCache.get(level).getColumn(x, z);
+        if (surface == null) {
+            return false;
         }
-        return false;
+        return surface.hasFlag(x, z, ChunkSurface.GROUND_LOG) || surface.hasFlag(x, z, ChunkSurface.LOG_ABOVE);
     }
 
     private boolean isSoftGround(BlockState state) {
@@ -1099,10 +1321,14 @@ public class RoadGenerator {
                     level.getServer().execute(() -> {
                         int added = 0;
                         for (BlockPos pos : structures) {
-                            if (addStructure(level, pos, "force")) {
+                            StructureIndex.Found found = verifyPrediction(level, pos);
+                            if (found == null) {
+                                continue;
+                            }
+                            if (addStructure(level, found.pos(), found.id())) {
                                 added++;
                             } else {
-                                ensureStructureExtras(level, pos, "force");
+                                ensureStructureExtras(level, found.pos(), found.id());
                             }
                         }
 
@@ -1138,12 +1364,73 @@ public class RoadGenerator {
         return activePlans.size();
     }
 
+    public int getPlanningCount() {
+        return planning.getInFlightCount();
+    }
+
+    public int getCorridorsPlanned() {
+        return planning.getCorridorsPlanned();
+    }
+
+    public int getSegmentsPlanned() {
+        return planning.getSegmentsPlanned();
+    }
+
+    // === Rollback ===
+
+    public boolean isRollingBack() {
+        return journal != null && journal.isRollingBack();
+    }
+
+    /**
+     * Take out the road nearest pos. Returns false if no journaled road is close.
+     * Its plan is dropped and its pair stays recorded, so it is not built again.
+     */
+    public boolean rollbackRoad(ServerLevel level, BlockPos pos, int radius) {
+        ensureLoaded(level);
+        Long key = journal.findRoadNear(pos, radius);
+        if (key == null) {
+            return false;
+        }
+
+        for (RoadPlan plan : activePlans) {
+            if (plan.journalKey == key) {
+                // Segments still being planned for it land on the finished plan and go nowhere
+                plan.complete = true;
+                plan.nextIndex = plan.path.size();
+            }
+        }
+        activePlans.removeIf(plan -> plan.journalKey == key);
+        journal.rollbackRoad(key);
+        return true;
+    }
+
+    /**
+     * Take out every road block in the 512x512 region around pos.
+     */
+    public void rollbackRegion(ServerLevel level, BlockPos pos) {
+        ensureLoaded(level);
+        journal.rollbackRegion(pos);
+    }
+
+    /**
+     * Take out the whole network and start over. Roads are regenerated from
+     * scratch once the rollback has finished.
+     */
+    public void rollbackAll(ServerLevel level) {
+        ensureLoaded(level);
+        reset();
+        journal.rollbackAll();
+    }
+
     public void reset() {
         registry.clear();
         activePlans.clear();
         pendingNodes.clear();
         pendingNodeIds.clear();
         planRequests.clear();
+        planning.clear();
+        streamingPlans.clear();
         pendingSafeZoneChunks.clear();
         pendingSafeZoneChunkSet.clear();
         recentChunkLoads.clear();
@@ -1152,9 +1439,8 @@ public class RoadGenerator {
         initialized = false;
         initDelayTicks = 0;
         needsPlanning = false;
-        roadTickCounter = 0;
-        tickStartTime = 0L;
         recentChunkCleanupCounter = 0;
+        stepsSinceCheckpoint = 0;
     }
 
     private static class RoadPlan {
@@ -1164,7 +1450,10 @@ public class RoadGenerator {
         private final long seed;
         private int nextIndex = 0;
         private boolean complete = false;
+        private boolean awaitingSegments = false;
         private final Set<Long> touchedChunks = new HashSet<>();
+        private final RoadRaster raster = new RoadRaster();
+        private final long journalKey;
         private int lastRoadY = 0;
         private boolean hasLastY = false;
 
@@ -1173,6 +1462,39 @@ public class RoadGenerator {
             this.endId = endId;
             this.path = path;
             this.seed = seed;
+            this.journalKey = RoadJournal.roadKey(startId, endId);
+        }
+
+        private void append(List<BlockPos> segment) {
+            for (BlockPos pos : segment) {
+                if (path.isEmpty() || !path.get(path.size() - 1).equals(pos)) {
+                    path.add(pos);
+                }
+            }
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            RoadPlanStorage.writeUuid(out, startId);
+            RoadPlanStorage.writeUuid(out, endId);
+            out.writeLong(seed);
+            out.writeInt(nextIndex);
+            out.writeBoolean(hasLastY);
+            out.writeInt(lastRoadY);
+            RoadPlanStorage.writePath(out, path);
+        }
+
+        private static RoadPlan readFrom(DataInputStream in) throws IOException {
+            UUID startId = RoadPlanStorage.readUuid(in);
+            UUID endId = RoadPlanStorage.readUuid(in);
+            long seed = in.readLong();
+            int nextIndex = in.readInt();
+            boolean hasLastY = in.readBoolean();
+            int lastRoadY = in.readInt();
+            RoadPlan plan = new RoadPlan(startId, endId, RoadPlanStorage.readPath(in), seed);
+            plan.nextIndex = nextIndex;
+            plan.hasLastY = hasLastY;
+            plan.lastRoadY = lastRoadY;
+            return plan;
         }
     }
 
@@ -1190,6 +1512,19 @@ public class RoadGenerator {
             this.endPos = endPos;
             this.seed = seed;
         }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            RoadPlanStorage.writeUuid(out, startId);
+            RoadPlanStorage.writeUuid(out, endId);
+            RoadPlanStorage.writePos(out, startPos);
+            RoadPlanStorage.writePos(out, endPos);
+            out.writeLong(seed);
+        }
+
+        private static RoadPlanRequest readFrom(DataInputStream in) throws IOException {
+            return new RoadPlanRequest(RoadPlanStorage.readUuid(in), RoadPlanStorage.readUuid(in),
+                    RoadPlanStorage.readPos(in), RoadPlanStorage.readPos(in), in.readLong());
+        }
     }
 
     private record SurfaceInfo(BlockPos surfacePos, BlockPos groundPos, int surfaceY, int groundY, boolean isWater) {
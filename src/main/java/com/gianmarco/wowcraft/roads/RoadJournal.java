@@ -0,0 +1,410 @@
+package com.gianmarco.wowcraft.roads;
+
+import com.gianmarco.wowcraft.WowCraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.storage.LevelResource;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Append-only record of every block the road generator writes, so roads can be
+ * taken out of the world again.
+ *
+ * One memory-mapped file per 512x512 region under wowcraft_road_journal/. A record
+ * is the position, the road it belongs to and the block state IDs before and after;
+ * appending is a few puts into the mapping. State IDs are the runtime registry IDs,
+ * which stay the same as long as the mod set and game version do.
+ *
+ * Rollbacks walk the records newest first in bounded batches per tick, restore a
+ * block only if it still holds what the road put there, then drop the rolled back
+ * records from the file.
+ */
+class RoadJournal {
+    private static final String DIR_NAME = "wowcraft_road_journal";
+    private static final int MAGIC = 0x57434A52;  // "WCJR"
+    private static final int VERSION = 1;
+
+    private static final int REGION_SHIFT = 9;
+    private static final int HEADER_BYTES = 16;  // magic, version, record count, reserved
+    private static final int COUNT_OFFSET = 8;
+    private static final int RECORD_BYTES = 24;  // pos, road key, old state, new state
+    private static final int INITIAL_RECORDS = 4096;
+    private static final int MAX_OPEN_SEGMENTS = 64;
+
+    private static final int ROLLBACK_RECORDS_PER_TICK = 2048;
+
+    /**
+     * Key of the road a block belongs to.
+     */
+    static long roadKey(UUID startId, UUID endId) {
+        return startId.getMostSignificantBits() * 31L + endId.getLeastSignificantBits();
+    }
+
+    // === Segments ===
+
+    /**
+     * One region's file, mapped for reading and appending.
+     */
+    private static final class Segment {
+        private final FileChannel channel;
+        private MappedByteBuffer buffer;
+        private int count;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer, int count) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.count = count;
+        }
+
+        @Nullable
+        static Segment open(Path file, boolean create) throws IOException {
+            if (!create && !Files.exists(file)) {
+                return null;
+            }
+
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(size, HEADER_BYTES + (long) INITIAL_RECORDS * RECORD_BYTES));
+
+            if (size == 0) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(COUNT_OFFSET, 0);
+                return new Segment(channel, buffer, 0);
+            }
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                channel.close();
+                throw new IOException("bad header in " + file.getFileName());
+            }
+            return new Segment(channel, buffer, buffer.getInt(COUNT_OFFSET));
+        }
+
+        void append(long pos, long road, int oldState, int newState) throws IOException {
+            int offset = HEADER_BYTES + count * RECORD_BYTES;
+            if (offset + RECORD_BYTES > buffer.capacity()) {
+                // Mapping past the end grows the file
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) buffer.capacity() * 2);
+            }
+            write(count, pos, road, oldState, newState);
+            setCount(count + 1);
+        }
+
+        void write(int index, long pos, long road, int oldState, int newState) {
+            int offset = HEADER_BYTES + index * RECORD_BYTES;
+            buffer.putLong(offset, pos);
+            buffer.putLong(offset + 8, road);
+            buffer.putInt(offset + 16, oldState);
+            buffer.putInt(offset + 20, newState);
+        }
+
+        long pos(int index) {
+            return buffer.getLong(HEADER_BYTES + index * RECORD_BYTES);
+        }
+
+        long road(int index) {
+            return buffer.getLong(HEADER_BYTES + index * RECORD_BYTES + 8);
+        }
+
+        int oldState(int index) {
+            return buffer.getInt(HEADER_BYTES + index * RECORD_BYTES + 16);
+        }
+
+        int newState(int index) {
+            return buffer.getInt(HEADER_BYTES + index * RECORD_BYTES + 20);
+        }
+
+        void setCount(int count) {
+            this.count = count;
+            buffer.putInt(COUNT_OFFSET, count);
+        }
+
+        void close() {
+            buffer.force();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                WowCraft.LOGGER.warn("Failed to close road journal segment: {}", e.getMessage());
+            }
+        }
+    }
+
+    // === Rollback ===
+
+    /**
+     * Rolls back records for one road (roadKey set) or everything in its regions.
+     */
+    private static final class Rollback {
+        @Nullable
+        private final Long roadKey;
+        private final Deque<Long> regions;
+        @Nullable
+        private Long region;  // Looked up again each step, segments may be closed and reopened
+        private int cursor = -2;  // -2 until the region is opened
+        private int restored = 0;
+        private int skipped = 0;
+
+        Rollback(@Nullable Long roadKey, List<Long> regions) {
+            this.roadKey = roadKey;
+            this.regions = new ArrayDeque<>(regions);
+        }
+
+        boolean matches(Segment segment, int index) {
+            return roadKey == null || segment.road(index) == roadKey;
+        }
+    }
+
+    private final Path dir;
+    private final Map<Long, Segment> segments = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Segment> eldest) {
+            if (size() > MAX_OPEN_SEGMENTS) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Deque<Rollback> rollbacks = new ArrayDeque<>();
+    private boolean failed = false;
+
+    private RoadJournal(Path dir) {
+        this.dir = dir;
+    }
+
+    static RoadJournal open(ServerLevel level) {
+        return new RoadJournal(level.getServer().getWorldPath(LevelResource.ROOT).resolve(DIR_NAME));
+    }
+
+    /**
+     * Record one block write. Call right after the write, with the state it replaced.
+     */
+    void record(long roadKey, BlockPos pos, BlockState oldState, BlockState newState) {
+        if (failed) {
+            return;
+        }
+
+        try {
+            Segment segment = getSegment(regionKey(pos.getX() >> REGION_SHIFT, pos.getZ() >> REGION_SHIFT), true);
+            segment.append(pos.asLong(), roadKey, Block.getId(oldState), Block.getId(newState));
+        } catch (IOException e) {
+            // Keep building roads; they just can't be rolled back
+            failed = true;
+            WowCraft.LOGGER.error("Road journal disabled, failed to write: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write the mapped pages out to disk.
+     */
+    void flush() {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+    }
+
+    void close() {
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+        rollbacks.clear();
+    }
+
+    boolean isRollingBack() {
+        return !rollbacks.isEmpty();
+    }
+
+    /**
+     * Key of the road with a journaled block closest to pos, within radius blocks.
+     */
+    @Nullable
+    Long findRoadNear(BlockPos pos, int radius) {
+        Long best = null;
+        long bestDistance = (long) radius * radius + 1;
+
+        // Every region the search square overlaps; a road just across a border counts
+        for (int regionX = (pos.getX() - radius) >> REGION_SHIFT; regionX <= (pos.getX() + radius) >> REGION_SHIFT; regionX++) {
+            for (int regionZ = (pos.getZ() - radius) >> REGION_SHIFT; regionZ <= (pos.getZ() + radius) >> REGION_SHIFT; regionZ++) {
+                Segment segment;
+                try {
+                    segment = getSegment(regionKey(regionX, regionZ), false);
+                } catch (IOException e) {
+                    WowCraft.LOGGER.error("Failed to read road journal: {}", e.getMessage());
+                    continue;
+                }
+                if (segment == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < segment.count; i++) {
+                    long packed = segment.pos(i);
+                    long dx = BlockPos.getX(packed) - pos.getX();
+                    long dz = BlockPos.getZ(packed) - pos.getZ();
+                    long distance = dx * dx + dz * dz;
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        best = segment.road(i);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    void rollbackRoad(long roadKey) {
+        rollbacks.add(new Rollback(roadKey, listRegions()));
+    }
+
+    void rollbackRegion(BlockPos pos) {
+        rollbacks.add(new Rollback(null, List.of(regionKey(pos.getX() >> REGION_SHIFT, pos.getZ() >> REGION_SHIFT))));
+    }
+
+    void rollbackAll() {
+        rollbacks.add(new Rollback(null, listRegions()));
+    }
+
+    /**
+     * Undo journaled writes until the record batch or tick budget runs out.
+     * Loads at most one chunk per call; unloaded chunks are where the time goes.
+     */
+    void tickRollback(ServerLevel level, BooleanSupplier budgetExceeded) {
+        int records = 0;
+        boolean loadedChunk = false;
+
+        while (!rollbacks.isEmpty() && records < ROLLBACK_RECORDS_PER_TICK && !budgetExceeded.getAsBoolean()) {
+            Rollback rollback = rollbacks.peek();
+            if (rollback.region == null) {
+                rollback.region = rollback.regions.poll();
+                if (rollback.region == null) {
+                    rollbacks.poll();
+                    WowCraft.LOGGER.info("Road rollback done: {} blocks restored, {} changed since and left alone",
+                        rollback.restored, rollback.skipped);
+                    continue;
+                }
+                rollback.cursor = -2;
+            }
+
+            Segment segment;
+            try {
+                segment = getSegment(rollback.region, false);
+            } catch (IOException e) {
+                WowCraft.LOGGER.error("Skipping road journal region: {}", e.getMessage());
+                segment = null;
+            }
+            if (segment == null) {
+                rollback.region = null;
+                continue;
+            }
+            if (rollback.cursor == -2) {
+                rollback.cursor = segment.count - 1;  // Newest record when the region was reached
+            }
+
+            if (rollback.cursor < 0) {
+                compact(rollback, segment);
+                rollback.region = null;
+                continue;
+            }
+
+            int index = rollback.cursor;
+            if (rollback.matches(segment, index)) {
+                BlockPos pos = BlockPos.of(segment.pos(index));
+                if (!level.hasChunk(pos.getX() >> 4, pos.getZ() >> 4)) {
+                    if (loadedChunk) {
+                        return;
+                    }
+                    loadedChunk = true;
+                }
+
+                if (Block.getId(level.getBlockState(pos)) == segment.newState(index)) {
+                    level.setBlock(pos, Block.stateById(segment.oldState(index)), Block.UPDATE_ALL);
+                    rollback.restored++;
+                } else {
+                    rollback.skipped++;
+                }
+            }
+            rollback.cursor--;
+            records++;
+        }
+    }
+
+    /**
+     * Drop a finished region's rolled back records, keeping the rest in order.
+     * Records appended while the rollback ran are past the cursor's start and kept
+     * unless they match.
+     */
+    private static void compact(Rollback rollback, Segment segment) {
+        int kept = 0;
+        for (int i = 0; i < segment.count; i++) {
+            if (rollback.matches(segment, i)) {
+                continue;
+            }
+            if (kept != i) {
+                segment.write(kept, segment.pos(i), segment.road(i), segment.oldState(i), segment.newState(i));
+            }
+            kept++;
+        }
+        segment.setCount(kept);
+    }
+
+    // === Files ===
+
+    @Nullable
+    private Segment getSegment(long region, boolean create) throws IOException {
+        Segment segment = segments.get(region);
+        if (segment == null) {
+            if (create) {
+                Files.createDirectories(dir);
+            }
+            segment = Segment.open(dir.resolve(fileName(region)), create);
+            if (segment != null) {
+                segments.put(region, segment);
+            }
+        }
+        return segment;
+    }
+
+    private List<Long> listRegions() {
+        List<Long> regions = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return regions;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "r.*.*.journal")) {
+            for (Path file : files) {
+                String[] parts = file.getFileName().toString().split("\\.");
+                regions.add(regionKey(Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+            }
+        } catch (IOException | NumberFormatException e) {
+            WowCraft.LOGGER.error("Failed to list road journal: {}", e.getMessage());
+        }
+        return regions;
+    }
+
+    private static long regionKey(int regionX, int regionZ) {
+        return ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+    }
+
+    private static String fileName(long region) {
+        return "r." + (int) (region >> 32) + "." + (int) region + ".journal";
+    }
+}
@@ -1,10 +1,11 @@
 package com.gianmarco.wowcraft.roads;
 
+import com.gianmarco.wowcraft.world.ChunkSurface;
+import com.gianmarco.wowcraft.world.SurfaceCache;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.level.levelgen.Heightmap;
 import net.minecraft.util.RandomSource;
 
 import java.util.Optional;
@@ -21,11 +22,12 @@ public class RoadLandmarkGenerator {
             int x = center.getX() + dx;
             int z = center.getZ() + dz;
 
-            if (!level.hasChunk(x >> 4, z >> 4)) {
+            ChunkSurface surface = SurfaceCache.get(level).getColumn(x, z);
+            if (surface == null) {
                 continue;
             }
 
-            int y = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, x, z);
+            int y = surface.getGroundY(x, z);
             BlockPos ground = new BlockPos(x, y - 1, z);
             BlockState groundState = level.getBlockState(ground);
             if (!groundState.getFluidState().isEmpty()) {
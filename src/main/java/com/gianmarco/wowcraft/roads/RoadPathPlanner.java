@@ -1,15 +1,24 @@
 package com.gianmarco.wowcraft.roads;
 
+import com.gianmarco.wowcraft.world.ChunkSurface;
+import com.gianmarco.wowcraft.world.SurfaceSnapshot;
 import net.minecraft.core.BlockPos;
-import net.minecraft.server.level.ServerLevel;
-import net.minecraft.tags.BlockTags;
-import net.minecraft.tags.FluidTags;
 import net.minecraft.util.RandomSource;
-import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.ChunkPos;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A* road planner over a coarse terrain grid.
+ * Reads terrain only from a SurfaceSnapshot and keeps no state between calls,
+ * so plans can run on worker threads (see RoadPlanningPipeline).
+ *
+ * The search allocates nothing per node: open set is an IndexedMinHeap, and
+ * score, parent and terrain arrays are per-thread buffers reused across plans.
+ * Costs that depend only on the cell being entered are computed once per plan.
+ */
 public class RoadPathPlanner {
     private static final int BASE_CELL_SIZE = 12;
     private static final int MAX_GRID_CELLS = 160;
@@ -17,7 +26,6 @@ public class RoadPathPlanner {
     private static final int MAX_SLOPE = 3;
     private static final double SLOPE_COST = 2.5;
     private static final double ROUGHNESS_COST = 3.0;
-    private static final int TREE_SCAN_HEIGHT = 6;
     private static final double WATER_COST = 18.0;
     private static final double LEAF_COST = 4.0;
     private static final double NOISE_COST = 0.6;
@@ -28,106 +36,142 @@ public class RoadPathPlanner {
     private static final int[] DIR_Z = {0, 0, 1, -1, 1, -1, 1, -1};
     private static final double[] DIR_COST = {1.0, 1.0, 1.0, 1.0, 1.42, 1.42, 1.42, 1.42};
 
-    public List<BlockPos> plan(ServerLevel level, BlockPos start, BlockPos end, long seed) {
-        Grid grid = Grid.build(level, start, end, seed);
-        if (grid == null) {
-            return fallbackPath(level, start, end);
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    // Stats, summed over all planner threads
+    private static final LongAdder plansRun = new LongAdder();
+    private static final LongAdder nodesExpanded = new LongAdder();
+    private static final LongAdder planNanos = new LongAdder();
+
+    /**
+     * Whether start and end are too far apart for one grid at the base cell size.
+     * Such roads are routed through a corridor first (see RoadCorridorPlanner).
+     */
+    public static boolean needsCorridor(BlockPos start, BlockPos end) {
+        return Grid.layout(start, end, 0L).cellSize > BASE_CELL_SIZE;
+    }
+
+    /**
+     * Chunks whose surfaces a plan between start and end reads, one per grid cell
+     * at most. Capture these into the snapshot handed to plan.
+     *
+     * @param corridor region keys the plan is limited to, or null for no limit
+     */
+    public static List<Long> getChunksToCapture(BlockPos start, BlockPos end, @Nullable Set<Long> corridor) {
+        Grid grid = Grid.layout(start, end, 0L);
+        Set<Long> chunks = new LinkedHashSet<>();
+        for (int z = 0; z < grid.height; z++) {
+            for (int x = 0; x < grid.width; x++) {
+                int worldX = grid.worldX(x);
+                int worldZ = grid.worldZ(z);
+                if (corridor == null || corridor.contains(RoadTerrainSummaries.cellKeyForBlock(worldX, worldZ))) {
+                    chunks.add(ChunkPos.asLong(worldX >> 4, worldZ >> 4));
+                }
+            }
         }
+        return new ArrayList<>(chunks);
+    }
+
+    /**
+     * Plan a road. Columns missing from the snapshot or outside the corridor count
+     * as blocked. Path points over columns the snapshot lacks keep the Y of the
+     * point before them; the builder reads the real ground from the level anyway.
+     *
+     * @param corridor region keys the plan is limited to, or null for no limit
+     */
+    public List<BlockPos> plan(SurfaceSnapshot terrain, BlockPos start, BlockPos end, long seed,
+            @Nullable Set<Long> corridor) {
+        long startNanos = System.nanoTime();
+        Scratch scratch = SCRATCH.get();
+        Grid grid = Grid.layout(start, end, seed);
+        grid.populate(terrain, corridor, scratch);
+        Terrain ground = new Terrain(terrain, start.getY());
 
         int startIndex = grid.indexForWorld(start.getX(), start.getZ());
         int endIndex = grid.indexForWorld(end.getX(), end.getZ());
         if (startIndex < 0 || endIndex < 0) {
-            return fallbackPath(level, start, end);
-        }
-        if (grid.blocked[startIndex]) {
-            grid.blocked[startIndex] = false;
-        }
-        if (grid.blocked[endIndex]) {
-            grid.blocked[endIndex] = false;
+            return fallbackPath(ground, start, end);
         }
+        grid.blocked[startIndex] = false;
+        grid.blocked[endIndex] = false;
 
         int size = grid.width * grid.height;
-        double[] gScore = new double[size];
-        Arrays.fill(gScore, Double.POSITIVE_INFINITY);
-        int[] cameFrom = new int[size];
-        Arrays.fill(cameFrom, -1);
+        double[] gScore = scratch.gScore;
+        int[] cameFrom = scratch.cameFrom;
+        Arrays.fill(gScore, 0, size, Double.POSITIVE_INFINITY);
+        Arrays.fill(cameFrom, 0, size, -1);
 
-        PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingDouble(n -> n.fScore));
+        IndexedMinHeap open = scratch.open;
+        open.reset(size);
         gScore[startIndex] = 0.0;
-        open.add(new Node(startIndex, heuristic(grid, startIndex, endIndex)));
-
-        while (!open.isEmpty()) {
-            Node current = open.poll();
-            if (current.index == endIndex) {
-                return buildPath(level, grid, cameFrom, endIndex, seed);
-            }
-
-            if (current.fScore - heuristic(grid, current.index, endIndex) > gScore[current.index] + 0.001) {
-                continue;
-            }
+        open.insertOrDecrease(startIndex, heuristic(grid, startIndex, endIndex));
+
+        int expanded = 0;
+        try {
+            while (!open.isEmpty()) {
+                int current = open.poll();
+                if (current == endIndex) {
+                    return buildPath(ground, grid, cameFrom, endIndex, seed, scratch);
+                }
+                expanded++;
 
-            int cx = current.index % grid.width;
-            int cz = current.index / grid.width;
+                int cx = current % grid.width;
+                int cz = current / grid.width;
+                int currentHeight = grid.heights[current];
+                double currentScore = gScore[current];
 
-            for (int i = 0; i < DIR_X.length; i++) {
-                int nx = cx + DIR_X[i];
-                int nz = cz + DIR_Z[i];
-                if (!grid.inBounds(nx, nz)) {
-                    continue;
-                }
+                for (int i = 0; i < DIR_X.length; i++) {
+                    int nx = cx + DIR_X[i];
+                    int nz = cz + DIR_Z[i];
+                    if (!grid.inBounds(nx, nz)) {
+                        continue;
+                    }
 
-                int neighbor = grid.index(nx, nz);
-                if (grid.blocked[neighbor]) {
-                    continue;
-                }
+                    int neighbor = grid.index(nx, nz);
+                    if (grid.blocked[neighbor]) {
+                        continue;
+                    }
 
-                int heightDelta = Math.abs(grid.heights[neighbor] - grid.heights[current.index]);
-                if (heightDelta > MAX_SLOPE) {
-                    continue;
-                }
+                    int heightDelta = Math.abs(grid.heights[neighbor] - currentHeight);
+                    if (heightDelta > MAX_SLOPE) {
+                        continue;
+                    }
 
-                double cost = DIR_COST[i];
-                cost += heightDelta * SLOPE_COST;
-                cost += grid.roughness[neighbor] * ROUGHNESS_COST;
-                if (grid.water[neighbor]) {
-                    cost += WATER_COST;
-                }
-                if (grid.leaves[neighbor]) {
-                    cost += LEAF_COST;
-                }
-                cost += noisePenalty(grid.worldX(nx), grid.worldZ(nz), seed) * NOISE_COST;
-
-                double tentative = gScore[current.index] + cost;
-                if (tentative < gScore[neighbor]) {
-                    cameFrom[neighbor] = current.index;
-                    gScore[neighbor] = tentative;
-                    double fScore = tentative + heuristic(grid, neighbor, endIndex);
-                    open.add(new Node(neighbor, fScore));
+                    double tentative = currentScore + DIR_COST[i] + heightDelta * SLOPE_COST + grid.cellCost[neighbor];
+                    if (tentative < gScore[neighbor]) {
+                        cameFrom[neighbor] = current;
+                        gScore[neighbor] = tentative;
+                        open.insertOrDecrease(neighbor, tentative + heuristic(grid, neighbor, endIndex));
+                    }
                 }
             }
-        }
 
-        return fallbackPath(level, start, end);
+            return fallbackPath(ground, start, end);
+        } finally {
+            plansRun.increment();
+            nodesExpanded.add(expanded);
+            planNanos.add(System.nanoTime() - startNanos);
+        }
     }
 
-    private List<BlockPos> buildPath(ServerLevel level, Grid grid, int[] cameFrom, int endIndex, long seed) {
-        List<Integer> indices = new ArrayList<>();
-        int current = endIndex;
-        while (current != -1) {
-            indices.add(current);
-            current = cameFrom[current];
+    private List<BlockPos> buildPath(Terrain ground, Grid grid, int[] cameFrom, int endIndex, long seed,
+            Scratch scratch) {
+        // Walk back into the scratch buffer, then read it backwards for start-to-end order
+        int[] indices = scratch.pathIndices;
+        int count = 0;
+        for (int current = endIndex; current != -1; current = cameFrom[current]) {
+            indices[count++] = current;
         }
-        Collections.reverse(indices);
 
-        List<Vec2> raw = new ArrayList<>();
-        for (int index : indices) {
-            int gx = index % grid.width;
-            int gz = index / grid.width;
+        List<Vec2> raw = new ArrayList<>(count);
+        for (int i = count - 1; i >= 0; i--) {
+            int gx = indices[i] % grid.width;
+            int gz = indices[i] / grid.width;
             raw.add(new Vec2(grid.worldX(gx), grid.worldZ(gz)));
         }
 
         List<Vec2> smoothed = smooth(raw, seed);
-        return sampleToBlocks(level, smoothed);
+        return sampleToBlocks(ground, smoothed);
     }
 
     private List<Vec2> smooth(List<Vec2> input, long seed) {
@@ -167,7 +211,7 @@ public class RoadPathPlanner {
         return result;
     }
 
-    private List<BlockPos> sampleToBlocks(ServerLevel level, List<Vec2> points) {
+    private List<BlockPos> sampleToBlocks(Terrain ground, List<Vec2> points) {
         List<BlockPos> path = new ArrayList<>();
         BlockPos last = null;
 
@@ -183,10 +227,7 @@ public class RoadPathPlanner {
                 double t = steps == 0 ? 0.0 : (double) step / (double) steps;
                 int x = (int) Math.round(a.x + dx * t);
                 int z = (int) Math.round(a.z + dz * t);
-                int y = level.hasChunk(x >> 4, z >> 4)
-                        ? level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, x, z)
-                        : level.getMinY();
-                BlockPos pos = new BlockPos(x, y, z);
+                BlockPos pos = new BlockPos(x, groundY(ground, x, z, last != null ? last.getY() : ground.startY()), z);
                 if (last == null || !last.equals(pos)) {
                     path.add(pos);
                     last = pos;
@@ -197,7 +238,7 @@ public class RoadPathPlanner {
         return path;
     }
 
-    private List<BlockPos> fallbackPath(ServerLevel level, BlockPos start, BlockPos end) {
+    private List<BlockPos> fallbackPath(Terrain ground, BlockPos start, BlockPos end) {
         List<BlockPos> path = new ArrayList<>();
         int dx = end.getX() - start.getX();
         int dz = end.getZ() - start.getZ();
@@ -207,14 +248,35 @@ public class RoadPathPlanner {
             double t = steps == 0 ? 0.0 : (double) i / (double) steps;
             int x = (int) Math.round(start.getX() + dx * t);
             int z = (int) Math.round(start.getZ() + dz * t);
-            int y = level.hasChunk(x >> 4, z >> 4)
-                    ? level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, x, z)
-                    : level.getMinY();
-            path.add(new BlockPos(x, y, z));
+            int y = (int) Math.round(start.getY() + (end.getY() - start.getY()) * t);
+            path.add(new BlockPos(x, groundY(ground, x, z, y), z));
         }
         return path;
     }
 
+    private static int groundY(Terrain ground, int x, int z, int fallbackY) {
+        ChunkSurface surface = ground.snapshot().getChunk(x, z);
+        return surface != null ? surface.getGroundY(x, z) : fallbackY;
+    }
+
+    // === Stats ===
+
+    public static long getPlansRun() {
+        return plansRun.sum();
+    }
+
+    public static long getNodesExpanded() {
+        return nodesExpanded.sum();
+    }
+
+    /**
+     * Mean grid search time per plan in microseconds, terrain sampling included.
+     */
+    public static double getAveragePlanMicros() {
+        long plans = plansRun.sum();
+        return plans == 0 ? 0.0 : planNanos.sum() / 1000.0 / plans;
+    }
+
     private double heuristic(Grid grid, int index, int endIndex) {
         int x = index % grid.width;
         int z = index / grid.width;
@@ -225,7 +287,7 @@ public class RoadPathPlanner {
         return Math.sqrt(dx * dx + dz * dz);
     }
 
-    private double noisePenalty(int x, int z, long seed) {
+    private static double noisePenalty(int x, int z, long seed) {
         long h = seed ^ (x * 341873128712L + z * 132897987541L);
         h ^= (h >> 13);
         h *= 1274126177L;
@@ -233,10 +295,35 @@ public class RoadPathPlanner {
         return (double) (h & 0xffff) / 65535.0;
     }
 
-    private record Node(int index, double fScore) {
+    private record Vec2(double x, double z) {
+    }
+
+    private record Terrain(SurfaceSnapshot snapshot, int startY) {
     }
 
-    private record Vec2(double x, double z) {
+    /**
+     * Per-thread buffers reused across plans, grown to the largest grid seen.
+     */
+    private static final class Scratch {
+        private final IndexedMinHeap open = new IndexedMinHeap();
+        private double[] gScore = new double[0];
+        private int[] cameFrom = new int[0];
+        private int[] pathIndices = new int[0];
+        private int[] heights = new int[0];
+        private boolean[] blocked = new boolean[0];
+        private double[] cellCost = new double[0];
+
+        void ensureCapacity(int size) {
+            if (gScore.length >= size) {
+                return;
+            }
+            gScore = new double[size];
+            cameFrom = new int[size];
+            pathIndices = new int[size];
+            heights = new int[size];
+            blocked = new boolean[size];
+            cellCost = new double[size];
+        }
     }
 
     private static class Grid {
@@ -245,28 +332,23 @@ public class RoadPathPlanner {
         private final int width;
         private final int height;
         private final int cellSize;
-        private final int[] heights;
-        private final boolean[] water;
-        private final boolean[] leaves;
-        private final boolean[] blocked;
-        private final int[] roughness;
         private final long seed;
 
+        // Views into the thread's scratch buffers, filled by populate
+        private int[] heights;
+        private boolean[] blocked;
+        private double[] cellCost;  // cost of entering a cell, apart from direction and slope
+
         private Grid(int minX, int minZ, int width, int height, int cellSize, long seed) {
             this.minX = minX;
             this.minZ = minZ;
             this.width = width;
             this.height = height;
             this.cellSize = cellSize;
-            this.heights = new int[width * height];
-            this.water = new boolean[width * height];
-            this.leaves = new boolean[width * height];
-            this.blocked = new boolean[width * height];
-            this.roughness = new int[width * height];
             this.seed = seed;
         }
 
-        static Grid build(ServerLevel level, BlockPos start, BlockPos end, long seed) {
+        static Grid layout(BlockPos start, BlockPos end, long seed) {
             int minX = Math.min(start.getX(), end.getX()) - PADDING;
             int minZ = Math.min(start.getZ(), end.getZ()) - PADDING;
             int maxX = Math.max(start.getX(), end.getX()) + PADDING;
@@ -284,64 +366,57 @@ public class RoadPathPlanner {
                 height = Math.max(1, spanZ / cellSize + 1);
             }
 
-            Grid grid = new Grid(minX, minZ, width, height, cellSize, seed);
-            grid.populate(level);
-            return grid;
+            return new Grid(minX, minZ, width, height, cellSize, seed);
         }
 
-        void populate(ServerLevel level) {
-            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        /**
+         * Sample the terrain and precompute the per-cell entry cost (water, leaves,
+         * roughness and noise), so the search only adds direction and slope.
+         */
+        void populate(SurfaceSnapshot terrain, @Nullable Set<Long> corridor, Scratch scratch) {
+            scratch.ensureCapacity(width * height);
+            heights = scratch.heights;
+            blocked = scratch.blocked;
+            cellCost = scratch.cellCost;
+
             for (int z = 0; z < height; z++) {
                 for (int x = 0; x < width; x++) {
                     int worldX = worldX(x);
                     int worldZ = worldZ(z);
                     int idx = index(x, z);
 
-                    if (!level.hasChunk(worldX >> 4, worldZ >> 4)) {
+                    ChunkSurface surface = terrain.getChunk(worldX, worldZ);
+                    if (surface == null || (corridor != null
+                            && !corridor.contains(RoadTerrainSummaries.cellKeyForBlock(worldX, worldZ)))) {
                         blocked[idx] = true;
                         heights[idx] = 0;
-                        water[idx] = false;
-                        leaves[idx] = false;
+                        cellCost[idx] = 0.0;
                         continue;
                     }
 
-                    int surfaceY = level.getHeight(Heightmap.Types.WORLD_SURFACE, worldX, worldZ);
-                    int groundY = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, worldX, worldZ);
+                    heights[idx] = surface.getGroundY(worldX, worldZ);
+                    blocked[idx] = surface.hasFlag(worldX, worldZ, ChunkSurface.LOG_ABOVE);
 
-                    pos.set(worldX, surfaceY - 1, worldZ);
-                    BlockState surfaceState = level.getBlockState(pos);
-
-                    heights[idx] = groundY;
-                    water[idx] = surfaceState.getFluidState().is(FluidTags.WATER);
-
-                    boolean hasLog = false;
-                    boolean hasLeaf = false;
-                    for (int y = groundY; y <= groundY + TREE_SCAN_HEIGHT; y++) {
-                        pos.set(worldX, y, worldZ);
-                        BlockState state = level.getBlockState(pos);
-                        if (state.is(BlockTags.LOGS)) {
-                            hasLog = true;
-                            break;
-                        }
-                        if (state.is(BlockTags.LEAVES)) {
-                            hasLeaf = true;
-                        }
+                    double cost = noisePenalty(worldX, worldZ, seed) * NOISE_COST;
+                    if (surface.hasFlag(worldX, worldZ, ChunkSurface.SURFACE_WATER)) {
+                        cost += WATER_COST;
+                    }
+                    if (surface.hasFlag(worldX, worldZ, ChunkSurface.LEAVES_ABOVE)) {
+                        cost += LEAF_COST;
                     }
-                    blocked[idx] = hasLog;
-                    leaves[idx] = hasLeaf;
+                    cellCost[idx] = cost;
                 }
             }
 
-            computeRoughness();
+            addRoughness();
         }
 
-        void computeRoughness() {
+        void addRoughness() {
             for (int z = 0; z < height; z++) {
                 for (int x = 0; x < width; x++) {
                     int idx = index(x, z);
                     if (blocked[idx]) {
-                        roughness[idx] = MAX_SLOPE + 1;
-                        continue;
+                        continue;  // Never entered, except start and end
                     }
 
                     int base = heights[idx];
@@ -361,7 +436,7 @@ public class RoadPathPlanner {
                             maxDiff = diff;
                         }
                     }
-                    roughness[idx] = maxDiff;
+                    cellCost[idx] += maxDiff * ROUGHNESS_COST;
                 }
             }
         }
@@ -0,0 +1,179 @@
+package com.gianmarco.wowcraft.roads;
+
+import com.gianmarco.wowcraft.WowCraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persists unfinished road work (plans being built and plans still to be made)
+ * in a small binary file next to wowcraft_roads.json, so a restart resumes
+ * building instead of leaving half-built roads that are already marked done.
+ *
+ * Paths are stored as the first position followed by zigzag varint deltas,
+ * which takes a few bytes per point.
+ */
+class RoadPlanStorage {
+    private static final String FILE_NAME = "wowcraft_road_plans.dat";
+    private static final int MAGIC = 0x57435250;  // "WCRP"
+    private static final int VERSION = 1;
+    private static final int MAX_PATH_POINTS = 1 << 20;  // far more than any road, guards against a corrupt size
+
+    interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    interface Reader {
+        void read(DataInputStream in) throws IOException;
+    }
+
+    private final Path file;
+
+    private RoadPlanStorage(Path file) {
+        this.file = file;
+    }
+
+    static RoadPlanStorage open(ServerLevel level) {
+        return new RoadPlanStorage(level.getServer().getWorldPath(LevelResource.ROOT).resolve(FILE_NAME));
+    }
+
+    /**
+     * Read the file if there is one. Returns false if it is missing or unreadable.
+     */
+    boolean load(Reader reader) {
+        if (!Files.exists(file)) {
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                WowCraft.LOGGER.warn("Ignoring road plan file {} (bad header)", FILE_NAME);
+                return false;
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                WowCraft.LOGGER.warn("Ignoring road plan file {} (version {}, expected {})",
+                    FILE_NAME, version, VERSION);
+                return false;
+            }
+
+            reader.read(in);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            WowCraft.LOGGER.error("Failed to load road plans: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Write the file, replacing the previous one in one move.
+     */
+    void save(Writer writer) {
+        Path tempFile = file.resolveSibling(FILE_NAME + ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writer.write(out);
+            }
+
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            WowCraft.LOGGER.error("Failed to save road plans: {}", e.getMessage());
+        }
+    }
+
+    // === Encoding Helpers ===
+
+    static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    static void writePos(DataOutputStream out, BlockPos pos) throws IOException {
+        out.writeInt(pos.getX());
+        out.writeInt(pos.getY());
+        out.writeInt(pos.getZ());
+    }
+
+    static BlockPos readPos(DataInputStream in) throws IOException {
+        return new BlockPos(in.readInt(), in.readInt(), in.readInt());
+    }
+
+    static void writePath(DataOutputStream out, List<BlockPos> path) throws IOException {
+        writeVarInt(out, path.size());
+        BlockPos last = null;
+        for (BlockPos pos : path) {
+            if (last == null) {
+                writePos(out, pos);
+            } else {
+                writeVarInt(out, zigzag(pos.getX() - last.getX()));
+                writeVarInt(out, zigzag(pos.getY() - last.getY()));
+                writeVarInt(out, zigzag(pos.getZ() - last.getZ()));
+            }
+            last = pos;
+        }
+    }
+
+    static List<BlockPos> readPath(DataInputStream in) throws IOException {
+        int size = readVarInt(in);
+        if (size < 0 || size > MAX_PATH_POINTS) {
+            throw new IOException("Bad path length " + size);
+        }
+        List<BlockPos> path = new ArrayList<>(size);
+        BlockPos last = null;
+        for (int i = 0; i < size; i++) {
+            BlockPos pos = last == null
+                    ? readPos(in)
+                    : last.offset(unzigzag(readVarInt(in)), unzigzag(readVarInt(in)), unzigzag(readVarInt(in)));
+            path.add(pos);
+            last = pos;
+        }
+        return path;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarInt too long");
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
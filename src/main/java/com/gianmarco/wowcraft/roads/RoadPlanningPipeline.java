@@ -0,0 +1,349 @@
+package com.gianmarco.wowcraft.roads;
+
+import com.gianmarco.wowcraft.WowCraft;
+import com.gianmarco.wowcraft.world.ChunkSurface;
+import com.gianmarco.wowcraft.world.SurfaceSnapshot;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Plans roads without running A* on the server thread.
+ *
+ * Two stages per job:
+ * 1. Capture - the server thread copies the terrain a job reads (region summaries
+ *    for a corridor, chunk surfaces for a segment) as far as the road tick budget allows.
+ * 2. Plan - a worker thread runs the search on the copy.
+ *
+ * Short roads are a single segment. Long roads first get a corridor (see
+ * RoadCorridorPlanner), then one segment job per corridor leg. Segments are
+ * handed back in order as soon as each is ready, so building can start on the
+ * first leg while the rest are still being planned.
+ */
+class RoadPlanningPipeline {
+
+    private static final int MAX_ROUTES_IN_FLIGHT = 4;
+
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 4)),
+        runnable -> {
+            Thread thread = new Thread(runnable, "WowCraft-RoadPlanner");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+
+    /**
+     * A road being planned. Segment bookkeeping is server thread only.
+     */
+    static final class Route {
+        private final UUID startId;
+        private final UUID endId;
+        private final BlockPos startPos;
+        private final BlockPos endPos;
+        private final long seed;
+        private final int epoch;
+
+        private int segmentCount = 1;
+        private int nextSegment = 0;
+        private final Map<Integer, List<BlockPos>> finished = new HashMap<>();
+
+        private Route(UUID startId, UUID endId, BlockPos startPos, BlockPos endPos, long seed, int epoch) {
+            this.startId = startId;
+            this.endId = endId;
+            this.startPos = startPos;
+            this.endPos = endPos;
+            this.seed = seed;
+            this.epoch = epoch;
+        }
+
+        UUID getStartId() {
+            return startId;
+        }
+
+        UUID getEndId() {
+            return endId;
+        }
+
+        BlockPos getStartPos() {
+            return startPos;
+        }
+
+        BlockPos getEndPos() {
+            return endPos;
+        }
+
+        long getSeed() {
+            return seed;
+        }
+    }
+
+    /**
+     * One planned leg of a route, handed out in route order.
+     */
+    record SegmentResult(Route route, int segment, List<BlockPos> path, boolean last) {}
+
+    private record CorridorResult(Route route, RoadCorridorPlanner.Corridor corridor, Throwable error) {}
+
+    private record PlannedSegment(Route route, int segment, List<BlockPos> path, Throwable error) {}
+
+    private abstract static class CaptureJob {
+        abstract boolean isDone();
+
+        abstract void captureNext(ServerLevel level);
+
+        abstract void submit();
+    }
+
+    /**
+     * Region summaries for a long route's corridor.
+     */
+    private class CorridorJob extends CaptureJob {
+        private final Route route;
+        private final RoadCorridorPlanner.CoarseTerrain terrain;
+
+        CorridorJob(Route route) {
+            this.route = route;
+            this.terrain = new RoadCorridorPlanner.CoarseTerrain(route.startPos, route.endPos);
+        }
+
+        @Override
+        boolean isDone() {
+            return terrain.isDone();
+        }
+
+        @Override
+        void captureNext(ServerLevel level) {
+            terrain.captureNext(level, summaries);
+        }
+
+        @Override
+        void submit() {
+            CompletableFuture.supplyAsync(
+                    () -> new CorridorResult(route, RoadCorridorPlanner.plan(terrain, route.startPos, route.endPos), null),
+                    WORKERS)
+                .exceptionally(error -> new CorridorResult(route, null, error))
+                .thenAccept(completedCorridors::add);
+        }
+    }
+
+    /**
+     * Chunk surfaces for one leg of a route.
+     */
+    private class SegmentJob extends CaptureJob {
+        private final Route route;
+        private final int segment;
+        private final BlockPos from;
+        private final BlockPos to;
+        @Nullable
+        private final Set<Long> corridor;
+        private final List<Long> chunks;
+        private final SurfaceSnapshot.Builder builder = new SurfaceSnapshot.Builder();
+        private int nextChunk;
+
+        SegmentJob(Route route, int segment, BlockPos from, BlockPos to, @Nullable Set<Long> corridor) {
+            this.route = route;
+            this.segment = segment;
+            this.from = from;
+            this.to = to;
+            this.corridor = corridor;
+            this.chunks = RoadPathPlanner.getChunksToCapture(from, to, corridor);
+        }
+
+        @Override
+        boolean isDone() {
+            return nextChunk >= chunks.size();
+        }
+
+        @Override
+        void captureNext(ServerLevel level) {
+            long key = chunks.get(nextChunk++);
+            ChunkSurface surface = builder.capture(level, ChunkPos.getX(key), ChunkPos.getZ(key));
+            if (surface != null) {
+                summaries.record(surface);
+            }
+        }
+
+        @Override
+        void submit() {
+            SurfaceSnapshot terrain = builder.build();
+            long seed = route.seed ^ (segment * 0x9E3779B97F4A7C15L);
+            CompletableFuture.supplyAsync(
+                    () -> new PlannedSegment(route, segment,
+                            planner.plan(terrain, from, to, seed, corridor), null),
+                    WORKERS)
+                .exceptionally(error -> new PlannedSegment(route, segment, List.of(), error))
+                .thenAccept(completedSegments::add);
+        }
+    }
+
+    private final RoadPathPlanner planner = new RoadPathPlanner();
+    private final RoadTerrainSummaries summaries = new RoadTerrainSummaries();
+
+    // Stage 1 work, server thread only
+    private final ArrayDeque<CaptureJob> captureQueue = new ArrayDeque<>();
+
+    // Stage 2 output, filled by workers and drained on the server thread
+    private final Queue<CorridorResult> completedCorridors = new ConcurrentLinkedQueue<>();
+    private final Queue<PlannedSegment> completedSegments = new ConcurrentLinkedQueue<>();
+
+    // Routes between submit and their last segment, server thread only
+    private final Set<Route> inFlight = new LinkedHashSet<>();
+
+    // Stats
+    private int corridorsPlanned = 0;
+    private int segmentsPlanned = 0;
+
+    // Bumped on clear so results planned before a reset are thrown away
+    private volatile int epoch = 0;
+
+    boolean hasCapacity() {
+        return inFlight.size() < MAX_ROUTES_IN_FLIGHT;
+    }
+
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Routes submitted but not fully handed back, oldest first.
+     */
+    Collection<Route> getInFlightRoutes() {
+        return inFlight;
+    }
+
+    int getCorridorsPlanned() {
+        return corridorsPlanned;
+    }
+
+    int getSegmentsPlanned() {
+        return segmentsPlanned;
+    }
+
+    void submit(UUID startId, UUID endId, BlockPos startPos, BlockPos endPos, long seed) {
+        Route route = new Route(startId, endId, startPos, endPos, seed, epoch);
+        if (RoadPathPlanner.needsCorridor(startPos, endPos)) {
+            captureQueue.add(new CorridorJob(route));
+        } else {
+            captureQueue.add(new SegmentJob(route, 0, startPos, endPos, null));
+        }
+        inFlight.add(route);
+    }
+
+    /**
+     * Stage 1: copy terrain for the oldest jobs until the budget runs out,
+     * handing each job to a worker once its copy is complete.
+     */
+    void captureTerrain(ServerLevel level, BooleanSupplier budgetExceeded) {
+        while (!captureQueue.isEmpty()) {
+            CaptureJob job = captureQueue.peek();
+            while (!job.isDone() && !budgetExceeded.getAsBoolean()) {
+                job.captureNext(level);
+            }
+            if (!job.isDone()) {
+                return;  // Out of budget, continue next road tick
+            }
+
+            captureQueue.poll();
+            job.submit();
+
+            if (budgetExceeded.getAsBoolean()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Queue segment jobs for finished corridors and hand finished segments to the
+     * consumer in route order. Server thread only.
+     */
+    void drainCompleted(Consumer<SegmentResult> consumer) {
+        CorridorResult corridorResult;
+        while ((corridorResult = completedCorridors.poll()) != null) {
+            onCorridorPlanned(corridorResult);
+        }
+
+        PlannedSegment planned;
+        while ((planned = completedSegments.poll()) != null) {
+            Route route = planned.route();
+            if (route.epoch != epoch) {
+                continue;  // Planned before a reset
+            }
+
+            List<BlockPos> path = planned.path();
+            if (planned.error() != null) {
+                WowCraft.LOGGER.error("Road planning failed from {} to {}: {}",
+                    route.startPos, route.endPos, planned.error().getMessage());
+                path = List.of();
+            }
+            segmentsPlanned++;
+            route.finished.put(planned.segment(), path);
+
+            while (route.finished.containsKey(route.nextSegment)) {
+                int segment = route.nextSegment++;
+                boolean last = route.nextSegment >= route.segmentCount;
+                if (last) {
+                    inFlight.remove(route);
+                }
+                consumer.accept(new SegmentResult(route, segment, route.finished.remove(segment), last));
+            }
+        }
+    }
+
+    private void onCorridorPlanned(CorridorResult result) {
+        Route route = result.route();
+        if (route.epoch != epoch) {
+            return;
+        }
+
+        RoadCorridorPlanner.Corridor corridor = result.corridor();
+        if (result.error() != null || corridor == null) {
+            if (result.error() != null) {
+                WowCraft.LOGGER.error("Road corridor planning failed from {} to {}: {}",
+                    route.startPos, route.endPos, result.error().getMessage());
+            }
+            // Plan the whole road on one coarse grid instead
+            captureQueue.add(new SegmentJob(route, 0, route.startPos, route.endPos, null));
+            return;
+        }
+
+        corridorsPlanned++;
+        route.segmentCount = corridor.getSegmentCount();
+        List<BlockPos> waypoints = corridor.waypoints();
+        for (int i = 0; i < route.segmentCount; i++) {
+            captureQueue.add(new SegmentJob(route, i, waypoints.get(i), waypoints.get(i + 1), corridor.cells()));
+        }
+        WowCraft.LOGGER.debug("Road from {} to {} split into {} segments",
+            route.startPos, route.endPos, route.segmentCount);
+    }
+
+    /**
+     * Drop all queued and in-flight plans.
+     * Workers still running finish on their own and their results are discarded.
+     */
+    void clear() {
+        epoch++;
+        captureQueue.clear();
+        completedCorridors.clear();
+        completedSegments.clear();
+        summaries.clear();
+        inFlight.clear();
+    }
+}
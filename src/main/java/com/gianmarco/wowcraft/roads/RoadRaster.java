@@ -0,0 +1,107 @@
+package com.gianmarco.wowcraft.roads;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The columns of one road, decided but not yet written, grouped by chunk.
+ *
+ * Path squares overlap, so every column is decided once: the first square to
+ * cover it claims it and later squares skip it. RoadGenerator writes a chunk's
+ * columns in one pass once the road has moved on from that chunk.
+ */
+class RoadRaster {
+
+    static final int FILL = 1;  // dirt at groundY + 1 to raise the road
+    static final int CUT = 1 << 1;  // air at groundY to lower the road
+    static final int CLEAR_ABOVE = 1 << 2;  // air above a dirt path
+
+    private static final int NOT_PLACED = Integer.MIN_VALUE;
+
+    /**
+     * One column's writes. groundY is the top ground block before the road.
+     * block is null when only the fill/cut happens (the surface spot was unsuitable).
+     */
+    record Column(int x, int z, int groundY, int roadY, @Nullable Block block, int ops) {
+        boolean has(int op) {
+            return (ops & op) != 0;
+        }
+    }
+
+    // Column key -> road Y, or NOT_PLACED for columns looked at but left alone
+    private final Map<Long, Integer> claimed = new HashMap<>();
+    private final Map<Long, List<Column>> pendingByChunk = new LinkedHashMap<>();
+
+    boolean isClaimed(int x, int z) {
+        return claimed.containsKey(columnKey(x, z));
+    }
+
+    /**
+     * Road Y of an already claimed column, or null if no road block goes there.
+     */
+    @Nullable
+    Integer getRoadY(int x, int z) {
+        Integer y = claimed.get(columnKey(x, z));
+        return y == null || y == NOT_PLACED ? null : y;
+    }
+
+    /**
+     * Mark a column as looked at without writing anything.
+     */
+    void skip(int x, int z) {
+        claimed.put(columnKey(x, z), NOT_PLACED);
+    }
+
+    void add(Column column) {
+        claimed.put(columnKey(column.x(), column.z()), column.block() != null ? column.roadY() : NOT_PLACED);
+        pendingByChunk.computeIfAbsent(ChunkPos.asLong(column.x() >> 4, column.z() >> 4), key -> new ArrayList<>())
+                .add(column);
+    }
+
+    boolean hasPending() {
+        return !pendingByChunk.isEmpty();
+    }
+
+    /**
+     * Take the pending chunks that don't overlap the given block area (the
+     * current path square), in the order the road reached them.
+     */
+    List<List<Column>> takeChunksOutside(int minX, int minZ, int maxX, int maxZ) {
+        List<List<Column>> result = new ArrayList<>();
+        Iterator<Map.Entry<Long, List<Column>>> iterator = pendingByChunk.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, List<Column>> entry = iterator.next();
+            int chunkX = ChunkPos.getX(entry.getKey());
+            int chunkZ = ChunkPos.getZ(entry.getKey());
+            boolean overlaps = (chunkX << 4) <= maxX && (chunkX << 4) + 15 >= minX
+                    && (chunkZ << 4) <= maxZ && (chunkZ << 4) + 15 >= minZ;
+            if (!overlaps) {
+                result.add(entry.getValue());
+                iterator.remove();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Take every pending chunk.
+     */
+    List<List<Column>> takeAll() {
+        List<List<Column>> result = new ArrayList<>(pendingByChunk.values());
+        pendingByChunk.clear();
+        return result;
+    }
+
+    private static long columnKey(int x, int z) {
+        return BlockPos.asLong(x, 0, z);
+    }
+}
@@ -1,18 +1,30 @@
 package com.gianmarco.wowcraft.roads;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
+/**
+ * Road network nodes and the pairs already connected.
+ * Nodes are also indexed per type in a 256-block XZ grid, so neighbor and
+ * proximity queries only visit the cells around a position.
+ */
 public class RoadRegistry {
+    private static final int CELL_SHIFT = 8;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+
     private final Map<UUID, RoadNode> nodes = new LinkedHashMap<>();
     private final Map<Long, UUID> nodeByPos = new HashMap<>();
     private final Set<String> builtPairs = new HashSet<>();
+    private final Map<RoadNodeType, Map<Long, List<RoadNode>>> cellsByType = new EnumMap<>(RoadNodeType.class);
 
     public void clear() {
         nodes.clear();
         nodeByPos.clear();
         builtPairs.clear();
+        cellsByType.clear();
     }
 
     public boolean addNode(RoadNode node) {
@@ -26,6 +38,10 @@ public class RoadRegistry {
         }
         nodes.put(node.getId(), node);
         nodeByPos.put(key, node.getId());
+        cellsByType.computeIfAbsent(node.getType(), type -> new HashMap<>())
+                .computeIfAbsent(cellKey(node.getPosition().getX() >> CELL_SHIFT, node.getPosition().getZ() >> CELL_SHIFT),
+                        cell -> new ArrayList<>())
+                .add(node);
         return true;
     }
 
@@ -41,6 +57,134 @@ public class RoadRegistry {
         return nodes.size();
     }
 
+    // === Spatial Queries ===
+
+    /**
+     * Check for any node of any type within radius blocks.
+     */
+    public boolean hasNodeWithin(BlockPos pos, int radius) {
+        double radiusSq = (double) radius * radius;
+        int minCellX = (pos.getX() - radius) >> CELL_SHIFT;
+        int maxCellX = (pos.getX() + radius) >> CELL_SHIFT;
+        int minCellZ = (pos.getZ() - radius) >> CELL_SHIFT;
+        int maxCellZ = (pos.getZ() + radius) >> CELL_SHIFT;
+
+        for (Map<Long, List<RoadNode>> cells : cellsByType.values()) {
+            for (int cx = minCellX; cx <= maxCellX; cx++) {
+                for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+                    List<RoadNode> cell = cells.get(cellKey(cx, cz));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (RoadNode node : cell) {
+                        if (node.getPosition().distSqr(pos) <= radiusSq) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * All nodes of a type within radius blocks, in no particular order.
+     */
+    public List<RoadNode> findWithin(BlockPos pos, int radius, RoadNodeType type) {
+        List<RoadNode> result = new ArrayList<>();
+        Map<Long, List<RoadNode>> cells = cellsByType.get(type);
+        if (cells == null) {
+            return result;
+        }
+
+        double radiusSq = (double) radius * radius;
+        int minCellX = (pos.getX() - radius) >> CELL_SHIFT;
+        int maxCellX = (pos.getX() + radius) >> CELL_SHIFT;
+        int minCellZ = (pos.getZ() - radius) >> CELL_SHIFT;
+        int maxCellZ = (pos.getZ() + radius) >> CELL_SHIFT;
+
+        for (int cx = minCellX; cx <= maxCellX; cx++) {
+            for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+                List<RoadNode> cell = cells.get(cellKey(cx, cz));
+                if (cell == null) {
+                    continue;
+                }
+                for (RoadNode node : cell) {
+                    if (node.getPosition().distSqr(pos) <= radiusSq) {
+                        result.add(node);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The nearest node of a type within radius blocks, or null.
+     */
+    @Nullable
+    public RoadNode findNearest(BlockPos pos, int radius, @Nullable UUID excludeId, RoadNodeType type) {
+        List<RoadNode> nearest = findNearest(pos, radius, 1, excludeId, EnumSet.of(type));
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    /**
+     * Up to k nodes of the given types within radius blocks, nearest first.
+     * Visits grid rings outward and stops once no unvisited cell can beat the k-th best.
+     */
+    public List<RoadNode> findNearest(BlockPos pos, int radius, int k, @Nullable UUID excludeId, Set<RoadNodeType> types) {
+        double radiusSq = (double) radius * radius;
+        Comparator<RoadNode> byDistance = Comparator.comparingDouble(node -> node.getPosition().distSqr(pos));
+        PriorityQueue<RoadNode> best = new PriorityQueue<>(k + 1, byDistance.reversed());
+
+        int centerX = pos.getX() >> CELL_SHIFT;
+        int centerZ = pos.getZ() >> CELL_SHIFT;
+        int maxRing = (radius >> CELL_SHIFT) + 1;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Cells on this ring are at least (ring - 1) cells away from pos
+            if (best.size() >= k && ring > 1) {
+                double reach = (double) (ring - 1) * CELL_SIZE;
+                if (reach * reach > best.peek().getPosition().distSqr(pos)) {
+                    break;
+                }
+            }
+
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dz = -ring; dz <= ring; dz++) {
+                    if (Math.abs(dx) != ring && Math.abs(dz) != ring) {
+                        continue; // Inner cells were visited on earlier rings
+                    }
+                    long key = cellKey(centerX + dx, centerZ + dz);
+                    for (RoadNodeType type : types) {
+                        Map<Long, List<RoadNode>> cells = cellsByType.get(type);
+                        List<RoadNode> cell = cells != null ? cells.get(key) : null;
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (RoadNode node : cell) {
+                            if (node.getId().equals(excludeId) || node.getPosition().distSqr(pos) > radiusSq) {
+                                continue;
+                            }
+                            best.add(node);
+                            if (best.size() > k) {
+                                best.poll();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        List<RoadNode> result = new ArrayList<>(best);
+        result.sort(byDistance);
+        return result;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ChunkPos.asLong(cellX, cellZ);
+    }
+
     public boolean hasBuiltPair(UUID a, UUID b) {
         return builtPairs.contains(pairKey(a, b));
     }
@@ -93,9 +93,16 @@ public class RoadSaveData {
                 GSON.toJson(root, writer);
             }
 
-            WowCraft.LOGGER.info("Saved {} road nodes to {}", registry.getNodeCount(), FILE_NAME);
+            WowCraft.LOGGER.debug("Saved {} road nodes to {}", registry.getNodeCount(), FILE_NAME);
         } catch (IOException e) {
             WowCraft.LOGGER.error("Failed to save road data: {}", e.getMessage());
         }
     }
+
+    /**
+     * Clears the instance cache (on world unload).
+     */
+    public static void clearCache() {
+        INSTANCES.clear();
+    }
 }
@@ -0,0 +1,124 @@
+package com.gianmarco.wowcraft.roads;
+
+import com.gianmarco.wowcraft.world.ChunkSurface;
+import com.gianmarco.wowcraft.world.SurfaceCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rough terrain cost per 64x64 block region, for routing long roads (see RoadCorridorPlanner).
+ *
+ * A region is summarized from one chunk surface: the region's center chunk when a
+ * corridor is captured, or any chunk a road segment captured. Summaries outlive
+ * the chunks they came from, so terrain seen once keeps guiding later routes.
+ * Server thread only.
+ */
+class RoadTerrainSummaries {
+
+    static final int CELL_SIZE = 64;
+    static final int CELL_SHIFT = 6;
+
+    private static final int MAX_CELLS = 65_536;
+    private static final int SAMPLE_STEP = 4;
+
+    /**
+     * groundY is the mean sampled ground height, relief the spread between the
+     * lowest and highest sample; water and trees are sample fractions.
+     */
+    record Summary(int groundY, int relief, float water, float trees) {}
+
+    private final LinkedHashMap<Long, Summary> cells = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Summary> eldest) {
+            return size() > MAX_CELLS;
+        }
+    };
+
+    static long cellKey(int cellX, int cellZ) {
+        return ChunkPos.asLong(cellX, cellZ);
+    }
+
+    /**
+     * Region key of a world column.
+     */
+    static long cellKeyForBlock(int x, int z) {
+        return cellKey(x >> CELL_SHIFT, z >> CELL_SHIFT);
+    }
+
+    /**
+     * The region's summary, sampling its center chunk if that is loaded and the
+     * region hasn't been seen yet. Null for regions never seen.
+     */
+    @Nullable
+    Summary getOrSample(ServerLevel level, int cellX, int cellZ) {
+        long key = cellKey(cellX, cellZ);
+        Summary summary = cells.get(key);
+        if (summary != null) {
+            return summary;
+        }
+
+        int chunksPerCell = CELL_SIZE >> 4;
+        ChunkSurface surface = SurfaceCache.get(level).getChunk(
+                cellX * chunksPerCell + chunksPerCell / 2,
+                cellZ * chunksPerCell + chunksPerCell / 2);
+        if (surface == null) {
+            return null;
+        }
+
+        summary = summarize(surface);
+        cells.put(key, summary);
+        return summary;
+    }
+
+    /**
+     * Refresh the summary of the region a captured chunk lies in.
+     */
+    void record(ChunkSurface surface) {
+        int chunksPerCell = CELL_SIZE >> 4;
+        cells.put(cellKey(Math.floorDiv(surface.getChunkX(), chunksPerCell), Math.floorDiv(surface.getChunkZ(), chunksPerCell)),
+                summarize(surface));
+    }
+
+    void clear() {
+        cells.clear();
+    }
+
+    int size() {
+        return cells.size();
+    }
+
+    private static Summary summarize(ChunkSurface surface) {
+        int baseX = surface.getChunkX() << 4;
+        int baseZ = surface.getChunkZ() << 4;
+        int minY = Integer.MAX_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        int sumY = 0;
+        int water = 0;
+        int trees = 0;
+        int samples = 0;
+
+        for (int dz = SAMPLE_STEP / 2; dz < 16; dz += SAMPLE_STEP) {
+            for (int dx = SAMPLE_STEP / 2; dx < 16; dx += SAMPLE_STEP) {
+                int x = baseX + dx;
+                int z = baseZ + dz;
+                int y = surface.getGroundY(x, z);
+                minY = Math.min(minY, y);
+                maxY = Math.max(maxY, y);
+                sumY += y;
+                if (surface.hasFlag(x, z, ChunkSurface.SURFACE_WATER)) {
+                    water++;
+                }
+                if (surface.hasFlag(x, z, ChunkSurface.LOG_ABOVE)) {
+                    trees++;
+                }
+                samples++;
+            }
+        }
+
+        return new Summary(sumY / samples, maxY - minY, (float) water / samples, (float) trees / samples);
+    }
+}
@@ -0,0 +1,416 @@
+package com.gianmarco.wowcraft.roads;
+
+import com.gianmarco.wowcraft.WowCraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet;
+import net.minecraft.core.QuartPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.BiomeSource;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.chunk.ChunkGeneratorStructureState;
+import net.minecraft.world.level.chunk.status.ChunkStatus;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.levelgen.RandomState;
+import net.minecraft.world.level.levelgen.structure.Structure;
+import net.minecraft.world.level.levelgen.structure.StructureStart;
+import net.minecraft.world.level.levelgen.structure.placement.RandomSpreadStructurePlacement;
+import net.minecraft.world.level.levelgen.structure.placement.StructurePlacement;
+import net.minecraft.world.level.storage.LevelResource;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Per-level index of the structures roads connect (villages, outposts, ruined
+ * portals, swamp huts), kept in 512x512 block regions and saved with the world.
+ *
+ * Two sources fill it:
+ * - Chunk loads record the structure starts they actually contain.
+ * - Searches predict the rest on a dedicated thread from structure placement
+ *   math and the biome source (no chunk or level access), once per region.
+ *   Later searches in that region are answered from the index.
+ *
+ * Predictions can be wrong where terrain rejects a structure; a confirmed start
+ * from a chunk load replaces any prediction near it.
+ */
+public final class StructureIndex {
+
+    private static final String FILE_NAME = "wowcraft_structures.dat";
+    private static final int MAGIC = 0x57435349;  // "WCSI"
+    private static final int VERSION = 1;
+
+    private static final int REGION_SHIFT = 9;
+    private static final int REGION_CHUNKS = 1 << (REGION_SHIFT - 4);
+    private static final int DUPLICATE_DISTANCE = 100;
+
+    private static final TagKey<Structure> VILLAGE_TAG = TagKey.create(
+            Registries.STRUCTURE,
+            ResourceLocation.withDefaultNamespace("village"));
+
+    private static final List<String> EXTRA_STRUCTURES = List.of(
+            "minecraft:pillager_outpost",
+            "minecraft:ruined_portal",
+            "minecraft:swamp_hut");
+
+    private static final ExecutorService LOCATOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "WowCraft-StructureLocator");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private static final Map<ResourceKey<Level>, StructureIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * A structure position, either seen in a loaded chunk or predicted.
+     */
+    public record Found(BlockPos pos, String id, boolean confirmed) {}
+
+    /**
+     * One region's structures. Replaced whole, never changed in place.
+     */
+    private record Region(boolean predicted, List<Found> structures) {}
+
+    /**
+     * A structure type to predict and the placement rules it uses.
+     */
+    private record Target(String id, Structure structure, List<StructurePlacement> placements) {}
+
+    private final ServerLevel level;
+    private final Path file;
+    private final Map<Long, Region> regions = new ConcurrentHashMap<>();
+
+    // Copied on the server thread when the index is created; all thread-safe to read
+    private final ChunkGeneratorStructureState structureState;
+    private final ChunkGenerator generator;
+    private final BiomeSource biomeSource;
+    private final RandomState randomState;
+    private final LevelHeightAccessor heightAccessor;
+    private final List<Target> targets;
+
+    private StructureIndex(ServerLevel level) {
+        this.level = level;
+        this.file = level.getServer().getWorldPath(LevelResource.ROOT).resolve(FILE_NAME);
+        this.structureState = level.getChunkSource().getGeneratorState();
+        this.generator = level.getChunkSource().getGenerator();
+        this.biomeSource = generator.getBiomeSource();
+        this.randomState = level.getChunkSource().randomState();
+        this.heightAccessor = LevelHeightAccessor.create(level.getMinY(), level.getHeight());
+        this.targets = resolveTargets(level, structureState);
+    }
+
+    /**
+     * Get (or create and load) the index for a level. Server thread only.
+     */
+    public static StructureIndex get(ServerLevel level) {
+        StructureIndex index = indexes.get(level.dimension());
+        if (index == null || index.level != level) {
+            index = new StructureIndex(level);
+            index.load();
+            indexes.put(level.dimension(), index);
+        }
+        return index;
+    }
+
+    public static void clear(Level level) {
+        indexes.remove(level.dimension());
+    }
+
+    private static List<Target> resolveTargets(ServerLevel level, ChunkGeneratorStructureState state) {
+        var structureRegistry = level.registryAccess().lookupOrThrow(Registries.STRUCTURE);
+        List<Holder<Structure>> holders = new ArrayList<>();
+
+        Optional<HolderSet.Named<Structure>> villages = structureRegistry.get(VILLAGE_TAG);
+        if (villages.isPresent()) {
+            villages.get().forEach(holders::add);
+        } else {
+            WowCraft.LOGGER.warn("Village tag not found in registry");
+        }
+        for (String structureId : EXTRA_STRUCTURES) {
+            structureRegistry.get(ResourceKey.create(Registries.STRUCTURE, ResourceLocation.parse(structureId)))
+                    .ifPresent(holders::add);
+        }
+
+        List<Target> targets = new ArrayList<>();
+        for (Holder<Structure> holder : holders) {
+            String id = holder.unwrapKey().map(key -> key.location().toString()).orElse("unknown");
+            targets.add(new Target(id, holder.value(), state.getPlacementsForStructure(holder)));
+        }
+        return targets;
+    }
+
+    // === Recording ===
+
+    /**
+     * Record a structure start seen in a loaded chunk. Server thread.
+     */
+    void recordConfirmed(BlockPos pos, String id) {
+        regions.compute(regionKey(pos), (key, region) -> {
+            List<Found> structures = new ArrayList<>();
+            boolean predicted = false;
+            if (region != null) {
+                predicted = region.predicted();
+                for (Found found : region.structures()) {
+                    if (found.confirmed() && found.pos().equals(pos)) {
+                        return region;  // Already known
+                    }
+                    if (!isNear(found.pos(), pos)) {
+                        structures.add(found);
+                    }
+                }
+            }
+            structures.add(new Found(pos, id, true));
+            return new Region(predicted, List.copyOf(structures));
+        });
+    }
+
+    /**
+     * Check a predicted position against the structure starts of its chunk, loading
+     * the chunk up to STRUCTURE_STARTS if it isn't there yet. Returns the matching
+     * start, at its center, or null if generation rejected the prediction. A match
+     * is recorded as confirmed. Server thread only.
+     */
+    @Nullable
+    public Found verify(BlockPos predicted, Predicate<String> idFilter) {
+        var structureRegistry = level.registryAccess().lookupOrThrow(Registries.STRUCTURE);
+        ChunkAccess chunk = level.getChunk(predicted.getX() >> 4, predicted.getZ() >> 4, ChunkStatus.STRUCTURE_STARTS);
+        for (Map.Entry<Structure, StructureStart> entry : chunk.getAllStarts().entrySet()) {
+            StructureStart start = entry.getValue();
+            if (start == null || !start.isValid()) {
+                continue;
+            }
+            ResourceLocation id = structureRegistry.getKey(entry.getKey());
+            if (id != null && idFilter.test(id.toString())) {
+                BlockPos center = start.getBoundingBox().getCenter();
+                recordConfirmed(center, id.toString());
+                return new Found(center, id.toString(), true);
+            }
+        }
+        WowCraft.LOGGER.debug("No structure start at predicted {}", predicted);
+        return null;
+    }
+
+    // === Searching ===
+
+    /**
+     * Structures within radius of center, nearest first, at most maxResults and
+     * none closer than 100 blocks to another. Runs on the locator thread.
+     */
+    public CompletableFuture<List<BlockPos>> findAsync(BlockPos center, int radius, int maxResults,
+                                                      Predicate<String> idFilter) {
+        return CompletableFuture.supplyAsync(() -> find(center, radius, maxResults, idFilter), LOCATOR);
+    }
+
+    private List<BlockPos> find(BlockPos center, int radius, int maxResults, Predicate<String> idFilter) {
+        int minRegionX = (center.getX() - radius) >> REGION_SHIFT;
+        int maxRegionX = (center.getX() + radius) >> REGION_SHIFT;
+        int minRegionZ = (center.getZ() - radius) >> REGION_SHIFT;
+        int maxRegionZ = (center.getZ() + radius) >> REGION_SHIFT;
+        long radiusSq = (long) radius * radius;
+
+        List<Found> candidates = new ArrayList<>();
+        for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+            for (int regionZ = minRegionZ; regionZ <= maxRegionZ; regionZ++) {
+                for (Found found : getPredicted(regionX, regionZ).structures()) {
+                    if (idFilter.test(found.id()) && horizontalDistSq(found.pos(), center) <= radiusSq) {
+                        candidates.add(found);
+                    }
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingLong(found -> horizontalDistSq(found.pos(), center)));
+
+        List<BlockPos> results = new ArrayList<>();
+        for (Found found : candidates) {
+            if (results.size() >= maxResults) {
+                break;
+            }
+            if (results.stream().noneMatch(existing -> isNear(existing, found.pos()))) {
+                results.add(found.pos());
+            }
+        }
+        return results;
+    }
+
+    private Region getPredicted(int regionX, int regionZ) {
+        long key = regionKey(regionX, regionZ);
+        Region region = regions.get(key);
+        if (region != null && region.predicted()) {
+            return region;
+        }
+
+        List<Found> predictions = predictRegion(regionX, regionZ);
+        return regions.compute(key, (unused, current) -> {
+            List<Found> structures = new ArrayList<>();
+            if (current != null) {
+                structures.addAll(current.structures());
+            }
+            for (Found prediction : predictions) {
+                if (structures.stream().noneMatch(found -> isNear(found.pos(), prediction.pos()))) {
+                    structures.add(prediction);
+                }
+            }
+            return new Region(true, List.copyOf(structures));
+        });
+    }
+
+    /**
+     * Where the target structures would start in a region, from the random spread
+     * grid, the placement's own chunk checks and the biome at the start.
+     */
+    private List<Found> predictRegion(int regionX, int regionZ) {
+        int minChunkX = regionX * REGION_CHUNKS;
+        int minChunkZ = regionZ * REGION_CHUNKS;
+        int maxChunkX = minChunkX + REGION_CHUNKS - 1;
+        int maxChunkZ = minChunkZ + REGION_CHUNKS - 1;
+        long seed = structureState.getLevelSeed();
+
+        List<Found> predictions = new ArrayList<>();
+        for (Target target : targets) {
+            for (StructurePlacement placement : target.placements()) {
+                if (!(placement instanceof RandomSpreadStructurePlacement spread)) {
+                    continue;
+                }
+
+                int spacing = spread.spacing();
+                for (int cellX = Math.floorDiv(minChunkX, spacing); cellX <= Math.floorDiv(maxChunkX, spacing); cellX++) {
+                    for (int cellZ = Math.floorDiv(minChunkZ, spacing); cellZ <= Math.floorDiv(maxChunkZ, spacing); cellZ++) {
+                        ChunkPos chunk = spread.getPotentialStructureChunk(seed, cellX * spacing, cellZ * spacing);
+                        if (chunk.x < minChunkX || chunk.x > maxChunkX || chunk.z < minChunkZ || chunk.z > maxChunkZ) {
+                            continue;  // Belongs to a neighbouring region
+                        }
+                        if (!spread.isStructureChunk(structureState, chunk.x, chunk.z)
+                                || !isBiomeValid(target.structure(), chunk)) {
+                            continue;
+                        }
+
+                        BlockPos pos = spread.getLocatePos(chunk);
+                        if (predictions.stream().noneMatch(found -> isNear(found.pos(), pos))) {
+                            predictions.add(new Found(pos, target.id(), false));
+                        }
+                    }
+                }
+            }
+        }
+        return predictions;
+    }
+
+    private boolean isBiomeValid(Structure structure, ChunkPos chunk) {
+        int x = chunk.getMiddleBlockX();
+        int z = chunk.getMiddleBlockZ();
+        int y = generator.getFirstOccupiedHeight(x, z, Heightmap.Types.WORLD_SURFACE_WG, heightAccessor, randomState);
+        Holder<Biome> biome = biomeSource.getNoiseBiome(
+                QuartPos.fromBlock(x), QuartPos.fromBlock(y), QuartPos.fromBlock(z), randomState.sampler());
+        return structure.biomes().contains(biome);
+    }
+
+    // === Persistence ===
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                WowCraft.LOGGER.warn("Ignoring structure index {} (bad header)", FILE_NAME);
+                return;
+            }
+
+            int regionCount = in.readInt();
+            Map<Long, Region> loaded = new LinkedHashMap<>();
+            for (int i = 0; i < regionCount; i++) {
+                long key = in.readLong();
+                boolean predicted = in.readBoolean();
+                int count = in.readInt();
+                List<Found> structures = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    structures.add(new Found(BlockPos.of(in.readLong()), in.readUTF(), in.readBoolean()));
+                }
+                loaded.put(key, new Region(predicted, List.copyOf(structures)));
+            }
+            regions.putAll(loaded);
+            WowCraft.LOGGER.info("Loaded structure index with {} regions", loaded.size());
+        } catch (IOException e) {
+            WowCraft.LOGGER.error("Failed to load structure index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write the index, replacing the previous file in one move.
+     */
+    public void save() {
+        Path tempFile = file.resolveSibling(FILE_NAME + ".tmp");
+        Map<Long, Region> snapshot = new LinkedHashMap<>(regions);
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<Long, Region> entry : snapshot.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeBoolean(entry.getValue().predicted());
+                    out.writeInt(entry.getValue().structures().size());
+                    for (Found found : entry.getValue().structures()) {
+                        out.writeLong(found.pos().asLong());
+                        out.writeUTF(found.id());
+                        out.writeBoolean(found.confirmed());
+                    }
+                }
+            }
+
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            WowCraft.LOGGER.error("Failed to save structure index: {}", e.getMessage());
+        }
+    }
+
+    // === Helpers ===
+
+    private static long regionKey(BlockPos pos) {
+        return regionKey(pos.getX() >> REGION_SHIFT, pos.getZ() >> REGION_SHIFT);
+    }
+
+    private static long regionKey(int regionX, int regionZ) {
+        return ((long) regionX << 32) | (regionZ & 0xFFFFFFFFL);
+    }
+
+    private static boolean isNear(BlockPos a, BlockPos b) {
+        return horizontalDistSq(a, b) < (long) DUPLICATE_DISTANCE * DUPLICATE_DISTANCE;
+    }
+
+    private static long horizontalDistSq(BlockPos a, BlockPos b) {
+        long dx = a.getX() - b.getX();
+        long dz = a.getZ() - b.getZ();
+        return dx * dx + dz * dz;
+    }
+}
@@ -0,0 +1,78 @@
+package com.gianmarco.wowcraft.spawn;
+
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interned mob option lists and mob types shared by compact spawn points.
+ * Thousands of spawn points use the same handful of biome option lists, so
+ * compact storage keeps an int index into this table instead of a list copy.
+ * Server thread only; entries live until the spawn pool is cleared with its world.
+ */
+public final class MobOptionTable {
+
+    private static final List<List<MobOption>> optionSets = new ArrayList<>();
+    private static final Map<List<MobOption>, Integer> optionSetIds = new HashMap<>();
+
+    private static final List<ResourceLocation> mobTypes = new ArrayList<>();
+    private static final Map<ResourceLocation, Integer> mobTypeIds = new HashMap<>();
+
+    private MobOptionTable() {
+    }
+
+    /**
+     * Index of an option list, adding it on first use.
+     */
+    public static int internOptions(List<MobOption> options) {
+        Integer id = optionSetIds.get(options);
+        if (id == null) {
+            List<MobOption> copy = List.copyOf(options);
+            id = optionSets.size();
+            optionSets.add(copy);
+            optionSetIds.put(copy, id);
+        }
+        return id;
+    }
+
+    /**
+     * Option list by index (immutable).
+     */
+    public static List<MobOption> getOptions(int id) {
+        return optionSets.get(id);
+    }
+
+    /**
+     * Index of a mob type, adding it on first use.
+     */
+    public static int internMobType(ResourceLocation mobType) {
+        Integer id = mobTypeIds.get(mobType);
+        if (id == null) {
+            id = mobTypes.size();
+            mobTypes.add(mobType);
+            mobTypeIds.put(mobType, id);
+        }
+        return id;
+    }
+
+    public static ResourceLocation getMobType(int id) {
+        return mobTypes.get(id);
+    }
+
+    public static int getOptionSetCount() {
+        return optionSets.size();
+    }
+
+    /**
+     * Drop all entries. Only safe once no compact point holds an index.
+     */
+    public static void clear() {
+        optionSets.clear();
+        optionSetIds.clear();
+        mobTypes.clear();
+        mobTypeIds.clear();
+    }
+}
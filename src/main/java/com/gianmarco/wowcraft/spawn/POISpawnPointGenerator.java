@@ -3,7 +3,6 @@ package com.gianmarco.wowcraft.spawn;
 import com.gianmarco.wowcraft.poi.*;
 import com.gianmarco.wowcraft.zone.BiomeGroup;
 import net.minecraft.core.BlockPos;
-import net.minecraft.server.level.ServerLevel;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -271,8 +270,7 @@ public class POISpawnPointGenerator {
     public static List<SpawnPoint> generateSpawnPointsForPOI(
             PointOfInterest poi,
             BiomeGroup biome,
-            int level,
-            ServerLevel serverLevel) {
+            int level) {
 
         Random random = new Random(poi.getPoiId().hashCode());
 
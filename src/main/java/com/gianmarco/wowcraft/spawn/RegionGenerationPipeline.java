@@ -0,0 +1,295 @@
+package com.gianmarco.wowcraft.spawn;
+
+import com.gianmarco.wowcraft.WowCraft;
+import com.gianmarco.wowcraft.poi.POIGenerator;
+import com.gianmarco.wowcraft.poi.POIManager;
+import com.gianmarco.wowcraft.poi.POISaveData;
+import com.gianmarco.wowcraft.poi.PointOfInterest;
+import com.gianmarco.wowcraft.world.SurfaceSnapshot;
+import com.gianmarco.wowcraft.zone.BiomeGroup;
+import com.gianmarco.wowcraft.zone.ZoneRegion;
+import com.gianmarco.wowcraft.zone.ZoneSaveData;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Generates POIs and spawn points for new regions without stalling the server tick.
+ *
+ * Three stages:
+ * 1. Capture - the server thread copies chunk surfaces into a SurfaceSnapshot, a few chunks per tick.
+ * 2. Generate - a worker thread runs POI, POI spawn, scatter and safe zone generation on the snapshot.
+ * 3. Commit - the server thread adds the results to the POI manager and spawn pool under a time budget.
+ *
+ * Only stages 1 and 3 touch the level or the managers, so all world access stays on the server thread.
+ */
+public class RegionGenerationPipeline {
+
+    private static final int MAX_JOBS_IN_FLIGHT = 4;
+
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() / 4)),
+        runnable -> {
+            Thread thread = new Thread(runnable, "WowCraft-RegionGen");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+
+    // Regions somewhere between submit and commit
+    private static final Set<SpawnPoolManager.RegionPos> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Stage 1 work, server thread only
+    private static final ArrayDeque<CaptureJob> captureQueue = new ArrayDeque<>();
+
+    // Stage 2 output, filled by workers and drained on the server thread
+    private static final Queue<GenerationResult> completed = new ConcurrentLinkedQueue<>();
+
+    // Bumped on clear so results from a previous world are thrown away
+    private static volatile int epoch = 0;
+
+    /**
+     * Everything generation needs, gathered on the server thread at submit time.
+     */
+    private record GenerationInput(
+            SpawnPoolManager.RegionPos regionPos,
+            BlockPos regionCenter,
+            BiomeGroup biome,
+            int baseLevel,
+            List<PointOfInterest> existingPOIs,
+            long worldSeed,
+            BlockPos worldSpawn,
+            int epoch) {}
+
+    private record GenerationResult(
+            GenerationInput input,
+            List<PointOfInterest> pois,
+            boolean newPOIs,
+            List<SpawnPoint> poiSpawnPoints,
+            List<SpawnPoint> scatterPoints,
+            Throwable error) {}
+
+    /**
+     * A region whose terrain is being copied chunk by chunk.
+     */
+    private static class CaptureJob {
+        private final GenerationInput input;
+        private final SurfaceSnapshot.Builder builder = new SurfaceSnapshot.Builder();
+        private final int minChunkX;
+        private final int maxChunkX;
+        private final int minChunkZ;
+        private final int maxChunkZ;
+        private int nextChunkX;
+        private int nextChunkZ;
+
+        CaptureJob(GenerationInput input) {
+            this.input = input;
+            int radius = POIGenerator.getSampleRadius();
+            this.minChunkX = (input.regionCenter().getX() - radius) >> 4;
+            this.maxChunkX = (input.regionCenter().getX() + radius) >> 4;
+            this.minChunkZ = (input.regionCenter().getZ() - radius) >> 4;
+            this.maxChunkZ = (input.regionCenter().getZ() + radius) >> 4;
+            this.nextChunkX = minChunkX;
+            this.nextChunkZ = minChunkZ;
+        }
+
+        boolean isDone() {
+            return nextChunkX > maxChunkX;
+        }
+
+        void captureNext(ServerLevel level) {
+            builder.capture(level, nextChunkX, nextChunkZ);
+            if (++nextChunkZ > maxChunkZ) {
+                nextChunkZ = minChunkZ;
+                nextChunkX++;
+            }
+        }
+    }
+
+    /**
+     * Queue a region for generation.
+     * Returns false if the pipeline is full and the caller should try again later.
+     */
+    public static boolean submit(ServerLevel level, BlockPos regionCenter, BiomeGroup biome) {
+        SpawnPoolManager.RegionPos regionPos = SpawnPoolManager.RegionPos.fromBlockPos(
+            regionCenter, SpawnPoolManager.REGION_SIZE);
+
+        if (inFlight.contains(regionPos)) {
+            return true;  // Already on its way
+        }
+        if (inFlight.size() >= MAX_JOBS_IN_FLIGHT) {
+            return false;
+        }
+
+        // Zone and POI lookups touch saved data, so do them here rather than on the worker
+        ZoneRegion zone = ZoneSaveData.get(level).getZone(biome);
+        int baseLevel = zone != null ? zone.suggestedLevelMin() : 1;
+        POIManager poiManager = POISaveData.get(level).getManager();
+        List<PointOfInterest> existingPOIs = List.copyOf(poiManager.getPOIsNearChunk(new ChunkPos(regionCenter)));
+
+        GenerationInput input = new GenerationInput(regionPos, regionCenter, biome, baseLevel,
+            existingPOIs, level.getSeed(), level.getSharedSpawnPos(), epoch);
+
+        inFlight.add(regionPos);
+        captureQueue.add(new CaptureJob(input));
+
+        WowCraft.LOGGER.debug("Queued spawn generation for region {} (biome: {})", regionPos, biome);
+        return true;
+    }
+
+    /**
+     * Check whether a region is queued, generating or waiting to be committed.
+     */
+    public static boolean isPending(BlockPos pos) {
+        return inFlight.contains(SpawnPoolManager.RegionPos.fromBlockPos(pos, SpawnPoolManager.REGION_SIZE));
+    }
+
+    public static int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Advance the server-thread stages until the budget runs out.
+     */
+    public static void tick(ServerLevel level, BooleanSupplier budgetExceeded) {
+        commitCompleted(level, budgetExceeded);
+        captureTerrain(level, budgetExceeded);
+    }
+
+    /**
+     * Stage 1: copy chunk surfaces for the oldest job, then hand it to a worker once complete.
+     */
+    private static void captureTerrain(ServerLevel level, BooleanSupplier budgetExceeded) {
+        while (!captureQueue.isEmpty() && !budgetExceeded.getAsBoolean()) {
+            CaptureJob job = captureQueue.peek();
+            while (!job.isDone() && !budgetExceeded.getAsBoolean()) {
+                job.captureNext(level);
+            }
+            if (!job.isDone()) {
+                return;  // Out of budget, continue next tick
+            }
+
+            captureQueue.poll();
+            SurfaceSnapshot terrain = job.builder.build();
+            GenerationInput input = job.input;
+
+            CompletableFuture.supplyAsync(() -> generate(input, terrain), WORKERS)
+                .exceptionally(error -> new GenerationResult(input, List.of(), false, List.of(), List.of(), error))
+                .thenAccept(completed::add);
+        }
+    }
+
+    /**
+     * Stage 2: build POIs and spawn points from the snapshot. Runs on a worker thread.
+     */
+    private static GenerationResult generate(GenerationInput input, SurfaceSnapshot terrain) {
+        BlockPos regionCenter = input.regionCenter();
+        BiomeGroup biome = input.biome();
+
+        List<PointOfInterest> pois = input.existingPOIs();
+        boolean newPOIs = false;
+        if (pois.isEmpty()) {
+            pois = POIGenerator.generatePOIsForRegion(terrain, regionCenter, input.worldSeed(), biome);
+            newPOIs = true;
+        }
+
+        List<SpawnPoint> poiSpawnPoints = new ArrayList<>();
+        for (PointOfInterest poi : pois) {
+            poiSpawnPoints.addAll(POISpawnPointGenerator.generateSpawnPointsForPOI(poi, biome, input.baseLevel()));
+        }
+
+        Random random = new Random(input.regionPos().hashCode() ^ input.worldSeed());
+        boolean isNearSpawn = regionCenter.distSqr(input.worldSpawn()) < 500 * 500;
+        List<SpawnPoint> scatterPoints = ScatterSpawnGenerator.generateScatterSpawns(
+            terrain, regionCenter, SpawnPoolManager.REGION_SIZE, biome, isNearSpawn, random);
+
+        for (SpawnPoint point : scatterPoints) {
+            SafeZoneDetector.applySafeZoneModifiers(point, terrain, input.worldSpawn());
+        }
+
+        return new GenerationResult(input, pois, newPOIs, poiSpawnPoints, scatterPoints, null);
+    }
+
+    /**
+     * Stage 3: apply finished regions to the managers, at least one per call.
+     */
+    private static void commitCompleted(ServerLevel level, BooleanSupplier budgetExceeded) {
+        GenerationResult result;
+        while ((result = completed.poll()) != null) {
+            commit(level, result);
+            if (budgetExceeded.getAsBoolean()) {
+                break;
+            }
+        }
+    }
+
+    private static void commit(ServerLevel level, GenerationResult result) {
+        GenerationInput input = result.input();
+        if (input.epoch() != epoch) {
+            return;  // Generated for a world that has since been unloaded
+        }
+
+        inFlight.remove(input.regionPos());
+
+        if (result.error() != null) {
+            WowCraft.LOGGER.error("Spawn generation failed for region {}: {}",
+                input.regionPos(), result.error().getMessage());
+            SpawnSystemManager.requeueRegion(input.regionPos());
+            return;
+        }
+
+        BlockPos regionCenter = input.regionCenter();
+        if (SpawnPoolManager.isRegionGenerated(regionCenter)) {
+            return;  // Loaded from disk while we were generating
+        }
+        SpawnPoolManager.markRegionGenerated(regionCenter);
+
+        if (result.newPOIs()) {
+            POIManager poiManager = POISaveData.get(level).getManager();
+            for (PointOfInterest poi : result.pois()) {
+                poiManager.addPOI(poi);
+            }
+            poiManager.markRegionGenerated(regionCenter);
+        }
+
+        for (SpawnPoint point : result.poiSpawnPoints()) {
+            SpawnPoolManager.addSpawnPoint(point);
+        }
+        for (SpawnPoint point : result.scatterPoints()) {
+            SpawnPoolManager.addSpawnPoint(point);
+        }
+
+        // Visualize POIs if debug enabled
+        POIDebugVisualizer.visualizePOIs(level, result.pois());
+
+        // Activate spawn points (75% of scatter points, less when the server is busy)
+        SpawnPoolManager.activateRegionSpawnPoints(input.regionPos(), SpawnGovernor.getActivePercentage());
+
+        WowCraft.LOGGER.info("Generated spawn system for region {} - {} POI spawns, {} scatter spawns",
+            input.regionPos(), result.poiSpawnPoints().size(), result.scatterPoints().size());
+    }
+
+    /**
+     * Drop all queued and in-flight work (world unload).
+     * Workers still running finish on their own and their results are discarded.
+     */
+    public static void clear() {
+        epoch++;
+        captureQueue.clear();
+        completed.clear();
+        inFlight.clear();
+    }
+}
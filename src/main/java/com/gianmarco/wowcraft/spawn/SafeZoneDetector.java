@@ -1,5 +1,8 @@
 package com.gianmarco.wowcraft.spawn;
 
+import com.gianmarco.wowcraft.world.ChunkSurface;
+import com.gianmarco.wowcraft.world.SurfaceCache;
+import com.gianmarco.wowcraft.world.SurfaceSnapshot;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 
@@ -18,8 +21,14 @@ public class SafeZoneDetector {
      * Full implementation with block detection will come later.
      */
     public static boolean isInSafeZone(ServerLevel level, BlockPos pos) {
+        return isInSafeZone(level.getSharedSpawnPos(), pos);
+    }
+
+    /**
+     * Check if a position is in the safe zone around a known world spawn.
+     */
+    public static boolean isInSafeZone(BlockPos spawn, BlockPos pos) {
         // Check distance from world spawn (spawn area = safer)
-        BlockPos spawn = level.getSharedSpawnPos();
         double distSq = pos.distSqr(spawn);
 
         // 500 blocks from spawn = safe zone
@@ -34,41 +43,43 @@ public class SafeZoneDetector {
         return false;
     }
 
+    /**
+     * Check if a surface position sits on a road, using the cached chunk surfaces.
+     */
     public static boolean isOnRoad(ServerLevel level, BlockPos pos) {
-        BlockPos ground = pos.below();
-        var groundState = level.getBlockState(ground);
+        SurfaceCache cache = SurfaceCache.get(level);
+        ChunkSurface surface = cache.getColumn(pos.getX(), pos.getZ());
+        if (surface == null) {
+            return false;
+        }
 
-        if (com.gianmarco.wowcraft.roads.BiomeRoadMaterial.isRoadSurface(groundState)) {
+        if (surface.hasFlag(pos.getX(), pos.getZ(), ChunkSurface.ROAD)) {
             return true;
         }
-
-        if (com.gianmarco.wowcraft.roads.BiomeRoadMaterial.isRoadEdge(groundState)) {
-            return hasNearbyPathBlock(level, ground, 1);
+        if (surface.hasFlag(pos.getX(), pos.getZ(), ChunkSurface.ROAD_EDGE)) {
+            return hasRoadWithin(cache, pos, 1);
         }
-
-        if (groundState.getBlock() == net.minecraft.world.level.block.Blocks.OAK_PLANKS) {
-            return hasNearbyPathBlock(level, ground, 3);
+        if (surface.hasFlag(pos.getX(), pos.getZ(), ChunkSurface.BRIDGE)) {
+            return hasRoadWithin(cache, pos, 3);
         }
-
         return false;
     }
 
     public static boolean isNearRoad(ServerLevel level, BlockPos pos) {
-        return hasNearbyPathBlock(level, pos, ROAD_SAFE_RADIUS);
+        return hasRoadWithin(SurfaceCache.get(level), pos, ROAD_SAFE_RADIUS);
     }
 
-    private static boolean hasNearbyPathBlock(ServerLevel level, BlockPos pos, int radius) {
-        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
-
+    private static boolean hasRoadWithin(SurfaceCache cache, BlockPos pos, int radius) {
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
-                cursor.set(pos.getX() + dx, pos.getY() - 1, pos.getZ() + dz);
-                if (com.gianmarco.wowcraft.roads.BiomeRoadMaterial.isRoadSurface(level.getBlockState(cursor))) {
+                int x = pos.getX() + dx;
+                int z = pos.getZ() + dz;
+                ChunkSurface surface = cache.getColumn(x, z);
+                if (surface != null && surface.hasFlag(x, z, ChunkSurface.ROAD)) {
                     return true;
                 }
             }
         }
-
         return false;
     }
 
@@ -108,11 +119,25 @@ public class SafeZoneDetector {
      * Converts hostile to neutral in safe zones.
      */
     public static void applySafeZoneModifiers(SpawnPoint point, ServerLevel level) {
+        applySafeZoneModifiers(point, isNearRoad(level, point.getPosition()),
+            isInSafeZone(level, point.getPosition()));
+    }
+
+    /**
+     * Apply safe zone modifiers using a terrain snapshot instead of the level.
+     * Safe to call off the server thread.
+     */
+    public static void applySafeZoneModifiers(SpawnPoint point, SurfaceSnapshot terrain, BlockPos worldSpawn) {
+        applySafeZoneModifiers(point, terrain.hasRoadWithin(point.getPosition(), ROAD_SAFE_RADIUS),
+            isInSafeZone(worldSpawn, point.getPosition()));
+    }
+
+    private static void applySafeZoneModifiers(SpawnPoint point, boolean nearRoad, boolean inSafeZone) {
         if (!canBeAffectedBySafeZone(point)) {
             return;  // Can't be modified
         }
 
-        if (isNearRoad(level, point.getPosition())) {
+        if (nearRoad) {
             if (point.getHostility() == SpawnHostility.ALWAYS_HOSTILE) {
                 point.setHostility(SpawnHostility.NEUTRAL_DEFENSIVE);
                 List<MobOption> neutralMobs = MobOptionProvider.getNeutralMobs(point.getBiome());
@@ -121,7 +146,7 @@ public class SafeZoneDetector {
             return;
         }
 
-        if (!isInSafeZone(level, point.getPosition())) {
+        if (!inSafeZone) {
             return;  // Not in safe zone
         }
 
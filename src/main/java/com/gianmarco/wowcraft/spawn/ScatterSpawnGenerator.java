@@ -2,10 +2,8 @@ package com.gianmarco.wowcraft.spawn;
 
 import com.gianmarco.wowcraft.WowCraft;
 import com.gianmarco.wowcraft.zone.BiomeGroup;
+import com.gianmarco.wowcraft.world.SurfaceSnapshot;
 import net.minecraft.core.BlockPos;
-import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.level.levelgen.Heightmap;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,10 +21,11 @@ public class ScatterSpawnGenerator {
     private static final int MIN_DISTANCE_FROM_POI = 80;  // Don't overlap camps
 
     /**
-     * Generate scatter spawn points for a region.
+     * Generate scatter spawn points for a region from a terrain snapshot.
+     * Touches no level state, so it can run off the server thread.
      */
     public static List<SpawnPoint> generateScatterSpawns(
-            ServerLevel level,
+            SurfaceSnapshot terrain,
             BlockPos regionCenter,
             int regionSize,
             BiomeGroup biome,
@@ -49,13 +48,13 @@ public class ScatterSpawnGenerator {
             BlockPos testPos = regionCenter.offset(offsetX, 0, offsetZ);
 
             // Find surface
-            BlockPos surfacePos = findSurfacePos(level, testPos);
+            BlockPos surfacePos = terrain.findSurfacePos(testPos.getX(), testPos.getZ(), false);
             if (surfacePos == null) {
                 continue;
             }
 
             // Check spacing from other scatter points
-            if (!isValidScatterLocation(level, surfacePos, scatterPoints)) {
+            if (!isValidScatterLocation(terrain, surfacePos, scatterPoints)) {
                 continue;
             }
 
@@ -123,11 +122,11 @@ public class ScatterSpawnGenerator {
      * Check if position is valid for scatter spawn.
      */
     private static boolean isValidScatterLocation(
-            ServerLevel level,
+            SurfaceSnapshot terrain,
             BlockPos pos,
             List<SpawnPoint> existing) {
 
-        if (SafeZoneDetector.isOnRoad(level, pos)) {
+        if (terrain.isOnRoad(pos)) {
             return false;
         }
 
@@ -160,34 +159,6 @@ public class ScatterSpawnGenerator {
         return false;
     }
 
-    /**
-     * Find surface position at XZ coordinates.
-     */
-    private static BlockPos findSurfacePos(ServerLevel level, BlockPos pos) {
-        if (!level.isLoaded(pos)) {
-            return null;
-        }
-
-        int y = level.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES,
-            pos.getX(), pos.getZ());
-
-        // Validate Y is within world bounds
-        if (y >= level.getMinY() && y <= level.getMaxY() - 2) {
-            BlockPos surfacePos = new BlockPos(pos.getX(), y, pos.getZ());
-
-            // Quick validation
-            BlockState below = level.getBlockState(surfacePos.below());
-            BlockState at = level.getBlockState(surfacePos);
-
-            if ((below.isSuffocating(level, surfacePos.below()) || below.blocksMotion()) &&
-                !at.isSuffocating(level, surfacePos)) {
-                return surfacePos;
-            }
-        }
-
-        return null;
-    }
-
     /**
      * Calculate base level for a region based on distance from spawn.
      */
@@ -0,0 +1,373 @@
+package com.gianmarco.wowcraft.spawn;
+
+import com.gianmarco.wowcraft.WowCraft;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Load-adaptive throttle for entity spawning.
+ *
+ * Reads the server's rolling MSPT once per tick and turns it into a load factor
+ * (0 = idle headroom, 1 = at the 50ms limit). The load factor scales the share of
+ * scatter points kept active by rotation, stretches respawn delays, shrinks the
+ * per-region and global entity caps and limits how many points spawn per tick.
+ *
+ * Spawn requests are queued by priority: lairs, named and quest points first,
+ * other POI points next, scatter points last, and nearest player first within
+ * each class. The queue drains a budget of entities and nanoseconds per tick, so
+ * a login or teleport into a dense camp area spreads over several ticks instead
+ * of stalling one. Under overload scatter points stop spawning entirely, so the
+ * world thins out instead of the TPS dropping. Server thread only.
+ */
+public class SpawnGovernor {
+
+    // Load thresholds (milliseconds per tick)
+    private static final double RELAXED_MSPT = 30.0;  // below this, no throttling at all
+    private static final double OVERLOADED_MSPT = 45.0;  // above this, scatter spawning stops
+
+    // Rotation share of scatter points at no load / full load
+    private static final float MAX_ACTIVE_PERCENTAGE = 0.75f;
+    private static final float MIN_ACTIVE_PERCENTAGE = 0.40f;
+
+    // Respawn delays stretch up to this factor at full load
+    private static final float MAX_RESPAWN_DELAY_SCALE = 2.0f;
+
+    // Entity caps at no load; they shrink to half at full load
+    public static final int DEFAULT_REGION_ENTITY_CAP = 48;
+    public static final int DEFAULT_GLOBAL_ENTITY_CAP = 400;
+
+    // Spawn queue drain budget at no load; both shrink to a quarter at full load
+    public static final int DEFAULT_ENTITIES_PER_TICK = 12;
+    public static final long DEFAULT_SPAWN_BUDGET_NANOS = 1_000_000L;  // 1 ms of spawning per tick
+
+    // Hyperspawn: kills per region within the window that count as full pressure
+    private static final int HYPERSPAWN_WINDOW_TICKS = 6000;  // 5 minutes
+    private static final int HYPERSPAWN_KILLS = 10;
+
+    // Priority classes (lower spawns first)
+    private static final int PRIORITY_ELITE = 0;
+    private static final int PRIORITY_POI = 1;
+    private static final int PRIORITY_WILDLIFE = 2;
+    private static final int PRIORITY_SCATTER = 3;
+
+    private static final PriorityQueue<PendingSpawn> queue = new PriorityQueue<>();
+    private static final Set<SpawnPoint> queuedPoints = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static long nextSequence = 0;
+
+    // Kill counts per region for the current and previous hyperspawn window
+    private static final Map<SpawnPoolManager.RegionPos, Integer> recentKills = new HashMap<>();
+    private static final Map<SpawnPoolManager.RegionPos, Integer> previousKills = new HashMap<>();
+    private static long windowStartTick = 0;
+
+    private static double msptAverage = 0.0;
+    private static float load = 0.0f;
+    private static int regionEntityCap = DEFAULT_REGION_ENTITY_CAP;
+    private static int globalEntityCap = DEFAULT_GLOBAL_ENTITY_CAP;
+    private static int entitiesPerTick = DEFAULT_ENTITIES_PER_TICK;
+    private static long spawnBudgetNanos = DEFAULT_SPAWN_BUDGET_NANOS;
+
+    // Stats
+    private static long deferredByCap = 0;
+    private static long deferredByLoad = 0;
+
+    // Queue metrics, reset after each report
+    private static int peakQueueDepth = 0;
+    private static long drainedRequests = 0;
+    private static long totalWaitTicks = 0;
+    private static long maxWaitTicks = 0;
+    private static int lastTickEntities = 0;
+    private static long lastTickNanos = 0;
+
+    private record PendingSpawn(SpawnPoint point, int priority, double distanceSq, long enqueuedTick, long sequence)
+            implements Comparable<PendingSpawn> {
+        @Override
+        public int compareTo(PendingSpawn other) {
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+            if (distanceSq != other.distanceSq) {
+                return Double.compare(distanceSq, other.distanceSq);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    // === Load tracking ===
+
+    /**
+     * Sample the server's rolling tick time. Called once per server tick.
+     */
+    public static void updateLoad(ServerLevel level, long currentTick) {
+        msptAverage = level.getServer().getAverageTickTimeNanos() / 1_000_000.0;
+        load = (float) Math.max(0.0, Math.min(1.0, (msptAverage - RELAXED_MSPT) / (OVERLOADED_MSPT - RELAXED_MSPT)));
+
+        if (currentTick - windowStartTick >= HYPERSPAWN_WINDOW_TICKS) {
+            previousKills.clear();
+            previousKills.putAll(recentKills);
+            recentKills.clear();
+            windowStartTick = currentTick;
+        }
+    }
+
+    public static double getMspt() {
+        return msptAverage;
+    }
+
+    public static float getLoad() {
+        return load;
+    }
+
+    public static boolean isOverloaded() {
+        return load >= 1.0f;
+    }
+
+    /**
+     * Share of rotatable points to keep active, lower when the server is busy.
+     */
+    public static float getActivePercentage() {
+        return MAX_ACTIVE_PERCENTAGE - (MAX_ACTIVE_PERCENTAGE - MIN_ACTIVE_PERCENTAGE) * load;
+    }
+
+    /**
+     * Stretch a respawn delay by the current load.
+     */
+    public static int scaleRespawnDelay(int baseDelayTicks) {
+        return Math.round(baseDelayTicks * (1.0f + (MAX_RESPAWN_DELAY_SCALE - 1.0f) * load));
+    }
+
+    public static int getRegionEntityCap() {
+        return Math.max(1, Math.round(regionEntityCap * (1.0f - 0.5f * load)));
+    }
+
+    public static int getGlobalEntityCap() {
+        return Math.max(1, Math.round(globalEntityCap * (1.0f - 0.5f * load)));
+    }
+
+    public static void setEntityCaps(int perRegion, int global) {
+        regionEntityCap = Math.max(1, perRegion);
+        globalEntityCap = Math.max(regionEntityCap, global);
+    }
+
+    /**
+     * Set the spawn queue drain budget (before load scaling).
+     */
+    public static void setSpawnBudget(int entities, long nanos) {
+        entitiesPerTick = Math.max(1, entities);
+        spawnBudgetNanos = Math.max(50_000L, nanos);
+    }
+
+    public static int getEntitiesPerTick() {
+        return Math.max(1, Math.round(entitiesPerTick * (1.0f - 0.75f * load)));
+    }
+
+    public static long getSpawnBudgetNanos() {
+        return Math.max(50_000L, Math.round(spawnBudgetNanos * (1.0 - 0.75 * load)));
+    }
+
+    // === Hyperspawn ===
+
+    /**
+     * Record a kill so busy regions respawn faster.
+     */
+    public static void recordKill(SpawnPoolManager.RegionPos region) {
+        recentKills.merge(region, 1, Integer::sum);
+    }
+
+    /**
+     * Player activity in a region, 0..1, from kills over the last one to two windows.
+     */
+    public static float getRegionPressure(SpawnPoolManager.RegionPos region) {
+        int kills = recentKills.getOrDefault(region, 0) + previousKills.getOrDefault(region, 0) / 2;
+        return Math.min(1.0f, kills / (float) HYPERSPAWN_KILLS);
+    }
+
+    /**
+     * Respawn delay for a point whose mobs just died: hyperspawn by region
+     * activity, then stretched by server load.
+     */
+    public static int getRespawnDelay(SpawnPoint point, SpawnPoolManager.RegionPos region) {
+        return scaleRespawnDelay(point.calculateRespawnDelay(getRegionPressure(region)));
+    }
+
+    // === Spawn queue ===
+
+    /**
+     * Queue a point for spawning, ordered by its distance to the nearest player.
+     * Duplicate requests for a queued point are ignored.
+     */
+    public static void requestSpawn(SpawnPoint point, double nearestPlayerDistSq, long currentTick) {
+        if (queuedPoints.add(point)) {
+            queue.add(new PendingSpawn(point, priorityOf(point), nearestPlayerDistSq, currentTick, nextSequence++));
+            peakQueueDepth = Math.max(peakQueueDepth, queue.size());
+        }
+    }
+
+    private static int priorityOf(SpawnPoint point) {
+        if (point.isProtected()) {
+            return PRIORITY_ELITE;
+        }
+        return switch (point.getType()) {
+            case POI_LAIR, NAMED_MOB -> PRIORITY_ELITE;
+            case POI_CAMP, POI_COMPOUND, POI_PATROL -> PRIORITY_POI;
+            case POI_WILDLIFE -> PRIORITY_WILDLIFE;
+            case SCATTER -> PRIORITY_SCATTER;
+        };
+    }
+
+    public static int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Hand queued points to the spawner, highest priority and nearest first,
+     * until the tick's entity or time budget runs out (at least one point per tick),
+     * within the entity caps.
+     *
+     * Packs spawn whole: a fresh point's pack is rolled first and its full size
+     * is what has to fit. A request that doesn't fit under the caps, or in what is
+     * left of the tick's entity budget, stays queued for a later tick.
+     */
+    public static void drainQueue(ServerLevel level, long currentTick) {
+        lastTickEntities = 0;
+        lastTickNanos = 0;
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+
+        Map<SpawnPoolManager.RegionPos, Integer> regionCounts = SpawnPoolManager.countSpawnedEntitiesByRegion();
+        int globalCount = 0;
+        for (int count : regionCounts.values()) {
+            globalCount += count;
+        }
+
+        int regionCap = getRegionEntityCap();
+        int globalCap = getGlobalEntityCap();
+        int entityBudget = getEntitiesPerTick();
+        long nanoBudget = getSpawnBudgetNanos();
+        int spawnedPoints = 0;
+        List<PendingSpawn> deferred = new ArrayList<>();
+
+        while (!queue.isEmpty()) {
+            if (spawnedPoints > 0
+                    && (lastTickEntities >= entityBudget || System.nanoTime() - startNanos >= nanoBudget)) {
+                break;
+            }
+
+            PendingSpawn pending = queue.peek();
+
+            // Overloaded: only elite and POI spawns go through, everything else waits
+            if (isOverloaded() && pending.priority() > PRIORITY_POI) {
+                deferredByLoad++;
+                break;
+            }
+
+            queue.poll();
+            SpawnPoint point = pending.point();
+
+            // The player may have left, or the point was rotated out, while it waited
+            if (point.getState() != SpawnPointState.ENTITY_SPAWNED || point.hasSpawnedEntities()) {
+                queuedPoints.remove(point);
+                continue;
+            }
+
+            SpawnPoolManager.RegionPos region = SpawnPoolManager.RegionPos.fromBlockPos(
+                point.getPosition(), SpawnPoolManager.REGION_SIZE);
+            int regionCount = regionCounts.getOrDefault(region, 0);
+            int room = Math.min(regionCap - regionCount, globalCap - globalCount);
+            int needed = point.hasVirtualMobs() ? point.getVirtualMobs().size() : point.rollPendingPack();
+            if (room < needed) {
+                deferredByCap++;
+                deferred.add(pending);
+                continue;
+            }
+            // The first point of a tick may overrun the budget, later ones wait for the next tick
+            if (spawnedPoints > 0 && needed > entityBudget - lastTickEntities) {
+                deferred.add(pending);
+                continue;
+            }
+
+            queuedPoints.remove(point);
+            long waited = currentTick - pending.enqueuedTick();
+            drainedRequests++;
+            totalWaitTicks += waited;
+            maxWaitTicks = Math.max(maxWaitTicks, waited);
+
+            int spawned = SpawnPoolManager.spawnQueuedPoint(point, level, needed);
+            regionCounts.put(region, regionCount + spawned);
+            globalCount += spawned;
+            lastTickEntities += spawned;
+            spawnedPoints++;
+        }
+        queue.addAll(deferred);
+
+        lastTickNanos = System.nanoTime() - startNanos;
+    }
+
+    public static long getDeferredByCap() {
+        return deferredByCap;
+    }
+
+    public static long getDeferredByLoad() {
+        return deferredByLoad;
+    }
+
+    public static int getPeakQueueDepth() {
+        return peakQueueDepth;
+    }
+
+    /**
+     * Average ticks a drained request spent in the queue.
+     */
+    public static double getAverageWaitTicks() {
+        return drainedRequests == 0 ? 0.0 : (double) totalWaitTicks / drainedRequests;
+    }
+
+    public static long getMaxWaitTicks() {
+        return maxWaitTicks;
+    }
+
+    public static int getLastTickEntities() {
+        return lastTickEntities;
+    }
+
+    public static long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public static void resetQueueStats() {
+        peakQueueDepth = queue.size();
+        drainedRequests = 0;
+        totalWaitTicks = 0;
+        maxWaitTicks = 0;
+    }
+
+    /**
+     * Drop all queued work and stats (world unload).
+     */
+    public static void clear() {
+        queue.clear();
+        queuedPoints.clear();
+        nextSequence = 0;
+        recentKills.clear();
+        previousKills.clear();
+        windowStartTick = 0;
+        msptAverage = 0.0;
+        load = 0.0f;
+        deferredByCap = 0;
+        deferredByLoad = 0;
+        resetQueueStats();
+        lastTickEntities = 0;
+        lastTickNanos = 0;
+        WowCraft.LOGGER.debug("Cleared SpawnGovernor data");
+    }
+}
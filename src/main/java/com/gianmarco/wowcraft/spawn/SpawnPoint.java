@@ -7,10 +7,12 @@ import com.gianmarco.wowcraft.zone.BiomeGroup;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.Mob;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -31,6 +33,8 @@ public class SpawnPoint {
     // Shared spawn: multiple possible mob types
     private List<MobOption> possibleMobs;
     private MobOption currentMobType;
+    private MobOption pendingPackMob;  // runtime only, see rollPendingPack
+    private int pendingPackSize;
 
     // Spawn count range
     private final int minMobs;
@@ -46,13 +50,16 @@ public class SpawnPoint {
 
     // Virtual mob state
     private final List<VirtualMobState> virtualMobs;
-    private final List<UUID> spawnedEntityIds;
+    private final List<UUID> spawnedEntityIds;  // Owned entities, loaded or not (persisted)
+    private final List<Mob> loadedEntities;  // Owned entities currently in the level (kept by entity load/unload events)
 
     // Respawn timing
     private long lastDeathTime;
     private int respawnDelayTicks;
     private boolean respawnTimerPaused;
+    private long respawnPausedAt = -1;  // runtime only, -1 if unknown (paused when loaded from disk)
     private boolean respawnEnabled;
+    private long scheduledRespawnTick = Long.MAX_VALUE;  // runtime only, see SpawnPoolManager.scheduleRespawn
 
     // Level/pack info
     private int targetLevel;
@@ -93,6 +100,7 @@ public class SpawnPoint {
         // Collections
         this.virtualMobs = new ArrayList<>();
         this.spawnedEntityIds = new ArrayList<>();
+        this.loadedEntities = new ArrayList<>();
 
         // Respawn
         this.respawnDelayTicks = 3600;  // 3 minutes default (180 seconds * 20 ticks)
@@ -103,7 +111,7 @@ public class SpawnPoint {
         // Level
         this.targetLevel = 1;
         this.levelBonus = 0;
-        this.packId = UUID.randomUUID();
+        this.packId = packIdFor(id);
 
         // Special flags
         this.isQuestMob = false;
@@ -172,6 +180,14 @@ public class SpawnPoint {
         return new ArrayList<>(spawnedEntityIds);
     }
 
+    public int getSpawnedEntityCount() {
+        return spawnedEntityIds.size();
+    }
+
+    public boolean ownsEntity(UUID entityId) {
+        return spawnedEntityIds.contains(entityId);
+    }
+
     public List<VirtualMobState> getVirtualMobs() {
         return new ArrayList<>(virtualMobs);
     }
@@ -196,6 +212,7 @@ public class SpawnPoint {
 
     public void setMobOptions(List<MobOption> options) {
         this.possibleMobs = new ArrayList<>(options);
+        clearPendingPack();
     }
 
     public void setTargetLevel(int level) {
@@ -257,6 +274,21 @@ public class SpawnPoint {
         return currentTick >= lastDeathTime + respawnDelayTicks;
     }
 
+    /**
+     * Tick the respawn timer runs out (now if the point never spawned).
+     */
+    public long getRespawnDueTick(long currentTick) {
+        return lastDeathTime == -1 ? currentTick : lastDeathTime + respawnDelayTicks;
+    }
+
+    long getScheduledRespawnTick() {
+        return scheduledRespawnTick;
+    }
+
+    void setScheduledRespawnTick(long tick) {
+        this.scheduledRespawnTick = tick;
+    }
+
     // === Mob Type Rolling ===
 
     /**
@@ -286,6 +318,29 @@ public class SpawnPoint {
         return currentMobType;
     }
 
+    /**
+     * Roll the mob type and size of the next fresh pack, unless one is already
+     * waiting. The roll is kept until the pack spawns, so a pack that waits for
+     * room under the entity caps still comes out whole and as rolled.
+     */
+    public int rollPendingPack() {
+        if (pendingPackMob == null) {
+            pendingPackMob = rollMobType();
+            pendingPackSize = pendingPackMob.rollCount(new Random());
+        }
+        return pendingPackSize;
+    }
+
+    MobOption getPendingPackMob() {
+        rollPendingPack();
+        return pendingPackMob;
+    }
+
+    void clearPendingPack() {
+        pendingPackMob = null;
+        pendingPackSize = 0;
+    }
+
     // === Virtual Mob Management ===
 
     /**
@@ -294,9 +349,9 @@ public class SpawnPoint {
     public void saveVirtualMobState(ServerLevel level) {
         virtualMobs.clear();
 
-        for (UUID entityId : spawnedEntityIds) {
-            Entity entity = level.getEntity(entityId);
-            if (entity instanceof Mob mob) {
+        // Owned entities that are unloaded with their chunk can't be read; they stay on disk
+        for (Mob mob : loadedEntities) {
+            if (!mob.isRemoved()) {
                 MobData mobData = mob.getAttached(PlayerDataRegistry.MOB_DATA);
 
                 ResourceLocation mobTypeLocation = net.minecraft.core.registries.BuiltInRegistries.ENTITY_TYPE
@@ -322,13 +377,22 @@ public class SpawnPoint {
         virtualMobs.clear();
     }
 
+    /**
+     * Drop the first count virtual mobs (the ones that were turned back into entities).
+     */
+    public void removeVirtualMobs(int count) {
+        virtualMobs.subList(0, Math.min(count, virtualMobs.size())).clear();
+    }
+
     public void clearSpawnedEntityIds() {
         spawnedEntityIds.clear();
+        loadedEntities.clear();
     }
 
     public void setSpawnedEntityIds(List<UUID> ids) {
         spawnedEntityIds.clear();
         spawnedEntityIds.addAll(ids);
+        loadedEntities.removeIf(mob -> !spawnedEntityIds.contains(mob.getUUID()));
     }
 
     public void addSpawnedEntityId(UUID entityId) {
@@ -337,18 +401,51 @@ public class SpawnPoint {
 
     public void removeSpawnedEntityId(UUID entityId) {
         spawnedEntityIds.remove(entityId);
+        loadedEntities.removeIf(mob -> mob.getUUID().equals(entityId));
+    }
+
+    // === Loaded Entity References ===
+
+    /**
+     * An owned entity entered the level.
+     */
+    public void attachEntity(Mob mob) {
+        if (!loadedEntities.contains(mob)) {
+            loadedEntities.add(mob);
+        }
+    }
+
+    /**
+     * An owned entity left the level but still exists (unloaded with its chunk).
+     */
+    public void detachEntity(Mob mob) {
+        loadedEntities.remove(mob);
+    }
+
+    /**
+     * Owned entities currently in the level.
+     */
+    public List<Mob> getLoadedEntities() {
+        return new ArrayList<>(loadedEntities);
     }
 
     // === Respawn Timer Management ===
 
-    public void pauseRespawnTimer() {
+    public void pauseRespawnTimer(long currentTick) {
+        if (respawnTimerPaused) {
+            return;
+        }
         this.respawnTimerPaused = true;
+        this.respawnPausedAt = currentTick;
     }
 
     public void resumeRespawnTimer(long currentTick) {
+        // Shift the last death by the paused period so the timer picks up where it stopped
+        if (lastDeathTime != -1 && respawnPausedAt >= 0) {
+            lastDeathTime += currentTick - respawnPausedAt;
+        }
         this.respawnTimerPaused = false;
-        // Adjust last death time to account for paused period
-        // This prevents instant respawn when resuming
+        this.respawnPausedAt = -1;
     }
 
     public void markMobDead(long currentTick) {
@@ -401,6 +498,215 @@ public class SpawnPoint {
         }
     }
 
+    /**
+     * Pack id used for the mobs of a spawn point.
+     * Derived from the point id so compact storage doesn't need to keep it.
+     */
+    public static UUID packIdFor(UUID spawnPointId) {
+        return new UUID(spawnPointId.getMostSignificantBits() ^ 0x5041434B49440000L,
+            spawnPointId.getLeastSignificantBits());
+    }
+
+    // === Compact storage (see SpawnRegionBucket) ===
+
+    List<MobOption> getMobOptions() {
+        return possibleMobs;
+    }
+
+    int getCurrentMobIndex() {
+        return currentMobType != null ? possibleMobs.indexOf(currentMobType) : -1;
+    }
+
+    int getMinMobs() {
+        return minMobs;
+    }
+
+    int getMaxMobs() {
+        return maxMobs;
+    }
+
+    long getLastDeathTime() {
+        return lastDeathTime;
+    }
+
+    /**
+     * Ticks left on the respawn timer, 0 if ready or never spawned.
+     * A paused timer counts up to the tick it was paused at.
+     */
+    int getRespawnRemaining(long currentTick) {
+        if (lastDeathTime == -1) {
+            return 0;
+        }
+        long now = respawnTimerPaused && respawnPausedAt >= 0 ? respawnPausedAt : currentTick;
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, lastDeathTime + respawnDelayTicks - now));
+    }
+
+    int getRespawnDelay() {
+        return respawnDelayTicks;
+    }
+
+    boolean isRespawnEnabled() {
+        return respawnEnabled;
+    }
+
+    /**
+     * Rebuild a full spawn point from compact storage.
+     */
+    static SpawnPoint restore(
+            UUID id,
+            BlockPos position,
+            SpawnPointType type,
+            BiomeGroup biome,
+            SpawnHostility hostility,
+            List<MobOption> possibleMobs,
+            int currentMobIndex,
+            int minMobs,
+            int maxMobs,
+            SpawnPointState state,
+            boolean activeInRotation,
+            boolean isProtected,
+            List<VirtualMobState> virtualMobs,
+            long lastDeathTime,
+            int respawnDelayTicks,
+            boolean respawnTimerPaused,
+            long respawnPausedAt,
+            boolean respawnEnabled,
+            int targetLevel,
+            int levelBonus,
+            boolean isQuestMob) {
+        SpawnPoint point = new SpawnPoint(id, position, type, biome, hostility, possibleMobs, minMobs, maxMobs);
+        if (currentMobIndex >= 0 && currentMobIndex < point.possibleMobs.size()) {
+            point.currentMobType = point.possibleMobs.get(currentMobIndex);
+        }
+        point.state = state;
+        point.activeInRotation = activeInRotation;
+        point.isProtected = isProtected;
+        point.virtualMobs.addAll(virtualMobs);
+        point.lastDeathTime = lastDeathTime;
+        point.respawnDelayTicks = respawnDelayTicks;
+        point.respawnTimerPaused = respawnTimerPaused;
+        point.respawnPausedAt = respawnTimerPaused ? respawnPausedAt : -1;
+        point.respawnEnabled = respawnEnabled;
+        point.targetLevel = targetLevel;
+        point.levelBonus = levelBonus;
+        point.isQuestMob = isQuestMob;
+        return point;
+    }
+
+    // === Persistence ===
+
+    /**
+     * Write this spawn point to a region file.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+        out.writeLong(position.asLong());
+        out.writeUTF(type.name());
+        out.writeUTF(biome.name());
+        out.writeUTF(hostility.name());
+
+        out.writeInt(possibleMobs.size());
+        for (MobOption option : possibleMobs) {
+            out.writeUTF(option.mobType().toString());
+            out.writeInt(option.weight());
+            out.writeInt(option.minCount());
+            out.writeInt(option.maxCount());
+        }
+        out.writeInt(currentMobType != null ? possibleMobs.indexOf(currentMobType) : -1);
+        out.writeInt(minMobs);
+        out.writeInt(maxMobs);
+
+        out.writeUTF(state.name());
+        out.writeBoolean(activeInRotation);
+        out.writeBoolean(isProtected);
+
+        out.writeInt(virtualMobs.size());
+        for (VirtualMobState virtual : virtualMobs) {
+            virtual.writeTo(out);
+        }
+        out.writeInt(spawnedEntityIds.size());
+        for (UUID entityId : spawnedEntityIds) {
+            out.writeLong(entityId.getMostSignificantBits());
+            out.writeLong(entityId.getLeastSignificantBits());
+        }
+
+        out.writeLong(lastDeathTime);
+        out.writeInt(respawnDelayTicks);
+        out.writeBoolean(respawnTimerPaused);
+        out.writeBoolean(respawnEnabled);
+
+        out.writeInt(targetLevel);
+        out.writeInt(levelBonus);
+        out.writeLong(packId.getMostSignificantBits());
+        out.writeLong(packId.getLeastSignificantBits());
+
+        out.writeBoolean(isQuestMob);
+        out.writeBoolean(hasNamedMob);
+        if (hasNamedMob) {
+            out.writeUTF(namedMobName != null ? namedMobName : "");
+        }
+    }
+
+    /**
+     * Read a spawn point written by {@link #writeTo}.
+     */
+    public static SpawnPoint readFrom(DataInput in) throws IOException {
+        UUID id = new UUID(in.readLong(), in.readLong());
+        BlockPos position = BlockPos.of(in.readLong());
+        SpawnPointType type = SpawnPointType.valueOf(in.readUTF());
+        BiomeGroup biome = BiomeGroup.valueOf(in.readUTF());
+        SpawnHostility hostility = SpawnHostility.valueOf(in.readUTF());
+
+        int optionCount = in.readInt();
+        List<MobOption> options = new ArrayList<>(optionCount);
+        for (int i = 0; i < optionCount; i++) {
+            options.add(new MobOption(
+                ResourceLocation.parse(in.readUTF()),
+                in.readInt(),
+                in.readInt(),
+                in.readInt()));
+        }
+        int currentIndex = in.readInt();
+        int minMobs = in.readInt();
+        int maxMobs = in.readInt();
+
+        SpawnPoint point = new SpawnPoint(id, position, type, biome, hostility, options, minMobs, maxMobs);
+        if (currentIndex >= 0 && currentIndex < options.size()) {
+            point.currentMobType = point.possibleMobs.get(currentIndex);
+        }
+
+        point.state = SpawnPointState.valueOf(in.readUTF());
+        point.activeInRotation = in.readBoolean();
+        point.isProtected = in.readBoolean();
+
+        int virtualCount = in.readInt();
+        for (int i = 0; i < virtualCount; i++) {
+            point.virtualMobs.add(VirtualMobState.readFrom(in));
+        }
+        int entityCount = in.readInt();
+        for (int i = 0; i < entityCount; i++) {
+            point.spawnedEntityIds.add(new UUID(in.readLong(), in.readLong()));
+        }
+
+        point.lastDeathTime = in.readLong();
+        point.respawnDelayTicks = in.readInt();
+        point.respawnTimerPaused = in.readBoolean();
+        point.respawnEnabled = in.readBoolean();
+
+        point.targetLevel = in.readInt();
+        point.levelBonus = in.readInt();
+        point.packId = new UUID(in.readLong(), in.readLong());
+
+        point.isQuestMob = in.readBoolean();
+        point.hasNamedMob = in.readBoolean();
+        if (point.hasNamedMob) {
+            point.namedMobName = in.readUTF();
+        }
+
+        return point;
+    }
+
     @Override
     public String toString() {
         return "SpawnPoint{" +
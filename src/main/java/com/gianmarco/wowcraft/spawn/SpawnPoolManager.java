@@ -1,11 +1,17 @@
 package com.gianmarco.wowcraft.spawn;
 
 import com.gianmarco.wowcraft.WowCraft;
+import com.gianmarco.wowcraft.core.TimingWheel;
+import com.gianmarco.wowcraft.entity.MobData;
+import com.gianmarco.wowcraft.playerclass.PlayerDataRegistry;
+import com.gianmarco.wowcraft.world.PlayerSpatialIndex;
 import com.gianmarco.wowcraft.zone.BiomeGroup;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.Mob;
 import net.minecraft.world.level.ChunkPos;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,32 +22,58 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class SpawnPoolManager {
 
-    // All spawn points (pool)
+    // Live spawn points by ID (compact points in SpawnRegionBucket aren't in here)
     private static final Map<UUID, SpawnPoint> spawnPointPool = new ConcurrentHashMap<>();
 
-    // Currently active spawn points (75% of pool)
-    private static final Set<UUID> activeSpawnPoints = ConcurrentHashMap.newKeySet();
-
-    // Spatial index for fast lookups
-    private static final Map<ChunkPos, List<SpawnPoint>> chunkSpawnMap = new ConcurrentHashMap<>();
+    // Primary index by generation region, so region queries never touch the rest of the pool
+    private static final Map<RegionPos, SpawnRegionBucket> regionSpawnMap = new ConcurrentHashMap<>();
 
     // Track which regions have been generated
     private static final Set<RegionPos> generatedRegions = ConcurrentHashMap.newKeySet();
 
+    // Region persistence - regions are read from disk when a chunk or player comes near them
+    private static SpawnRegionStorage storage;
+    private static final Set<RegionPos> loadedRegions = ConcurrentHashMap.newKeySet();
+    private static final Set<RegionPos> dirtyRegions = ConcurrentHashMap.newKeySet();
+
+    // Regions whose points were all sent dormant/inactive and have had no player nearby since
+    private static final Set<RegionPos> dormantRegions = ConcurrentHashMap.newKeySet();
+
+    // Regions that need evaluating: near a player, or changed while settled
+    private static final Set<RegionPos> awakeRegions = ConcurrentHashMap.newKeySet();
+
+    // Current evaluation pass, nearest regions first, drained a slice per tick
+    private static final Deque<RegionPos> evaluationQueue = new ArrayDeque<>();
+    private static long lastPassTick = Long.MIN_VALUE;
+    private static long lastKnownTick = 0;  // game time of the last state update, for packing/unpacking timers
+
+    // Live points waiting on a respawn, filed by due tick; compact points keep their batch timers
+    private static final TimingWheel<SpawnPoint> respawnWheel = new TimingWheel<>();
+
+    // Region grid used for generation, activation and rotation (300x300 blocks)
+    public static final int REGION_SIZE = 300;
+
     // Lazy spawning config
     public static final int SPAWN_ENTITY_DISTANCE = 128;  // 8 chunks
     public static final int UNLOAD_ENTITY_DISTANCE = 160;  // 10 chunks
     public static final int DEACTIVATE_POINT_DISTANCE = 192;  // 12 chunks
-    public static final int CHECK_INTERVAL_TICKS = 100;  // 5 seconds
+    public static final int EVALUATION_PASS_TICKS = 10;  // near regions re-evaluated twice a second
+    public static final long DEFAULT_EVALUATION_BUDGET_NANOS = 1_000_000L;  // 1 ms of state updates per tick
+    public static final int SPAWN_RETRY_TICKS = 40;  // a spawn that hit a cap or found no ground tries again after this
 
-    // Rotation config
-    private static final float BASE_ACTIVE_PERCENTAGE = 0.75f;  // 75% active
+    // Region residency config
+    public static final int REGION_LOAD_DISTANCE = DEACTIVATE_POINT_DISTANCE + 64;  // load before points can wake
+    public static final int REGION_UNLOAD_DISTANCE = REGION_LOAD_DISTANCE + 128;  // hysteresis so edges don't thrash
+
+    // How long state evaluation may run each tick (see setEvaluationBudgetNanos)
+    private static long evaluationBudgetNanos = DEFAULT_EVALUATION_BUDGET_NANOS;
 
     /**
      * Check if a region has been generated.
      */
     public static boolean isRegionGenerated(BlockPos pos) {
-        RegionPos region = RegionPos.fromBlockPos(pos, 300);
+        RegionPos region = RegionPos.fromBlockPos(pos, REGION_SIZE);
+        ensureRegionLoaded(region);
         return generatedRegions.contains(region);
     }
 
@@ -49,49 +81,163 @@ public class SpawnPoolManager {
      * Mark a region as generated.
      */
     public static void markRegionGenerated(BlockPos pos) {
-        RegionPos region = RegionPos.fromBlockPos(pos, 300);
+        RegionPos region = RegionPos.fromBlockPos(pos, REGION_SIZE);
+        ensureRegionLoaded(region);
         generatedRegions.add(region);
+        dirtyRegions.add(region);
+    }
+
+    /**
+     * Attach region storage for a level's world folder.
+     */
+    public static void initStorage(ServerLevel level) {
+        if (storage == null) {
+            storage = SpawnRegionStorage.open(level);
+        }
+    }
+
+    /**
+     * Load every region a chunk overlaps (a 300-block region isn't chunk aligned).
+     */
+    public static void ensureRegionsLoadedForChunk(ChunkPos chunk) {
+        RegionPos min = RegionPos.fromBlockPos(new BlockPos(chunk.getMinBlockX(), 0, chunk.getMinBlockZ()), REGION_SIZE);
+        RegionPos max = RegionPos.fromBlockPos(new BlockPos(chunk.getMaxBlockX(), 0, chunk.getMaxBlockZ()), REGION_SIZE);
+
+        for (int x = min.getX(); x <= max.getX(); x++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                ensureRegionLoaded(new RegionPos(x, z));
+            }
+        }
+    }
+
+    /**
+     * Make sure a region's saved spawn points are in memory before anything reads or adds to it.
+     */
+    public static void ensureRegionLoaded(RegionPos region) {
+        if (storage == null || !loadedRegions.add(region)) {
+            return;
+        }
+
+        SpawnRegionStorage.RegionData data = storage.load(region);
+        if (data == null) {
+            return;
+        }
+
+        if (data.generated()) {
+            generatedRegions.add(region);
+        }
+
+        // Entities spawned before the restart reattach through onEntityLoad as their chunks load
+        for (SpawnPoint point : data.points()) {
+            indexSpawnPoint(point);
+        }
+
+        // Most of a freshly loaded region is idle; pack it straight away
+        SpawnRegionBucket bucket = regionSpawnMap.get(region);
+        if (bucket != null) {
+            forgetPacked(bucket.compactIdle(lastKnownTick));
+        }
     }
 
     /**
      * Add a spawn point to the pool.
      */
     public static void addSpawnPoint(SpawnPoint point) {
-        spawnPointPool.put(point.getId(), point);
+        RegionPos region = RegionPos.fromBlockPos(point.getPosition(), REGION_SIZE);
+        ensureRegionLoaded(region);
 
-        // Add to spatial index
-        ChunkPos chunk = new ChunkPos(point.getPosition());
-        chunkSpawnMap.computeIfAbsent(chunk, k -> new ArrayList<>()).add(point);
+        indexSpawnPoint(point);
+        dirtyRegions.add(region);
 
         WowCraft.LOGGER.debug("Added spawn point {} at {} (type: {}, hostility: {})",
             point.getId(), point.getPosition(), point.getType(), point.getHostility());
     }
 
+    private static void indexSpawnPoint(SpawnPoint point) {
+        spawnPointPool.put(point.getId(), point);
+
+        RegionPos region = RegionPos.fromBlockPos(point.getPosition(), REGION_SIZE);
+        regionSpawnMap.computeIfAbsent(region, k -> new SpawnRegionBucket()).addLive(point);
+        wakeRegion(region);
+        scheduleRespawn(point, lastKnownTick);
+    }
+
     /**
-     * Get a spawn point by ID.
+     * Drop the ID lookup for points that just moved into compact storage.
+     */
+    private static void forgetPacked(List<SpawnPoint> packed) {
+        for (SpawnPoint point : packed) {
+            spawnPointPool.remove(point.getId());
+        }
+    }
+
+    /**
+     * Add the ID lookup for points that were just unpacked.
+     */
+    private static void rememberPromoted(List<SpawnPoint> promoted) {
+        for (SpawnPoint point : promoted) {
+            spawnPointPool.put(point.getId(), point);
+            scheduleRespawn(point, lastKnownTick);
+        }
+    }
+
+    private static void markDirty(SpawnPoint point) {
+        dirtyRegions.add(RegionPos.fromBlockPos(point.getPosition(), REGION_SIZE));
+    }
+
+    /**
+     * Queue a settled region for re-evaluation after one of its points changed.
+     */
+    private static void wakeRegion(RegionPos region) {
+        dormantRegions.remove(region);
+        awakeRegions.add(region);
+    }
+
+    /**
+     * Get a live spawn point by ID.
+     * Compact points have no entities, so anything a mob can point back to is found here.
      */
     public static SpawnPoint getSpawnPoint(UUID id) {
         return spawnPointPool.get(id);
     }
 
     /**
-     * Get all spawn points.
+     * Number of loaded spawn points, live and compact.
+     */
+    public static int getSpawnPointCount() {
+        int count = 0;
+        for (SpawnRegionBucket bucket : regionSpawnMap.values()) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    /**
+     * Number of loaded spawn points held in compact storage.
      */
-    public static Collection<SpawnPoint> getAllSpawnPoints() {
-        return spawnPointPool.values();
+    public static int getCompactSpawnPointCount() {
+        int count = 0;
+        for (SpawnRegionBucket bucket : regionSpawnMap.values()) {
+            count += bucket.getCompactCount();
+        }
+        return count;
     }
 
     /**
-     * Get spawn points near a chunk.
+     * Get spawn points in a chunk, unpacking any compact ones.
      */
-    public static List<SpawnPoint> getSpawnPointsNearChunk(ChunkPos chunk, int radiusChunks) {
+    public static List<SpawnPoint> getSpawnPointsInChunk(ChunkPos chunk) {
+        // A 300-block region isn't chunk aligned, so a chunk can touch up to four regions
+        RegionPos min = RegionPos.fromBlockPos(new BlockPos(chunk.getMinBlockX(), 0, chunk.getMinBlockZ()), REGION_SIZE);
+        RegionPos max = RegionPos.fromBlockPos(new BlockPos(chunk.getMaxBlockX(), 0, chunk.getMaxBlockZ()), REGION_SIZE);
         List<SpawnPoint> result = new ArrayList<>();
 
-        for (int x = -radiusChunks; x <= radiusChunks; x++) {
-            for (int z = -radiusChunks; z <= radiusChunks; z++) {
-                ChunkPos nearbyChunk = new ChunkPos(chunk.x + x, chunk.z + z);
-                List<SpawnPoint> points = chunkSpawnMap.get(nearbyChunk);
-                if (points != null) {
+        for (int x = min.getX(); x <= max.getX(); x++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                SpawnRegionBucket bucket = regionSpawnMap.get(new RegionPos(x, z));
+                if (bucket != null) {
+                    List<SpawnPoint> points = bucket.promoteInChunk(chunk, lastKnownTick);
+                    rememberPromoted(points);
                     result.addAll(points);
                 }
             }
@@ -101,40 +247,21 @@ public class SpawnPoolManager {
     }
 
     /**
-     * Get spawn points in a region.
+     * Get spawn points in a region, unpacking any compact ones.
+     * They go back into compact storage the next time the region is evaluated.
      */
     public static List<SpawnPoint> getSpawnPointsInRegion(RegionPos region) {
-        List<SpawnPoint> result = new ArrayList<>();
-        BlockPos center = region.getCenterBlockPos(300);
-
-        WowCraft.LOGGER.info("Looking for spawn points in region {} - center: {}, checking {} total points",
-            region, center, spawnPointPool.size());
-
-        int halfRegion = 150;  // Region is 300x300, so ±150 from center
-        int found = 0;
-        int missed = 0;
-
-        for (SpawnPoint point : spawnPointPool.values()) {
-            int dx = Math.abs(point.getPosition().getX() - center.getX());
-            int dz = Math.abs(point.getPosition().getZ() - center.getZ());
-
-            // Use rectangular bounds check instead of circular distance
-            if (dx <= halfRegion && dz <= halfRegion) {
-                result.add(point);
-                if (found < 3) {
-                    WowCraft.LOGGER.info("  Found point at {} (dx: {}, dz: {})",
-                        point.getPosition(), dx, dz);
-                }
-                found++;
-            } else if (missed < 3 && (dx <= halfRegion * 2 || dz <= halfRegion * 2)) {
-                WowCraft.LOGGER.info("  MISSED point at {} (dx: {}, dz: {}, outside bounds)",
-                    point.getPosition(), dx, dz);
-                missed++;
-            }
+        SpawnRegionBucket bucket = regionSpawnMap.get(region);
+        if (bucket == null) {
+            return new ArrayList<>();
         }
 
-        WowCraft.LOGGER.info("Found {} spawn points in region {} within rectangular bounds", result.size(), region);
-        return result;
+        List<SpawnPoint> points = bucket.promoteAll(lastKnownTick);
+        rememberPromoted(points);
+        wakeRegion(region);
+
+        WowCraft.LOGGER.debug("Found {} spawn points in region {}", points.size(), region);
+        return new ArrayList<>(points);
     }
 
     /**
@@ -143,8 +270,8 @@ public class SpawnPoolManager {
     public static void activateRegionSpawnPoints(RegionPos region, float percentage) {
         List<SpawnPoint> regionPoints = getSpawnPointsInRegion(region);
 
-        WowCraft.LOGGER.info("Activating spawn points in region {} - found {} total points in pool, {} in region",
-            region, spawnPointPool.size(), regionPoints.size());
+        WowCraft.LOGGER.debug("Activating spawn points in region {} - {} in region",
+            region, regionPoints.size());
 
         // Separate points into always-active and rotatable
         List<SpawnPoint> alwaysActive = new ArrayList<>();
@@ -179,8 +306,9 @@ public class SpawnPoolManager {
      * Activate a spawn point.
      */
     private static void activateSpawnPoint(SpawnPoint point) {
-        activeSpawnPoints.add(point.getId());
         point.setActiveInRotation(true);
+        wakeRegion(RegionPos.fromBlockPos(point.getPosition(), REGION_SIZE));
+        markDirty(point);
 
         // Roll which mob type to spawn at this point
         point.rollMobType();
@@ -192,9 +320,10 @@ public class SpawnPoolManager {
      * Deactivate a spawn point (for rotation).
      */
     private static void deactivateSpawnPoint(SpawnPoint point) {
-        activeSpawnPoints.remove(point.getId());
         point.setActiveInRotation(false);
         point.setRespawnEnabled(false);
+        wakeRegion(RegionPos.fromBlockPos(point.getPosition(), REGION_SIZE));
+        markDirty(point);
 
         // Don't despawn entities, just stop respawning
         WowCraft.LOGGER.debug("Deactivated spawn point {} (entities remain)", point.getId());
@@ -222,8 +351,8 @@ public class SpawnPoolManager {
             }
         }
 
-        // Activate new random selection (75%)
-        int targetActive = (int)(rotatable.size() * BASE_ACTIVE_PERCENTAGE);
+        // Activate new random selection (75%, less when the server is busy)
+        int targetActive = (int)(rotatable.size() * SpawnGovernor.getActivePercentage());
         List<SpawnPoint> shuffled = new ArrayList<>(rotatable);
         Collections.shuffle(shuffled);
 
@@ -235,35 +364,189 @@ public class SpawnPoolManager {
             region, targetActive, rotatable.size());
     }
 
+    /**
+     * Re-roll the active scatter points of every loaded region.
+     */
+    public static void rotateLoadedRegions() {
+        for (RegionPos region : new ArrayList<>(regionSpawnMap.keySet())) {
+            rotateRegionSpawnPoints(region);
+        }
+    }
+
+    /**
+     * Live entity count per loaded region, for the governor's caps.
+     */
+    static Map<RegionPos, Integer> countSpawnedEntitiesByRegion() {
+        Map<RegionPos, Integer> counts = new HashMap<>();
+        for (Map.Entry<RegionPos, SpawnRegionBucket> entry : regionSpawnMap.entrySet()) {
+            int count = 0;
+            for (SpawnPoint point : entry.getValue().getLivePoints()) {
+                count += point.getSpawnedEntityCount();
+            }
+            if (count > 0) {
+                counts.put(entry.getKey(), count);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Set how long state evaluation may run each tick.
+     */
+    public static void setEvaluationBudgetNanos(long budgetNanos) {
+        evaluationBudgetNanos = Math.max(50_000L, budgetNanos);
+    }
+
+    public static long getEvaluationBudgetNanos() {
+        return evaluationBudgetNanos;
+    }
+
+    public static int getLoadedRegionCount() {
+        return regionSpawnMap.size();
+    }
+
+    public static int getAwakeRegionCount() {
+        return awakeRegions.size();
+    }
+
+    public static int getEvaluationQueueDepth() {
+        return evaluationQueue.size();
+    }
+
     /**
      * Update spawn point states based on player distance (lazy spawning).
-     * Called every 100 ticks (5 seconds).
+     * Called every tick. Every EVALUATION_PASS_TICKS the regions near players are
+     * queued nearest-first; the queue is then drained a slice at a time until the
+     * per-tick budget runs out, so no tick pays for the whole pool.
      */
-    public static void updateSpawnPointStates(ServerLevel level) {
+    public static void tickSpawnPointStates(ServerLevel level) {
+        long startNanos = System.nanoTime();
         long currentTick = level.getGameTime();
+        lastKnownTick = currentTick;
+        discardStaleMobs();
+        PlayerSpatialIndex players = PlayerSpatialIndex.get(level);
 
-        for (SpawnPoint point : spawnPointPool.values()) {
+        if (evaluationQueue.isEmpty() && currentTick - lastPassTick >= EVALUATION_PASS_TICKS) {
+            startEvaluationPass(level, players);
+            lastPassTick = currentTick;
+        }
+
+        // Always make progress on at least one region, then stop once the slice is used up
+        int evaluated = 0;
+        while (!evaluationQueue.isEmpty()) {
+            if (evaluated > 0 && System.nanoTime() - startNanos >= evaluationBudgetNanos) {
+                break;
+            }
+            evaluateRegion(evaluationQueue.poll(), level, players, currentTick);
+            evaluated++;
+        }
+
+        // Respawns due this tick; nothing is touched when nothing is due
+        respawnWheel.advance(currentTick, point -> fireRespawn(point, players, currentTick));
+    }
+
+    /**
+     * Queue every region near a player (plus any region woken by a change), nearest first.
+     */
+    private static void startEvaluationPass(ServerLevel level, PlayerSpatialIndex players) {
+        for (var player : level.players()) {
+            BlockPos pos = player.blockPosition();
+
+            // Players can walk into regions whose chunks were already loaded; pull those from disk too
+            loadRegionsAround(pos, REGION_LOAD_DISTANCE);
+
+            int minX = Math.floorDiv(pos.getX() - DEACTIVATE_POINT_DISTANCE, REGION_SIZE);
+            int maxX = Math.floorDiv(pos.getX() + DEACTIVATE_POINT_DISTANCE, REGION_SIZE);
+            int minZ = Math.floorDiv(pos.getZ() - DEACTIVATE_POINT_DISTANCE, REGION_SIZE);
+            int maxZ = Math.floorDiv(pos.getZ() + DEACTIVATE_POINT_DISTANCE, REGION_SIZE);
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    RegionPos region = new RegionPos(x, z);
+                    if (regionSpawnMap.containsKey(region)) {
+                        awakeRegions.add(region);
+                    }
+                }
+            }
+        }
+
+        List<RegionPos> pass = new ArrayList<>(awakeRegions);
+        Map<RegionPos, Double> distances = new HashMap<>();
+        for (RegionPos region : pass) {
+            int minX = region.getX() * REGION_SIZE;
+            int minZ = region.getZ() * REGION_SIZE;
+            distances.put(region, players.nearestDistanceSqToArea(minX, minZ, minX + REGION_SIZE - 1, minZ + REGION_SIZE - 1,
+                DEACTIVATE_POINT_DISTANCE));
+        }
+        pass.sort(Comparator.comparingDouble(distances::get));
+
+        evaluationQueue.addAll(pass);
+    }
+
+    /**
+     * Evaluate one region bucket.
+     * A region with no player in range goes dormant as a whole and drops out of
+     * the awake set; otherwise each point checks its own distance.
+     * Compact points are advanced in bulk and only unpacked when a player gets
+     * within entity range; idle live points are packed again afterwards.
+     */
+    private static void evaluateRegion(RegionPos region, ServerLevel level, PlayerSpatialIndex players, long currentTick) {
+        SpawnRegionBucket bucket = regionSpawnMap.get(region);
+        if (bucket == null) {
+            awakeRegions.remove(region);
+            return;
+        }
+
+        boolean compactChanged = bucket.advanceTimers(currentTick);
+
+        int minX = region.getX() * REGION_SIZE;
+        int minZ = region.getZ() * REGION_SIZE;
+        if (!players.anyWithin(minX, minZ, minX + REGION_SIZE - 1, minZ + REGION_SIZE - 1, DEACTIVATE_POINT_DISTANCE)) {
+            // Nobody near this bucket - settle it once, then skip it until a player comes back
+            if (dormantRegions.add(region)) {
+                for (SpawnPoint point : bucket.getLivePoints()) {
+                    SpawnPointState desiredState = calculateDesiredState(point, Double.MAX_VALUE);
+                    if (point.getState() != desiredState) {
+                        transitionSpawnPointState(point, desiredState, level, currentTick, Double.MAX_VALUE);
+                    }
+                }
+                compactChanged |= bucket.updateCompactStates(null, currentTick, new ArrayList<>());
+                forgetPacked(bucket.compactIdle(currentTick));
+            }
+            if (compactChanged) {
+                dirtyRegions.add(region);
+            }
+            awakeRegions.remove(region);
+            return;
+        }
+
+        dormantRegions.remove(region);
+
+        // Unpacked points land in the live list and are handled with the rest below
+        List<SpawnPoint> promoted = new ArrayList<>();
+        compactChanged |= bucket.updateCompactStates(players, currentTick, promoted);
+        rememberPromoted(promoted);
+        if (compactChanged) {
+            dirtyRegions.add(region);
+        }
+
+        for (SpawnPoint point : bucket.getLivePoints()) {
             // Get distance to nearest player
-            double nearestDistSq = getNearestPlayerDistanceSq(level, point.getPosition());
+            double nearestDistSq = players.nearestDistanceSq(point.getPosition(), DEACTIVATE_POINT_DISTANCE);
 
             // Calculate desired state
             SpawnPointState desiredState = calculateDesiredState(point, nearestDistSq);
 
             // Transition if needed
             if (point.getState() != desiredState) {
-                transitionSpawnPointState(point, desiredState, level, currentTick);
-            }
-
-            // Tick respawn timer for active states
-            if (point.getState() != SpawnPointState.DORMANT &&
-                point.getState() != SpawnPointState.INACTIVE) {
-                tickRespawnTimer(point, level, currentTick);
+                transitionSpawnPointState(point, desiredState, level, currentTick, nearestDistSq);
             }
         }
+
+        forgetPacked(bucket.compactIdle(currentTick));
     }
 
     public static void applyRoadSafeZoneForChunk(ServerLevel level, ChunkPos chunk) {
-        List<SpawnPoint> points = getSpawnPointsNearChunk(chunk, 0);
+        List<SpawnPoint> points = getSpawnPointsInChunk(chunk);
         for (SpawnPoint point : points) {
             if (!SafeZoneDetector.canBeAffectedBySafeZone(point)) {
                 continue;
@@ -279,33 +562,12 @@ public class SpawnPoolManager {
                     point.setHostility(SpawnHostility.NEUTRAL_DEFENSIVE);
                     List<MobOption> neutralMobs = MobOptionProvider.getNeutralMobs(point.getBiome());
                     point.setMobOptions(neutralMobs);
+                    markDirty(point);
                 }
             }
         }
     }
 
-    /**
-     * Get squared distance to nearest player.
-     */
-    private static double getNearestPlayerDistanceSq(ServerLevel level, BlockPos pos) {
-        List<ServerPlayer> players = level.players();
-
-        if (players.isEmpty()) {
-            return Double.MAX_VALUE;
-        }
-
-        double minDistSq = Double.MAX_VALUE;
-
-        for (ServerPlayer player : players) {
-            double distSq = player.blockPosition().distSqr(pos);
-            if (distSq < minDistSq) {
-                minDistSq = distSq;
-            }
-        }
-
-        return minDistSq;
-    }
-
     /**
      * Calculate desired state based on distance.
      */
@@ -339,30 +601,32 @@ public class SpawnPoolManager {
             SpawnPoint point,
             SpawnPointState newState,
             ServerLevel level,
-            long currentTick) {
+            long currentTick,
+            double nearestPlayerDistSq) {
 
         SpawnPointState oldState = point.getState();
 
         switch (newState) {
-            case DORMANT -> transitionToDormant(point, level);
+            case DORMANT -> transitionToDormant(point, level, currentTick);
             case VIRTUAL_SPAWNED -> transitionToVirtual(point, level, currentTick);
-            case VIRTUAL_DEAD -> transitionToVirtualDead(point, level);
-            case ENTITY_SPAWNED -> transitionToEntitySpawned(point, level, currentTick);
+            case VIRTUAL_DEAD -> transitionToVirtualDead(point, level, currentTick);
+            case ENTITY_SPAWNED -> transitionToEntitySpawned(point, currentTick, nearestPlayerDistSq);
             case INACTIVE -> transitionToInactive(point, level);
         }
 
         point.setState(newState);
+        markDirty(point);
 
         WowCraft.LOGGER.debug("Spawn point {} transitioned {} -> {}",
             point.getId(), oldState, newState);
     }
 
-    private static void transitionToDormant(SpawnPoint point, ServerLevel level) {
+    private static void transitionToDormant(SpawnPoint point, ServerLevel level, long currentTick) {
         if (point.hasSpawnedEntities()) {
             point.saveVirtualMobState(level);
             unloadEntities(point, level);
         }
-        point.pauseRespawnTimer();
+        point.pauseRespawnTimer(currentTick);
     }
 
     private static void transitionToVirtual(SpawnPoint point, ServerLevel level, long currentTick) {
@@ -376,16 +640,26 @@ public class SpawnPoolManager {
         }
     }
 
-    private static void transitionToVirtualDead(SpawnPoint point, ServerLevel level) {
+    private static void transitionToVirtualDead(SpawnPoint point, ServerLevel level, long currentTick) {
         if (point.hasSpawnedEntities()) {
             unloadEntities(point, level);
         }
+        if (point.isRespawnTimerPaused()) {
+            point.resumeRespawnTimer(currentTick);
+        }
+        scheduleRespawn(point, currentTick);
     }
 
-    private static void transitionToEntitySpawned(SpawnPoint point, ServerLevel level, long currentTick) {
-        // Spawn entities if ready
+    private static void transitionToEntitySpawned(SpawnPoint point, long currentTick, double nearestPlayerDistSq) {
+        if (point.isRespawnTimerPaused()) {
+            point.resumeRespawnTimer(currentTick);
+        }
+
+        // Queue entities if ready; the governor spawns them when there's room
         if (point.hasVirtualMobs() || point.isRespawnReady(currentTick)) {
-            spawnEntitiesAtPoint(point, level);
+            SpawnGovernor.requestSpawn(point, nearestPlayerDistSq, currentTick);
+        } else {
+            scheduleRespawn(point, currentTick);
         }
     }
 
@@ -396,50 +670,64 @@ public class SpawnPoolManager {
 
     /**
      * Unload entities from a spawn point.
+     * Ownership is dropped first, so the unload events of the discarded entities find nothing to do.
+     * Owned entities sitting in unloaded chunks are discarded by onEntityLoad when they come back.
      */
     private static void unloadEntities(SpawnPoint point, ServerLevel level) {
-        for (UUID entityId : point.getSpawnedEntityIds()) {
-            var entity = level.getEntity(entityId);
-            if (entity != null) {
-                entity.discard();
-            }
-        }
+        List<Mob> loaded = point.getLoadedEntities();
         point.clearSpawnedEntityIds();
+        for (Mob mob : loaded) {
+            mob.discard();
+        }
     }
 
     private static void suppressSpawnPoint(SpawnPoint point, ServerLevel level) {
-        activeSpawnPoints.remove(point.getId());
         point.setActiveInRotation(false);
         point.setRespawnEnabled(false);
         point.setState(SpawnPointState.INACTIVE);
+        markDirty(point);
 
         if (point.hasSpawnedEntities()) {
             unloadEntities(point, level);
         }
     }
 
+    /**
+     * Spawn a point handed out by the governor's queue, at most maxEntities fresh mobs.
+     * Returns how many entities were spawned.
+     */
+    static int spawnQueuedPoint(SpawnPoint point, ServerLevel level, int maxEntities) {
+        int spawned = spawnEntitiesAtPoint(point, level, maxEntities);
+        if (!point.hasSpawnedEntities()) {
+            // Nowhere to stand (or unloaded ground), or virtual mobs left over; try again shortly
+            retrySpawnLater(point);
+        }
+        return spawned;
+    }
+
     /**
      * Spawn entities at a spawn point.
      */
-    private static void spawnEntitiesAtPoint(SpawnPoint point, ServerLevel level) {
+    private static int spawnEntitiesAtPoint(SpawnPoint point, ServerLevel level, int maxEntities) {
         List<UUID> spawnedIds = new ArrayList<>();
 
         // Check if has virtual mobs (restore from saved state)
         if (point.hasVirtualMobs()) {
-            // Restore from virtual state
-            for (VirtualMobState virtual : point.getVirtualMobs()) {
-                var mob = virtual.spawnEntity(level, point.getPackId());
+            // Restore from virtual state, up to maxEntities; the rest stay virtual
+            List<VirtualMobState> virtuals = point.getVirtualMobs();
+            int restored = Math.min(maxEntities, virtuals.size());
+            for (int i = 0; i < restored; i++) {
+                Mob mob = spawnOwnedMob(point, virtuals.get(i), level);
                 if (mob != null) {
-                    makePackMobTerritorial(mob, virtual.getPosition());
-                    registerMobWithSpawnPoint(mob.getUUID(), point.getId());
                     spawnedIds.add(mob.getUUID());
                 }
             }
-            point.clearVirtualMobs();
+            point.removeVirtualMobs(restored);
         } else {
-            // Fresh spawn - create new mobs
-            MobOption mobOption = point.rollMobType();
-            int count = mobOption.rollCount(new Random());
+            // Fresh spawn - create the pack the governor sized up
+            int count = Math.min(maxEntities, point.rollPendingPack());
+            MobOption mobOption = point.getPendingPackMob();
+            point.clearPendingPack();
 
             for (int i = 0; i < count; i++) {
                 // Offset from spawn point center (6 block spread - tight WoW Classic camp spacing)
@@ -464,46 +752,54 @@ public class SpawnPoolManager {
                     level.getGameTime()
                 );
 
-                var mob = virtual.spawnEntity(level, point.getPackId());
+                Mob mob = spawnOwnedMob(point, virtual, level);
                 if (mob != null) {
-                    makePackMobTerritorial(mob, spawnPos);
-                    registerMobWithSpawnPoint(mob.getUUID(), point.getId());
                     spawnedIds.add(mob.getUUID());
                 }
             }
         }
 
-        point.setSpawnedEntityIds(spawnedIds);
+        markDirty(point);
 
         if (spawnedIds.size() > 0) {
             WowCraft.LOGGER.debug("Spawned {} mobs at spawn point {} (type: {}, hostility: {})",
                 spawnedIds.size(), point.getId(), point.getType(), point.getHostility());
         }
+        return spawnedIds.size();
     }
 
     /**
-     * Find surface position near target.
+     * Spawn one mob for a point. The point claims the entity before it joins the
+     * level, so the entity load event already sees it as owned.
      */
-    private static BlockPos findSurfaceNear(ServerLevel level, BlockPos target) {
-        if (!level.isLoaded(target)) {
+    @Nullable
+    private static Mob spawnOwnedMob(SpawnPoint point, VirtualMobState virtual, ServerLevel level) {
+        Mob mob = virtual.createEntity(level, point.getPackId(), point.getId());
+        if (mob == null) {
             return null;
         }
 
-        int y = level.getHeight(net.minecraft.world.level.levelgen.Heightmap.Types.MOTION_BLOCKING_NO_LEAVES,
-            target.getX(), target.getZ());
-
-        if (y >= level.getMinY() && y <= level.getMaxY() - 2) {
-            BlockPos pos = new BlockPos(target.getX(), y, target.getZ());
-            var below = level.getBlockState(pos.below());
-            var at = level.getBlockState(pos);
+        makePackMobTerritorial(mob, virtual.getPosition());
+        point.addSpawnedEntityId(mob.getUUID());
+        if (!level.addFreshEntity(mob)) {
+            point.removeSpawnedEntityId(mob.getUUID());
+            return null;
+        }
+        point.attachEntity(mob);
+        return mob;
+    }
 
-            if ((below.isSuffocating(level, pos.below()) || below.blocksMotion()) &&
-                !at.isSuffocating(level, pos)) {
-                return pos;
-            }
+    /**
+     * Find surface position near target.
+     */
+    private static BlockPos findSurfaceNear(ServerLevel level, BlockPos target) {
+        com.gianmarco.wowcraft.world.SurfaceCache surfaceCache = com.gianmarco.wowcraft.world.SurfaceCache.get(level);
+        if (!surfaceCache.isLoaded(target.getX(), target.getZ())) {
+            return null;
         }
 
-        return target; // Fallback to original position
+        BlockPos pos = surfaceCache.findSurfacePos(target.getX(), target.getZ(), false);
+        return pos != null ? pos : target; // Fallback to original position
     }
 
     /**
@@ -519,62 +815,281 @@ public class SpawnPoolManager {
         }
     }
 
+    // === Entity Ownership ===
+
+    // Loaded mobs whose spawn point no longer owns them, discarded on the next tick
+    private static final List<Mob> staleMobs = new ArrayList<>();
+
     /**
-     * Register a mob with its spawn point for tracking.
+     * Get the spawn point that owns a mob, from its MobData attachment.
      */
-    private static final java.util.Map<UUID, UUID> mobToSpawnPointMap = new java.util.concurrent.ConcurrentHashMap<>();
+    @Nullable
+    public static UUID getSpawnPointForMob(Mob mob) {
+        MobData data = mob.getAttached(PlayerDataRegistry.MOB_DATA);
+        return data != null ? data.spawnPointId() : null;
+    }
 
-    private static void registerMobWithSpawnPoint(UUID mobId, UUID spawnPointId) {
-        mobToSpawnPointMap.put(mobId, spawnPointId);
+    /**
+     * An entity entered the level (spawned, or its chunk loaded).
+     * Owned mobs are attached to their point; mobs whose point has since let go
+     * of them (torn down while their chunk was unloaded) are discarded.
+     */
+    public static void onEntityLoad(Mob mob) {
+        UUID spawnPointId = getSpawnPointForMob(mob);
+        if (spawnPointId == null) {
+            return;
+        }
+
+        SpawnPoint point = getSpawnPoint(spawnPointId);
+        if (point == null) {
+            // The chunk can load before its region; the point is within leash range of the mob
+            loadRegionsAround(mob.blockPosition(), 32);
+            point = getSpawnPoint(spawnPointId);
+            if (point == null) {
+                return;
+            }
+        }
+
+        if (point.ownsEntity(mob.getUUID())) {
+            point.attachEntity(mob);
+        } else {
+            // Not while the entity manager is still adding it; discarded on the next state update
+            staleMobs.add(mob);
+        }
+    }
+
+    private static void discardStaleMobs() {
+        if (staleMobs.isEmpty()) {
+            return;
+        }
+        for (Mob mob : staleMobs) {
+            if (!mob.isRemoved()) {
+                mob.discard();
+            }
+        }
+        WowCraft.LOGGER.debug("Discarded {} stale spawn point mobs", staleMobs.size());
+        staleMobs.clear();
     }
 
     /**
-     * Get spawn point for a mob.
+     * An entity left the level. Chunk unloads only drop the reference; removal
+     * without a death (despawn, discard, dimension change) counts as losing the mob.
      */
-    public static UUID getSpawnPointForMob(UUID mobId) {
-        return mobToSpawnPointMap.get(mobId);
+    public static void onEntityUnload(Mob mob, long currentTick) {
+        UUID spawnPointId = getSpawnPointForMob(mob);
+        if (spawnPointId == null) {
+            return;
+        }
+
+        SpawnPoint point = getSpawnPoint(spawnPointId);
+        if (point == null || !point.ownsEntity(mob.getUUID())) {
+            return;
+        }
+
+        Entity.RemovalReason reason = mob.getRemovalReason();
+        if (reason != null && (reason.shouldDestroy() || reason == Entity.RemovalReason.CHANGED_DIMENSION)) {
+            point.onMobKilled(mob.getUUID(), currentTick);
+            scheduleRespawn(point, currentTick);
+            markDirty(point);
+        } else {
+            point.detachEntity(mob);
+        }
     }
 
     /**
      * Called when a mob dies - update spawn point.
      */
-    public static void onMobDeath(UUID mobId, long currentTick) {
-        UUID spawnPointId = mobToSpawnPointMap.remove(mobId);
+    public static void onMobDeath(Mob mob, long currentTick) {
+        UUID mobId = mob.getUUID();
+        UUID spawnPointId = getSpawnPointForMob(mob);
         if (spawnPointId != null) {
             SpawnPoint point = getSpawnPoint(spawnPointId);
-            if (point != null) {
+            if (point != null && point.ownsEntity(mobId)) {
+                RegionPos region = RegionPos.fromBlockPos(point.getPosition(), REGION_SIZE);
+                SpawnGovernor.recordKill(region);
                 point.onMobKilled(mobId, currentTick);
+
+                // Hyperspawn busy regions, slow down when the server is struggling
+                if (!point.hasMobsAlive()) {
+                    point.setRespawnDelay(SpawnGovernor.getRespawnDelay(point, region));
+                    scheduleRespawn(point, currentTick);
+                }
+                markDirty(point);
                 WowCraft.LOGGER.debug("Mob {} died from spawn point {}, respawn in {} seconds",
-                    mobId, spawnPointId, point.calculateRespawnDelay(0.5f) / 20);
+                    mobId, spawnPointId, point.getRespawnDelay() / 20);
             }
         }
     }
 
+    // === Respawn Scheduling ===
+
     /**
-     * Tick respawn timer.
+     * File a point on the respawn wheel for when its timer runs out. Only
+     * VIRTUAL_DEAD and ENTITY_SPAWNED points respawn; points with mobs alive,
+     * a paused timer or respawns disabled are left alone until a death or
+     * transition schedules them again.
      */
-    private static void tickRespawnTimer(SpawnPoint point, ServerLevel level, long currentTick) {
-        if (!point.hasMobsAlive() && point.isRespawnReady(currentTick)) {
-            if (point.getState() == SpawnPointState.ENTITY_SPAWNED) {
-                // Player nearby: spawn actual entities
-                spawnEntitiesAtPoint(point, level);
-            } else if (point.getState() == SpawnPointState.VIRTUAL_DEAD) {
-                // No player nearby: create virtual mobs (don't spawn entities)
-                // Just mark as having virtual mobs
-                point.setState(SpawnPointState.VIRTUAL_SPAWNED);
+    private static void scheduleRespawn(SpawnPoint point, long currentTick) {
+        SpawnPointState state = point.getState();
+        if (state != SpawnPointState.VIRTUAL_DEAD && state != SpawnPointState.ENTITY_SPAWNED) {
+            return;
+        }
+        if (!point.isRespawnEnabled() || point.isRespawnTimerPaused() || point.hasMobsAlive()) {
+            return;
+        }
+        scheduleRespawnAt(point, Math.max(currentTick, point.getRespawnDueTick(currentTick)));
+    }
+
+    private static void scheduleRespawnAt(SpawnPoint point, long dueTick) {
+        // An earlier entry is already waiting; it reschedules if it fires too soon
+        if (dueTick >= point.getScheduledRespawnTick()) {
+            return;
+        }
+        point.setScheduledRespawnTick(dueTick);
+        respawnWheel.schedule(point, dueTick);
+    }
+
+    /**
+     * Ask for a spawn again after a short delay, for a request the governor or spawner could not fill.
+     */
+    static void retrySpawnLater(SpawnPoint point) {
+        scheduleRespawnAt(point, lastKnownTick + SPAWN_RETRY_TICKS);
+    }
+
+    private static void fireRespawn(SpawnPoint point, PlayerSpatialIndex players, long currentTick) {
+        // Superseded by an earlier entry, or packed/unloaded since it was filed
+        if (point.getScheduledRespawnTick() > currentTick || spawnPointPool.get(point.getId()) != point) {
+            return;
+        }
+        point.setScheduledRespawnTick(Long.MAX_VALUE);
+
+        if (point.getState() == SpawnPointState.ENTITY_SPAWNED) {
+            // Player nearby: queue actual entities
+            if (!point.hasSpawnedEntities() && (point.hasVirtualMobs() || point.isRespawnReady(currentTick))) {
+                SpawnGovernor.requestSpawn(point, players.nearestDistanceSq(point.getPosition(), DEACTIVATE_POINT_DISTANCE), currentTick);
+                return;
+            }
+        } else if (point.getState() == SpawnPointState.VIRTUAL_DEAD && point.isRespawnReady(currentTick)) {
+            // No player nearby: create virtual mobs (don't spawn entities)
+            // Just mark as having virtual mobs
+            point.setState(SpawnPointState.VIRTUAL_SPAWNED);
+            markDirty(point);
+            return;
+        }
+
+        // Delay grew since it was filed (hyperspawn/load scaling); wait for the new due tick
+        if (point.getRespawnDueTick(currentTick) > currentTick) {
+            scheduleRespawn(point, currentTick);
+        }
+    }
+
+    public static int getScheduledRespawnCount() {
+        return respawnWheel.size();
+    }
+
+    /**
+     * Load the regions within distance of a position.
+     */
+    private static void loadRegionsAround(BlockPos pos, int distance) {
+        int minX = Math.floorDiv(pos.getX() - distance, REGION_SIZE);
+        int maxX = Math.floorDiv(pos.getX() + distance, REGION_SIZE);
+        int minZ = Math.floorDiv(pos.getZ() - distance, REGION_SIZE);
+        int maxZ = Math.floorDiv(pos.getZ() + distance, REGION_SIZE);
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                ensureRegionLoaded(new RegionPos(x, z));
             }
         }
     }
 
+    /**
+     * Write every region changed since the last save.
+     */
+    public static void saveDirtyRegions() {
+        if (storage == null || dirtyRegions.isEmpty()) {
+            return;
+        }
+
+        int saved = 0;
+        for (RegionPos region : new ArrayList<>(dirtyRegions)) {
+            dirtyRegions.remove(region);
+            saveRegion(region);
+            saved++;
+        }
+
+        WowCraft.LOGGER.debug("Saved {} dirty spawn regions", saved);
+    }
+
+    private static void saveRegion(RegionPos region) {
+        SpawnRegionBucket bucket = regionSpawnMap.get(region);
+        List<SpawnPoint> points = bucket != null ? bucket.snapshotForSave(lastKnownTick) : List.of();
+        storage.save(region, generatedRegions.contains(region), points);
+    }
+
+    /**
+     * Drop regions far from every player from memory.
+     * Regions with live entities stay loaded so their mobs keep an owner.
+     */
+    public static void unloadIdleRegions(ServerLevel level) {
+        if (storage == null) {
+            return;
+        }
+
+        PlayerSpatialIndex players = PlayerSpatialIndex.get(level);
+        int unloaded = 0;
+
+        for (RegionPos region : new ArrayList<>(loadedRegions)) {
+            int minX = region.getX() * REGION_SIZE;
+            int minZ = region.getZ() * REGION_SIZE;
+            if (players.anyWithin(minX, minZ, minX + REGION_SIZE - 1, minZ + REGION_SIZE - 1, REGION_UNLOAD_DISTANCE)) {
+                continue;
+            }
+
+            SpawnRegionBucket bucket = regionSpawnMap.get(region);
+            if (bucket != null && bucket.hasSpawnedEntities()) {
+                continue;
+            }
+
+            if (dirtyRegions.remove(region)) {
+                saveRegion(region);
+            }
+
+            if (bucket != null) {
+                forgetPacked(bucket.getLivePoints());
+            }
+
+            regionSpawnMap.remove(region);
+            dormantRegions.remove(region);
+            awakeRegions.remove(region);
+            generatedRegions.remove(region);
+            loadedRegions.remove(region);
+            unloaded++;
+        }
+
+        if (unloaded > 0) {
+            WowCraft.LOGGER.debug("Unloaded {} idle spawn regions ({} still loaded)", unloaded, loadedRegions.size());
+        }
+    }
+
     /**
      * Clear all data (world unload).
      */
     public static void clear() {
         spawnPointPool.clear();
-        activeSpawnPoints.clear();
-        chunkSpawnMap.clear();
+        regionSpawnMap.clear();
         generatedRegions.clear();
-        mobToSpawnPointMap.clear();
+        dormantRegions.clear();
+        awakeRegions.clear();
+        evaluationQueue.clear();
+        lastPassTick = Long.MIN_VALUE;
+        lastKnownTick = 0;
+        respawnWheel.clear();
+        loadedRegions.clear();
+        dirtyRegions.clear();
+        storage = null;
+        staleMobs.clear();
+        MobOptionTable.clear();
         WowCraft.LOGGER.info("Cleared SpawnPoolManager data");
     }
 
@@ -597,6 +1112,14 @@ public class SpawnPoolManager {
             );
         }
 
+        public int getX() {
+            return regionX;
+        }
+
+        public int getZ() {
+            return regionZ;
+        }
+
         public BlockPos getCenterBlockPos(int regionSize) {
             return new BlockPos(
                 regionX * regionSize + regionSize / 2,
@@ -0,0 +1,412 @@
+package com.gianmarco.wowcraft.spawn;
+
+import com.gianmarco.wowcraft.world.PlayerSpatialIndex;
+import com.gianmarco.wowcraft.zone.BiomeGroup;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * All spawn points of one region, in two tiers.
+ *
+ * Live points are full SpawnPoint objects: anything with entities in the world,
+ * points a player is close to, and freshly generated or edited points.
+ * Everything else (DORMANT, VIRTUAL_*, INACTIVE with nothing spawned) is packed
+ * into parallel primitive arrays and only turned back into a SpawnPoint when a
+ * player comes within ENTITY_SPAWNED range or a whole-region operation needs it.
+ *
+ * Compact respawn timers count down remaining ticks and are advanced in one
+ * loop per evaluation, only while the point is virtual. A DORMANT point's timer
+ * is paused in both tiers: the live point shifts its last death by the paused
+ * period when it resumes, and a compact slot keeps its remaining ticks as they
+ * were at the pause.
+ */
+public class SpawnRegionBucket {
+
+    // Compact point flags
+    private static final int ACTIVE_IN_ROTATION = 1;
+    private static final int PROTECTED = 1 << 1;
+    private static final int TIMER_PAUSED = 1 << 2;
+    private static final int RESPAWN_ENABLED = 1 << 3;
+    private static final int QUEST_MOB = 1 << 4;
+
+    private static final SpawnPointState[] STATES = SpawnPointState.values();
+    private static final SpawnPointType[] TYPES = SpawnPointType.values();
+    private static final BiomeGroup[] BIOMES = BiomeGroup.values();
+    private static final SpawnHostility[] HOSTILITIES = SpawnHostility.values();
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<SpawnPoint> live = new ArrayList<>();
+
+    // Compact points, one slot per point
+    private int size;
+    private long[] idMost = new long[INITIAL_CAPACITY];
+    private long[] idLeast = new long[INITIAL_CAPACITY];
+    private long[] positions = new long[INITIAL_CAPACITY];
+    private byte[] states = new byte[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private byte[] biomes = new byte[INITIAL_CAPACITY];
+    private byte[] hostilities = new byte[INITIAL_CAPACITY];
+    private int[] optionSets = new int[INITIAL_CAPACITY];  // index into MobOptionTable
+    private byte[] currentMob = new byte[INITIAL_CAPACITY];  // index into the option set, -1 if never rolled
+    private byte[] minMobs = new byte[INITIAL_CAPACITY];
+    private byte[] maxMobs = new byte[INITIAL_CAPACITY];
+    private int[] flags = new int[INITIAL_CAPACITY];
+    private int[] respawnRemaining = new int[INITIAL_CAPACITY];  // ticks until respawn, 0 = ready
+    private int[] respawnDelay = new int[INITIAL_CAPACITY];
+    private short[] targetLevels = new short[INITIAL_CAPACITY];
+    private byte[] levelBonuses = new byte[INITIAL_CAPACITY];
+    private long[][] virtualMobs = new long[INITIAL_CAPACITY][];  // pairs of (position, mobType << 32 | level), null if none
+
+    private long lastTimerTick = -1;
+
+    // === Live tier ===
+
+    public void addLive(SpawnPoint point) {
+        live.add(point);
+    }
+
+    public List<SpawnPoint> getLivePoints() {
+        return live;
+    }
+
+    public boolean hasSpawnedEntities() {
+        for (SpawnPoint point : live) {
+            if (point.hasSpawnedEntities()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return live.size() + size;
+    }
+
+    public int getCompactCount() {
+        return size;
+    }
+
+    /**
+     * Whether a live point can move into compact storage without losing anything.
+     */
+    static boolean canCompact(SpawnPoint point) {
+        return point.getState() != SpawnPointState.ENTITY_SPAWNED
+            && !point.hasSpawnedEntities()
+            && !point.hasNamedMob()
+            && point.getMaxMobs() <= Byte.MAX_VALUE
+            && point.getTargetLevel() <= Short.MAX_VALUE
+            && point.getLevelBonus() <= Byte.MAX_VALUE;
+    }
+
+    /**
+     * Move every idle live point into compact storage.
+     * Returns the points that were packed, so the caller can drop its own references.
+     */
+    public List<SpawnPoint> compactIdle(long currentTick) {
+        List<SpawnPoint> packed = new ArrayList<>();
+        for (int i = live.size() - 1; i >= 0; i--) {
+            SpawnPoint point = live.get(i);
+            if (canCompact(point)) {
+                pack(point, currentTick);
+                live.remove(i);
+                packed.add(point);
+            }
+        }
+        return packed;
+    }
+
+    // === Compact tier ===
+
+    private void pack(SpawnPoint point, long currentTick) {
+        ensureCapacity(size + 1);
+        int i = size++;
+
+        idMost[i] = point.getId().getMostSignificantBits();
+        idLeast[i] = point.getId().getLeastSignificantBits();
+        positions[i] = point.getPosition().asLong();
+        states[i] = (byte) point.getState().ordinal();
+        types[i] = (byte) point.getType().ordinal();
+        biomes[i] = (byte) point.getBiome().ordinal();
+        hostilities[i] = (byte) point.getHostility().ordinal();
+        optionSets[i] = MobOptionTable.internOptions(point.getMobOptions());
+        currentMob[i] = (byte) point.getCurrentMobIndex();
+        minMobs[i] = (byte) point.getMinMobs();
+        maxMobs[i] = (byte) point.getMaxMobs();
+
+        int pointFlags = 0;
+        if (point.isActiveInRotation()) pointFlags |= ACTIVE_IN_ROTATION;
+        if (point.isProtected()) pointFlags |= PROTECTED;
+        if (point.isRespawnTimerPaused()) pointFlags |= TIMER_PAUSED;
+        if (point.isRespawnEnabled()) pointFlags |= RESPAWN_ENABLED;
+        if (point.isQuestMob()) pointFlags |= QUEST_MOB;
+        flags[i] = pointFlags;
+
+        respawnDelay[i] = point.getRespawnDelay();
+        respawnRemaining[i] = point.getRespawnRemaining(currentTick);
+
+        targetLevels[i] = (short) point.getTargetLevel();
+        levelBonuses[i] = (byte) point.getLevelBonus();
+
+        List<VirtualMobState> virtuals = point.getVirtualMobs();
+        if (virtuals.isEmpty()) {
+            virtualMobs[i] = null;
+        } else {
+            long[] packedMobs = new long[virtuals.size() * 2];
+            for (int v = 0; v < virtuals.size(); v++) {
+                VirtualMobState virtual = virtuals.get(v);
+                packedMobs[v * 2] = virtual.getPosition().asLong();
+                packedMobs[v * 2 + 1] = ((long) MobOptionTable.internMobType(virtual.getMobType()) << 32)
+                    | (virtual.getLevel() & 0xFFFFFFFFL);
+            }
+            virtualMobs[i] = packedMobs;
+        }
+    }
+
+    /**
+     * Build a full SpawnPoint from a compact slot (the slot is left untouched).
+     */
+    private SpawnPoint unpack(int i, long currentTick) {
+        List<VirtualMobState> virtuals = new ArrayList<>();
+        long[] packedMobs = virtualMobs[i];
+        if (packedMobs != null) {
+            for (int v = 0; v < packedMobs.length; v += 2) {
+                virtuals.add(new VirtualMobState(
+                    MobOptionTable.getMobType((int) (packedMobs[v + 1] >>> 32)),
+                    BlockPos.of(packedMobs[v]),
+                    (int) packedMobs[v + 1],
+                    null,
+                    currentTick));
+            }
+        }
+
+        int pointFlags = flags[i];
+        return SpawnPoint.restore(
+            new UUID(idMost[i], idLeast[i]),
+            BlockPos.of(positions[i]),
+            TYPES[types[i]],
+            BIOMES[biomes[i]],
+            HOSTILITIES[hostilities[i]],
+            MobOptionTable.getOptions(optionSets[i]),
+            currentMob[i],
+            minMobs[i],
+            maxMobs[i],
+            STATES[states[i]],
+            (pointFlags & ACTIVE_IN_ROTATION) != 0,
+            (pointFlags & PROTECTED) != 0,
+            virtuals,
+            // Put the death far enough back that the remaining ticks line up with the live timer
+            currentTick + respawnRemaining[i] - respawnDelay[i],
+            respawnDelay[i],
+            (pointFlags & TIMER_PAUSED) != 0,
+            currentTick,  // the remaining ticks were frozen, so the pause counts from now
+            (pointFlags & RESPAWN_ENABLED) != 0,
+            targetLevels[i],
+            levelBonuses[i],
+            (pointFlags & QUEST_MOB) != 0);
+    }
+
+    /**
+     * Turn a compact slot into a live point. The last slot moves into its place.
+     */
+    private SpawnPoint promote(int i, long currentTick) {
+        SpawnPoint point = unpack(i, currentTick);
+        removeSlot(i);
+        live.add(point);
+        return point;
+    }
+
+    private void removeSlot(int i) {
+        int last = --size;
+        if (i != last) {
+            idMost[i] = idMost[last];
+            idLeast[i] = idLeast[last];
+            positions[i] = positions[last];
+            states[i] = states[last];
+            types[i] = types[last];
+            biomes[i] = biomes[last];
+            hostilities[i] = hostilities[last];
+            optionSets[i] = optionSets[last];
+            currentMob[i] = currentMob[last];
+            minMobs[i] = minMobs[last];
+            maxMobs[i] = maxMobs[last];
+            flags[i] = flags[last];
+            respawnRemaining[i] = respawnRemaining[last];
+            respawnDelay[i] = respawnDelay[last];
+            targetLevels[i] = targetLevels[last];
+            levelBonuses[i] = levelBonuses[last];
+            virtualMobs[i] = virtualMobs[last];
+        }
+        virtualMobs[last] = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= idMost.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, idMost.length * 2);
+        idMost = Arrays.copyOf(idMost, newCapacity);
+        idLeast = Arrays.copyOf(idLeast, newCapacity);
+        positions = Arrays.copyOf(positions, newCapacity);
+        states = Arrays.copyOf(states, newCapacity);
+        types = Arrays.copyOf(types, newCapacity);
+        biomes = Arrays.copyOf(biomes, newCapacity);
+        hostilities = Arrays.copyOf(hostilities, newCapacity);
+        optionSets = Arrays.copyOf(optionSets, newCapacity);
+        currentMob = Arrays.copyOf(currentMob, newCapacity);
+        minMobs = Arrays.copyOf(minMobs, newCapacity);
+        maxMobs = Arrays.copyOf(maxMobs, newCapacity);
+        flags = Arrays.copyOf(flags, newCapacity);
+        respawnRemaining = Arrays.copyOf(respawnRemaining, newCapacity);
+        respawnDelay = Arrays.copyOf(respawnDelay, newCapacity);
+        targetLevels = Arrays.copyOf(targetLevels, newCapacity);
+        levelBonuses = Arrays.copyOf(levelBonuses, newCapacity);
+        virtualMobs = Arrays.copyOf(virtualMobs, newCapacity);
+    }
+
+    // === Batch updates ===
+
+    /**
+     * Advance every running compact respawn timer by the ticks since the last call.
+     * A VIRTUAL_DEAD point whose timer runs out becomes VIRTUAL_SPAWNED.
+     * Returns true if any point changed state.
+     */
+    public boolean advanceTimers(long currentTick) {
+        int elapsed = lastTimerTick < 0 ? 0 : (int) Math.min(Integer.MAX_VALUE, currentTick - lastTimerTick);
+        lastTimerTick = currentTick;
+        if (elapsed <= 0) {
+            return false;
+        }
+
+        byte virtualDead = (byte) SpawnPointState.VIRTUAL_DEAD.ordinal();
+        byte virtualSpawned = (byte) SpawnPointState.VIRTUAL_SPAWNED.ordinal();
+        boolean changed = false;
+
+        for (int i = 0; i < size; i++) {
+            byte state = states[i];
+            if (state != virtualDead && state != virtualSpawned) {
+                continue;
+            }
+            if ((flags[i] & (TIMER_PAUSED | RESPAWN_ENABLED)) != RESPAWN_ENABLED) {
+                continue;
+            }
+
+            int remaining = respawnRemaining[i];
+            if (remaining > 0) {
+                remaining = Math.max(0, remaining - elapsed);
+                respawnRemaining[i] = remaining;
+            }
+            if (remaining == 0 && state == virtualDead) {
+                states[i] = virtualSpawned;
+                changed = true;
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * Move compact points to the state their nearest player distance calls for.
+     * Points that come within ENTITY_SPAWNED range are promoted to live points and
+     * returned through promoted, still in their old state, for the caller to transition.
+     * Pass players == null to settle a region with nobody in range.
+     * Returns true if any compact point changed.
+     */
+    public boolean updateCompactStates(PlayerSpatialIndex players, long currentTick, List<SpawnPoint> promoted) {
+        long spawnDistSq = (long) SpawnPoolManager.SPAWN_ENTITY_DISTANCE * SpawnPoolManager.SPAWN_ENTITY_DISTANCE;
+        long dormantDistSq = (long) SpawnPoolManager.DEACTIVATE_POINT_DISTANCE * SpawnPoolManager.DEACTIVATE_POINT_DISTANCE;
+        boolean changed = false;
+
+        int i = 0;
+        while (i < size) {
+            SpawnPointState desired;
+            if ((flags[i] & ACTIVE_IN_ROTATION) == 0) {
+                desired = SpawnPointState.INACTIVE;
+            } else {
+                long pos = positions[i];
+                double distSq = players == null
+                    ? Double.MAX_VALUE
+                    : players.nearestDistanceSq(BlockPos.getX(pos), BlockPos.getY(pos), BlockPos.getZ(pos),
+                        SpawnPoolManager.DEACTIVATE_POINT_DISTANCE);
+
+                if (distSq > dormantDistSq) {
+                    desired = SpawnPointState.DORMANT;
+                } else if (distSq > spawnDistSq) {
+                    // A finished respawn counts as mobs waiting to be spawned
+                    boolean mobsAlive = virtualMobs[i] != null
+                        || (respawnRemaining[i] == 0 && (flags[i] & RESPAWN_ENABLED) != 0);
+                    desired = mobsAlive ? SpawnPointState.VIRTUAL_SPAWNED : SpawnPointState.VIRTUAL_DEAD;
+                } else {
+                    promoted.add(promote(i, currentTick));
+                    changed = true;
+                    continue;  // slot i now holds what was the last point
+                }
+            }
+
+            if (states[i] != desired.ordinal()) {
+                switch (desired) {
+                    case DORMANT -> flags[i] |= TIMER_PAUSED;
+                    case VIRTUAL_SPAWNED, VIRTUAL_DEAD -> flags[i] &= ~TIMER_PAUSED;
+                    case INACTIVE -> flags[i] &= ~RESPAWN_ENABLED;
+                    default -> { }
+                }
+                states[i] = (byte) desired.ordinal();
+                changed = true;
+            }
+            i++;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Promote every compact point inside a chunk and return them with the live points there.
+     */
+    public List<SpawnPoint> promoteInChunk(ChunkPos chunk, long currentTick) {
+        int i = 0;
+        while (i < size) {
+            long pos = positions[i];
+            if (BlockPos.getX(pos) >> 4 == chunk.x && BlockPos.getZ(pos) >> 4 == chunk.z) {
+                promote(i, currentTick);
+            } else {
+                i++;
+            }
+        }
+
+        List<SpawnPoint> result = new ArrayList<>();
+        for (SpawnPoint point : live) {
+            if (new ChunkPos(point.getPosition()).equals(chunk)) {
+                result.add(point);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Promote every compact point; for rare whole-region operations like rotation.
+     */
+    public List<SpawnPoint> promoteAll(long currentTick) {
+        while (size > 0) {
+            promote(size - 1, currentTick);
+        }
+        return live;
+    }
+
+    /**
+     * Every point as a SpawnPoint for saving. Compact points are unpacked into
+     * short-lived copies and stay compact.
+     */
+    public List<SpawnPoint> snapshotForSave(long currentTick) {
+        List<SpawnPoint> points = new ArrayList<>(live.size() + size);
+        points.addAll(live);
+        for (int i = 0; i < size; i++) {
+            points.add(unpack(i, currentTick));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,115 @@
+package com.gianmarco.wowcraft.spawn;
+
+import com.gianmarco.wowcraft.WowCraft;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.storage.LevelResource;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Persists the spawn pool as one small binary file per spawn region.
+ * Files live in {@code <world>/wowcraft_spawns/r.<x>.<z>.dat} and are only
+ * read when a chunk inside the region loads.
+ */
+public class SpawnRegionStorage {
+    private static final String DIRECTORY_NAME = "wowcraft_spawns";
+    private static final int MAGIC = 0x57435350;  // "WCSP"
+    private static final int VERSION = 1;
+
+    private final Path directory;
+
+    /**
+     * Contents of one region file.
+     */
+    public record RegionData(boolean generated, List<SpawnPoint> points) {}
+
+    private SpawnRegionStorage(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Open the spawn storage of a level's world folder.
+     */
+    public static SpawnRegionStorage open(ServerLevel level) {
+        return new SpawnRegionStorage(
+            level.getServer().getWorldPath(LevelResource.ROOT).resolve(DIRECTORY_NAME));
+    }
+
+    /**
+     * Load a region, or null if it was never saved (or the file is unreadable).
+     */
+    @Nullable
+    public RegionData load(SpawnPoolManager.RegionPos region) {
+        Path file = regionFile(region);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                WowCraft.LOGGER.warn("Ignoring spawn region file {} (bad header)", file.getFileName());
+                return null;
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                WowCraft.LOGGER.warn("Ignoring spawn region file {} (version {}, expected {})",
+                    file.getFileName(), version, VERSION);
+                return null;
+            }
+
+            boolean generated = in.readBoolean();
+            int count = in.readInt();
+            List<SpawnPoint> points = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                points.add(SpawnPoint.readFrom(in));
+            }
+
+            WowCraft.LOGGER.debug("Loaded {} spawn points for {}", points.size(), region);
+            return new RegionData(generated, points);
+        } catch (IOException | RuntimeException e) {
+            WowCraft.LOGGER.error("Failed to load spawn region {}: {}", region, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write a region, replacing the previous file in one move.
+     */
+    public void save(SpawnPoolManager.RegionPos region, boolean generated, Collection<SpawnPoint> points) {
+        Path file = regionFile(region);
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try {
+            Files.createDirectories(directory);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeBoolean(generated);
+                out.writeInt(points.size());
+                for (SpawnPoint point : points) {
+                    point.writeTo(out);
+                }
+            }
+
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            WowCraft.LOGGER.error("Failed to save spawn region {}: {}", region, e.getMessage());
+        }
+    }
+
+    private Path regionFile(SpawnPoolManager.RegionPos region) {
+        return directory.resolve("r." + region.getX() + "." + region.getZ() + ".dat");
+    }
+}
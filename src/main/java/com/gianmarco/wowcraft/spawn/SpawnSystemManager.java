@@ -1,12 +1,8 @@
 package com.gianmarco.wowcraft.spawn;
 
 import com.gianmarco.wowcraft.WowCraft;
-import com.gianmarco.wowcraft.poi.POIManager;
-import com.gianmarco.wowcraft.poi.POISaveData;
-import com.gianmarco.wowcraft.poi.PointOfInterest;
+import com.gianmarco.wowcraft.core.BackgroundWork;
 import com.gianmarco.wowcraft.zone.BiomeGroup;
-import com.gianmarco.wowcraft.zone.ZoneRegion;
-import com.gianmarco.wowcraft.zone.ZoneSaveData;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
 import net.minecraft.resources.ResourceKey;
@@ -21,7 +17,8 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Main coordinator for the new spawn system.
- * Uses async/queued generation to prevent world load freezes.
+ * Uses async/queued generation to prevent world load freezes; the heavy
+ * lifting happens in RegionGenerationPipeline.
  */
 public class SpawnSystemManager {
 
@@ -30,6 +27,13 @@ public class SpawnSystemManager {
     private static int tickCounter = 0;
     private static boolean initialSpawnGenerated = false;
 
+    // Persistence config
+    private static final int AUTOSAVE_INTERVAL_TICKS = 6000;  // 5 minutes
+    private static final int REGION_UNLOAD_INTERVAL_TICKS = 1200;  // 1 minute
+
+    // Rotation config
+    private static final int ROTATION_INTERVAL_TICKS = 9000;  // 7.5 minutes
+
     /**
      * Called when a chunk loads.
      * QUEUES the chunk for background processing instead of generating immediately.
@@ -41,6 +45,10 @@ public class SpawnSystemManager {
             return;
         }
 
+        // Saved regions come back from disk instead of being regenerated
+        SpawnPoolManager.initStorage(level);
+        SpawnPoolManager.ensureRegionsLoadedForChunk(chunkPos);
+
         long chunkKey = chunkPos.toLong();
         if (processedChunks.contains(chunkKey)) {
             return; // Already processed or queued
@@ -54,97 +62,12 @@ public class SpawnSystemManager {
     }
 
     /**
-     * Generate spawn points for a region.
-     */
-    private static void generateRegionSpawnPoints(ServerLevel level, BlockPos regionCenter, BiomeGroup biome) {
-        SpawnPoolManager.RegionPos regionPos = SpawnPoolManager.RegionPos.fromBlockPos(regionCenter, 300);
-
-        // Mark region as generated IMMEDIATELY to prevent duplicate generation
-        SpawnPoolManager.markRegionGenerated(regionCenter);
-
-        Random random = new Random(regionPos.hashCode() ^ level.getSeed());
-
-        WowCraft.LOGGER.info("Generating spawn points for region {} (biome: {})", regionPos, biome);
-
-        WowCraft.LOGGER.debug("Step 1: Getting zone data");
-        // Get zone data for level calculation
-        ZoneSaveData zoneSaveData = ZoneSaveData.get(level);
-        ZoneRegion zone = zoneSaveData.getZone(biome);
-        int baseLevel = zone != null ? zone.suggestedLevelMin() : 1;
-
-        WowCraft.LOGGER.debug("Step 2: Getting POI system");
-        // Get POI system
-        POISaveData poiSaveData = POISaveData.get(level);
-        POIManager poiManager = poiSaveData.getManager();
-
-        WowCraft.LOGGER.debug("Step 3: Checking existing POIs");
-        // Get or generate POIs
-        ChunkPos regionChunk = new ChunkPos(regionCenter);
-        List<PointOfInterest> pois = poiManager.getPOIsNearChunk(regionChunk);
-        if (pois.isEmpty()) {
-            WowCraft.LOGGER.debug("Step 4: Generating new POIs");
-            // No POIs yet, generate them (existing POI generation)
-            pois = com.gianmarco.wowcraft.poi.POIGenerator.generatePOIsForRegion(
-                level, regionCenter, level.getSeed(), biome);
-
-            WowCraft.LOGGER.debug("Step 5: Adding {} POIs to manager", pois.size());
-            for (PointOfInterest poi : pois) {
-                poiManager.addPOI(poi);
-            }
-            poiManager.markRegionGenerated(regionCenter);
-        }
-
-        WowCraft.LOGGER.debug("Step 6: Converting {} POIs to spawn points", pois.size());
-        // Convert POIs to spawn points
-        for (PointOfInterest poi : pois) {
-            List<SpawnPoint> poiSpawnPoints = POISpawnPointGenerator.generateSpawnPointsForPOI(
-                poi, biome, baseLevel, level);
-
-            for (SpawnPoint point : poiSpawnPoints) {
-                SpawnPoolManager.addSpawnPoint(point);
-            }
-        }
-
-        // Visualize POIs if debug enabled
-        POIDebugVisualizer.visualizePOIs(level, pois);
-
-        WowCraft.LOGGER.debug("Step 7: Generating scatter spawn points");
-        // Generate scatter spawn points
-        boolean isNearSpawn = regionCenter.distSqr(level.getSharedSpawnPos()) < 500 * 500;
-        List<SpawnPoint> scatterPoints = ScatterSpawnGenerator.generateScatterSpawns(
-            level, regionCenter, 300, biome, isNearSpawn, random);
-
-        WowCraft.LOGGER.debug("Step 8: Generated {} scatter points", scatterPoints.size());
-
-        WowCraft.LOGGER.debug("Step 9: Applying safe zone modifiers");
-        // Apply safe zone modifiers
-        for (SpawnPoint point : scatterPoints) {
-            SafeZoneDetector.applySafeZoneModifiers(point, level);
-        }
-
-        WowCraft.LOGGER.debug("Step 10: Adding scatter points to pool");
-        // Add scatter points to pool
-        for (SpawnPoint point : scatterPoints) {
-            SpawnPoolManager.addSpawnPoint(point);
-        }
-
-        WowCraft.LOGGER.debug("Step 11: Activating spawn points");
-        // Activate spawn points (75% of scatter points)
-        SpawnPoolManager.activateRegionSpawnPoints(regionPos, 0.75f);
-
-        WowCraft.LOGGER.info("Generated spawn system for region {} - {} POI spawns, {} scatter spawns",
-            regionPos, pois.size() * 3, scatterPoints.size());
-    }
-
-    /**
-     * Called every server tick.
+     * Called every server tick (once, from the overworld tick).
      * Processes queued chunks in background and updates spawn point states.
      */
     public static void onServerTick(ServerLevel level) {
         tickCounter++;
-
-        // Process pending chunks gradually (1-2 regions per tick to avoid lag)
-        processPendingChunks(level);
+        SpawnGovernor.updateLoad(level, level.getGameTime());
 
         // Generate spawn points for spawn area after world finishes loading (200 ticks = 10 seconds)
         if (!initialSpawnGenerated && tickCounter > 200) {
@@ -152,30 +75,50 @@ public class SpawnSystemManager {
             generateInitialSpawnArea(level);
         }
 
-        // Update spawn point states every 100 ticks (5 seconds)
-        if (tickCounter % SpawnPoolManager.CHECK_INTERVAL_TICKS == 0) {
-            SpawnPoolManager.updateSpawnPointStates(level);
+        // Update spawn point states a budgeted slice at a time, nearest players first
+        SpawnPoolManager.tickSpawnPointStates(level);
+
+        // Spawn queued points by priority and distance, within the governor's caps and budget
+        SpawnGovernor.drainQueue(level, level.getGameTime());
+
+        // Re-roll which scatter points are active (the share follows server load)
+        if (tickCounter % ROTATION_INTERVAL_TICKS == 0) {
+            SpawnPoolManager.rotateLoadedRegions();
+        }
+
+        // Drop regions nobody is near, then persist whatever changed
+        if (tickCounter % REGION_UNLOAD_INTERVAL_TICKS == 0) {
+            SpawnPoolManager.unloadIdleRegions(level);
         }
+        if (tickCounter % AUTOSAVE_INTERVAL_TICKS == 0) {
+            SpawnPoolManager.saveDirtyRegions();
+        }
+    }
 
-        // TODO: Implement rotation timer (every 5-10 minutes)
-        // TODO: Implement hyperspawn (based on player activity)
+    /**
+     * Region generation, run by BackgroundWork within the slice it hands out:
+     * queue new regions, then advance capture/commit of queued ones.
+     */
+    public static boolean runBackgroundWork(ServerLevel level, BackgroundWork.Slice slice) {
+        processPendingChunks(level, slice);
+        RegionGenerationPipeline.tick(level, slice::isExceeded);
+        return true;
     }
 
     /**
      * Process pending chunks in background (non-blocking).
-     * Processes up to 2 regions per tick to avoid lag spikes.
+     * Submits regions to the generation pipeline while the slice lasts; chunks stay
+     * queued while the pipeline is full.
      */
-    private static void processPendingChunks(ServerLevel level) {
-        int processed = 0;
-        int maxPerTick = 2; // Process max 2 regions per tick
-
-        while (processed < maxPerTick && !pendingChunks.isEmpty()) {
-            ChunkPos chunkPos = pendingChunks.poll();
+    private static void processPendingChunks(ServerLevel level, BackgroundWork.Slice slice) {
+        while (!pendingChunks.isEmpty() && !slice.isExceeded()) {
+            ChunkPos chunkPos = pendingChunks.peek();
             if (chunkPos == null) break;
 
             // Only process if chunk is still loaded
             BlockPos chunkCenter = chunkPos.getMiddleBlockPosition(64);
             if (!level.isLoaded(chunkCenter)) {
+                pendingChunks.poll();
                 continue; // Skip unloaded chunks
             }
 
@@ -185,18 +128,43 @@ public class SpawnSystemManager {
             BiomeGroup group = BiomeGroup.fromBiome(biomeKey);
 
             if (group == null || !group.isNameable()) {
+                pendingChunks.poll();
                 continue; // Skip non-nameable zones
             }
 
             // Check if region already has spawn points
-            if (SpawnPoolManager.isRegionGenerated(chunkCenter)) {
-                continue; // Already generated
+            if (SpawnPoolManager.isRegionGenerated(chunkCenter) || RegionGenerationPipeline.isPending(chunkCenter)) {
+                pendingChunks.poll();
+                continue; // Already generated or generating
+            }
+
+            // Hand the region to the pipeline; leave the chunk queued if it's full
+            if (!RegionGenerationPipeline.submit(level, chunkCenter, group)) {
+                break;
             }
+            pendingChunks.poll();
+        }
+    }
 
-            // Generate spawn points for this region (async, in server tick)
-            generateRegionSpawnPoints(level, chunkCenter, group);
-            processed++;
+    /**
+     * Give a region another go after its generation failed: forget its chunks so
+     * they queue it again when they load, and queue its center now.
+     */
+    static void requeueRegion(SpawnPoolManager.RegionPos region) {
+        int size = SpawnPoolManager.REGION_SIZE;
+        int minChunkX = (region.getX() * size) >> 4;
+        int minChunkZ = (region.getZ() * size) >> 4;
+        int maxChunkX = (region.getX() * size + size - 1) >> 4;
+        int maxChunkZ = (region.getZ() * size + size - 1) >> 4;
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                processedChunks.remove(ChunkPos.asLong(cx, cz));
+            }
         }
+
+        ChunkPos center = new ChunkPos(region.getCenterBlockPos(size));
+        processedChunks.add(center.toLong());
+        pendingChunks.offer(center);
     }
 
     /**
@@ -208,7 +176,8 @@ public class SpawnSystemManager {
         // Generate spawn points for a 3x3 region grid around spawn (900x900 blocks)
         for (int rx = -1; rx <= 1; rx++) {
             for (int rz = -1; rz <= 1; rz++) {
-                BlockPos regionCenter = spawnPos.offset(rx * 300, 0, rz * 300);
+                BlockPos regionCenter = spawnPos.offset(
+                    rx * SpawnPoolManager.REGION_SIZE, 0, rz * SpawnPoolManager.REGION_SIZE);
 
                 // Only generate if chunk is loaded
                 if (level.isLoaded(regionCenter)) {
@@ -216,14 +185,16 @@ public class SpawnSystemManager {
                     ResourceKey<Biome> biomeKey = biomeHolder.unwrapKey().orElse(null);
                     BiomeGroup group = BiomeGroup.fromBiome(biomeKey);
 
-                    if (group != null && group.isNameable() && !SpawnPoolManager.isRegionGenerated(regionCenter)) {
-                        generateRegionSpawnPoints(level, regionCenter, group);
+                    if (group != null && group.isNameable() && !SpawnPoolManager.isRegionGenerated(regionCenter)
+                            && !RegionGenerationPipeline.submit(level, regionCenter, group)) {
+                        // Pipeline full - requeue so the region is picked up with the chunk backlog
+                        pendingChunks.offer(new ChunkPos(regionCenter));
                     }
                 }
             }
         }
 
-        WowCraft.LOGGER.info("Initial spawn area generation complete");
+        WowCraft.LOGGER.info("Initial spawn area queued for generation");
     }
 
     /**
@@ -231,17 +202,45 @@ public class SpawnSystemManager {
      * Update spawn point respawn timer.
      */
     public static void onMobDeath(net.minecraft.world.entity.LivingEntity mob, ServerLevel level) {
-        if (mob instanceof net.minecraft.world.entity.Mob) {
-            SpawnPoolManager.onMobDeath(mob.getUUID(), level.getGameTime());
+        if (mob instanceof net.minecraft.world.entity.Mob spawnedMob) {
+            SpawnPoolManager.onMobDeath(spawnedMob, level.getGameTime());
         }
     }
 
+    /**
+     * Called when an entity is added to a level or its chunk loads.
+     * Reattaches spawn point mobs to their owning point.
+     */
+    public static void onEntityLoad(net.minecraft.world.entity.Entity entity, ServerLevel level) {
+        if (level.dimension() == Level.OVERWORLD && entity instanceof net.minecraft.world.entity.Mob mob) {
+            SpawnPoolManager.onEntityLoad(mob);
+        }
+    }
+
+    /**
+     * Called when an entity is removed from a level or unloaded with its chunk.
+     */
+    public static void onEntityUnload(net.minecraft.world.entity.Entity entity, ServerLevel level) {
+        if (level.dimension() == Level.OVERWORLD && entity instanceof net.minecraft.world.entity.Mob mob) {
+            SpawnPoolManager.onEntityUnload(mob, level.getGameTime());
+        }
+    }
+
+    /**
+     * Save all changed spawn regions (world unload).
+     */
+    public static void save() {
+        SpawnPoolManager.saveDirtyRegions();
+    }
+
     /**
      * Clear all data (world unload).
      */
     public static void clear() {
         processedChunks.clear();
         pendingChunks.clear();
+        RegionGenerationPipeline.clear();
+        SpawnGovernor.clear();
         SpawnPoolManager.clear();
         tickCounter = 0;
         initialSpawnGenerated = false;
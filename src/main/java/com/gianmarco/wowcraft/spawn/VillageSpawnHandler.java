@@ -1,12 +1,12 @@
 package com.gianmarco.wowcraft.spawn;
 
 import com.gianmarco.wowcraft.WowCraft;
+import com.gianmarco.wowcraft.roads.StructureIndex;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.registries.Registries;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.tags.TagKey;
-import net.minecraft.world.level.levelgen.structure.Structure;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 /**
  * Sets the world spawn point to the nearest village when the world first loads.
@@ -14,70 +14,85 @@ import net.minecraft.world.level.levelgen.structure.Structure;
  */
 public class VillageSpawnHandler {
 
-    private static final TagKey<Structure> VILLAGE_TAG = TagKey.create(Registries.STRUCTURE,
-            ResourceLocation.withDefaultNamespace("village"));
+    // Maximum search radius in blocks (100 chunks)
+    private static final int SEARCH_RADIUS = 1600;
 
-    // Maximum search radius in chunks (100 chunks = 1600 blocks)
-    private static final int SEARCH_RADIUS_CHUNKS = 100;
+    // Predicted villages to check, nearest first, until one really has a village start
+    private static final int MAX_CANDIDATES = 8;
 
     /**
      * Attempts to set the world spawn to the nearest village.
-     * Should be called when the server/world starts.
+     * Should be called when the server/world starts. Candidate villages are
+     * predicted off the server thread through StructureIndex; back on the server
+     * thread each one is checked against the structure starts of its chunk, and
+     * the spawn is only moved to one that is really there. The spawn stays where
+     * it is until then, or for good if no candidate checks out.
      *
      * @param serverLevel The overworld server level
-     * @return true if spawn was successfully set to a village
      */
-    public static boolean setSpawnToVillage(ServerLevel serverLevel) {
+    public static void setSpawnToVillage(ServerLevel serverLevel) {
         // Only run in the overworld
         if (serverLevel.dimension() != net.minecraft.world.level.Level.OVERWORLD) {
             WowCraft.LOGGER.info("[VillageSpawn] Skipping - not overworld");
-            return false;
+            return;
         }
 
         // Check if structures are enabled
         if (!serverLevel.getServer().getWorldData().worldGenOptions().generateStructures()) {
             WowCraft.LOGGER.warn("[VillageSpawn] Structures are disabled, cannot find village");
-            return false;
+            return;
         }
 
         WowCraft.LOGGER.info("[VillageSpawn] Searching for nearest village to set spawn point...");
 
-        try {
-            WowCraft.LOGGER.info("[VillageSpawn] Using village tag: {}", VILLAGE_TAG.location());
-
-            // Search for the nearest village from world origin using the tag directly
-            BlockPos origin = BlockPos.ZERO;
-            var result = serverLevel.findNearestMapStructure(
-                    VILLAGE_TAG,
-                    origin,
-                    SEARCH_RADIUS_CHUNKS,
-                    false  // don't skip existing chunks
-            );
-
-            if (result == null) {
-                WowCraft.LOGGER.warn("[VillageSpawn] No village found within {} chunks of origin", SEARCH_RADIUS_CHUNKS);
-                return false;
-            }
+        // Search for the nearest village to the world origin
+        StructureIndex.get(serverLevel)
+                .findAsync(BlockPos.ZERO, SEARCH_RADIUS, MAX_CANDIDATES, VillageSpawnHandler::isVillage)
+                .whenComplete((result, error) -> serverLevel.getServer().execute(() -> {
+                    if (error != null) {
+                        WowCraft.LOGGER.error("[VillageSpawn] Error finding village: {}", error.getMessage(), error);
+                        return;
+                    }
+                    BlockPos village = findVerifiedVillage(serverLevel, result);
+                    if (village == null) {
+                        WowCraft.LOGGER.warn("[VillageSpawn] No village found within {} blocks of origin", SEARCH_RADIUS);
+                        return;
+                    }
+                    setSpawnAt(serverLevel, village);
+                }));
+    }
 
-            BlockPos villagePos = result;
-            WowCraft.LOGGER.info("[VillageSpawn] Found village at {} {} {}",
-                    villagePos.getX(), villagePos.getY(), villagePos.getZ());
+    private static boolean isVillage(String structureId) {
+        return structureId.startsWith("minecraft:village");
+    }
 
-            // Find a safe surface position at the village
-            BlockPos spawnPos = findSafeSpawnPosition(serverLevel, villagePos);
+    /**
+     * The first candidate whose chunk really holds a village start, at the start's center.
+     */
+    @Nullable
+    private static BlockPos findVerifiedVillage(ServerLevel level, List<BlockPos> candidates) {
+        StructureIndex index = StructureIndex.get(level);
+        for (BlockPos candidate : candidates) {
+            StructureIndex.Found village = index.verify(candidate, VillageSpawnHandler::isVillage);
+            if (village != null) {
+                return village.pos();
+            }
+        }
+        return null;
+    }
 
-            // Set the world spawn
-            serverLevel.setDefaultSpawnPos(spawnPos, 0.0f);
+    private static void setSpawnAt(ServerLevel serverLevel, BlockPos villagePos) {
+        WowCraft.LOGGER.info("[VillageSpawn] Found village at {} {} {}",
+                villagePos.getX(), villagePos.getY(), villagePos.getZ());
 
-            WowCraft.LOGGER.info("[VillageSpawn] SUCCESS! World spawn set to village at {} {} {}",
-                    spawnPos.getX(), spawnPos.getY(), spawnPos.getZ());
+        // Find a safe surface position at the village
+        BlockPos spawnPos = findSafeSpawnPosition(serverLevel, villagePos);
 
-            return true;
+        // Set the world spawn
+        serverLevel.setDefaultSpawnPos(spawnPos, 0.0f);
 
-        } catch (Exception e) {
-            WowCraft.LOGGER.error("[VillageSpawn] Error finding village: {}", e.getMessage(), e);
-            return false;
-        }
+        WowCraft.LOGGER.info("[VillageSpawn] SUCCESS! World spawn set to village at {} {} {}",
+                spawnPos.getX(), spawnPos.getY(), spawnPos.getZ());
     }
 
     /**
@@ -91,8 +106,9 @@ public class VillageSpawnHandler {
         level.getChunk(chunkX, chunkZ);
 
         // Get the highest block at this position
-        int y = level.getHeight(net.minecraft.world.level.levelgen.Heightmap.Types.MOTION_BLOCKING_NO_LEAVES,
-                pos.getX(), pos.getZ());
+        com.gianmarco.wowcraft.world.ChunkSurface surface =
+                com.gianmarco.wowcraft.world.SurfaceCache.get(level).getColumn(pos.getX(), pos.getZ());
+        int y = surface != null ? surface.getGroundY(pos.getX(), pos.getZ()) : level.getMinY();
 
         // Sanity check - if y is still at bedrock level, use sea level as fallback
         if (y <= level.getMinY()) {
@@ -13,6 +13,9 @@ import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.ai.attributes.Attributes;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.UUID;
 
 /**
@@ -52,11 +55,38 @@ public class VirtualMobState {
     }
 
     /**
-     * Create entity from virtual state when player approaches.
-     * Uses custom pack entities.
+     * Write this virtual mob to a region file.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(mobType.toString());
+        out.writeLong(position.asLong());
+        out.writeInt(level);
+        out.writeBoolean(originalEntityId != null);
+        if (originalEntityId != null) {
+            out.writeLong(originalEntityId.getMostSignificantBits());
+            out.writeLong(originalEntityId.getLeastSignificantBits());
+        }
+        out.writeLong(lastSeenTick);
+    }
+
+    /**
+     * Read a virtual mob written by {@link #writeTo}.
+     */
+    public static VirtualMobState readFrom(DataInput in) throws IOException {
+        ResourceLocation mobType = ResourceLocation.parse(in.readUTF());
+        BlockPos position = BlockPos.of(in.readLong());
+        int level = in.readInt();
+        UUID originalEntityId = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+        long lastSeenTick = in.readLong();
+        return new VirtualMobState(mobType, position, level, originalEntityId, lastSeenTick);
+    }
+
+    /**
+     * Create the entity without adding it to the level, so the owning spawn point
+     * can claim it before the entity load event fires.
      */
     @Nullable
-    public Mob spawnEntity(ServerLevel level, UUID packId) {
+    public Mob createEntity(ServerLevel level, UUID packId, @Nullable UUID spawnPointId) {
         EntityType<?> entityType = mapToPackEntity(mobType);
         if (entityType == null) {
             return null;
@@ -73,10 +103,8 @@ public class VirtualMobState {
 
         if (entity instanceof Mob mob) {
             // Restore level and stats
-            applyMobLevel(mob, this.level, packId);
+            applyMobLevel(mob, this.level, packId, spawnPointId);
             mob.setPersistenceRequired();
-
-            level.addFreshEntity(mob);
             return mob;
         }
 
@@ -121,7 +149,7 @@ public class VirtualMobState {
     /**
      * Apply level-based stats to a mob.
      */
-    private void applyMobLevel(Mob mob, int level, UUID packId) {
+    private void applyMobLevel(Mob mob, int level, UUID packId, @Nullable UUID spawnPointId) {
         var hpAttr = mob.getAttribute(Attributes.MAX_HEALTH);
         var dmgAttr = mob.getAttribute(Attributes.ATTACK_DAMAGE);
 
@@ -147,7 +175,7 @@ public class VirtualMobState {
         mob.setHealth(mob.getMaxHealth());
 
         // Attach pack data
-        mob.setAttached(PlayerDataRegistry.MOB_DATA, new MobData(level, 0, packId));
+        mob.setAttached(PlayerDataRegistry.MOB_DATA, new MobData(level, 0, packId, spawnPointId));
 
         // Update nameplate
         String name = mob.getType().getDescription().getString();
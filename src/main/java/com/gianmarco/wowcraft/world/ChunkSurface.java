@@ -0,0 +1,194 @@
+package com.gianmarco.wowcraft.world;
+
+import com.gianmarco.wowcraft.roads.BiomeRoadMaterial;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.tags.FluidTags;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+/**
+ * Immutable per-column surface data for one chunk, held in primitive arrays.
+ * Captured on the server thread, then safe to read from any thread.
+ */
+public final class ChunkSurface {
+
+    // Column flags
+    public static final int SOLID_BELOW = 1;  // block under the ground Y can be stood on
+    public static final int CLEAR_AT = 1 << 1;  // block at the ground Y isn't suffocating
+    public static final int WATER_AT = 1 << 2;  // block at the ground Y is water
+    public static final int ROAD = 1 << 3;  // ground block is a road surface
+    public static final int ROAD_EDGE = 1 << 4;  // ground block is a road border
+    public static final int BRIDGE = 1 << 5;  // ground block is a bridge/dock plank
+    public static final int FLUID_AT = 1 << 6;  // block at the ground Y holds any fluid
+    public static final int HEADROOM = 1 << 7;  // block above the ground Y isn't suffocating
+    public static final int SURFACE_WATER = 1 << 8;  // topmost block (WORLD_SURFACE) is water
+    public static final int GROUND_LOG = 1 << 9;  // ground block is a log (standing on a trunk)
+    public static final int LOG_ABOVE = 1 << 10;  // a log within TREE_SCAN_HEIGHT above the ground
+    public static final int LEAVES_ABOVE = 1 << 11;  // leaves within TREE_SCAN_HEIGHT above the ground (below any log)
+
+    public static final int TREE_SCAN_HEIGHT = 6;
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final int[] surfaceY;  // first free Y above WORLD_SURFACE, like level.getHeight
+    private final int[] groundY;  // first free Y above MOTION_BLOCKING_NO_LEAVES, like level.getHeight
+    private final short[] flags;
+
+    private ChunkSurface(int chunkX, int chunkZ, int[] surfaceY, int[] groundY, short[] flags) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.surfaceY = surfaceY;
+        this.groundY = groundY;
+        this.flags = flags;
+    }
+
+    /**
+     * Sample every column of a loaded chunk.
+     */
+    public static ChunkSurface capture(ServerLevel level, LevelChunk chunk) {
+        ChunkPos chunkPos = chunk.getPos();
+        int[] surfaceY = new int[256];
+        int[] groundY = new int[256];
+        short[] flags = new short[256];
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+        for (int index = 0; index < 256; index++) {
+            captureColumn(level, chunk, index, surfaceY, groundY, flags, cursor);
+        }
+
+        return new ChunkSurface(chunkPos.x, chunkPos.z, surfaceY, groundY, flags);
+    }
+
+    /**
+     * Copy of this surface with the given columns sampled again.
+     * dirtyColumns is a 256-bit mask indexed like the column arrays.
+     */
+    public ChunkSurface recapture(ServerLevel level, LevelChunk chunk, long[] dirtyColumns) {
+        int[] newSurfaceY = surfaceY.clone();
+        int[] newGroundY = groundY.clone();
+        short[] newFlags = flags.clone();
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+        for (int word = 0; word < dirtyColumns.length; word++) {
+            long bits = dirtyColumns[word];
+            while (bits != 0) {
+                int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                captureColumn(level, chunk, index, newSurfaceY, newGroundY, newFlags, cursor);
+                bits &= bits - 1;
+            }
+        }
+
+        return new ChunkSurface(chunkX, chunkZ, newSurfaceY, newGroundY, newFlags);
+    }
+
+    private static void captureColumn(ServerLevel level, LevelChunk chunk, int index,
+            int[] surfaceY, int[] groundY, short[] flags, BlockPos.MutableBlockPos cursor) {
+        int lx = index & 15;
+        int lz = index >> 4;
+        int x = chunk.getPos().getMinBlockX() + lx;
+        int z = chunk.getPos().getMinBlockZ() + lz;
+        int ground = chunk.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, lx, lz) + 1;
+        int surface = chunk.getHeight(Heightmap.Types.WORLD_SURFACE, lx, lz) + 1;
+        groundY[index] = ground;
+        surfaceY[index] = surface;
+        flags[index] = 0;
+
+        // Out-of-range columns keep no flags and never count as standable
+        if (ground < level.getMinY() || ground > level.getMaxY() - 2) {
+            return;
+        }
+
+        int columnFlags = 0;
+
+        cursor.set(x, ground - 1, z);
+        BlockState below = chunk.getBlockState(cursor);
+        if (below.isSuffocating(level, cursor) || below.blocksMotion()) {
+            columnFlags |= SOLID_BELOW;
+        }
+        if (BiomeRoadMaterial.isRoadSurface(below)) {
+            columnFlags |= ROAD;
+        } else if (BiomeRoadMaterial.isRoadEdge(below)) {
+            columnFlags |= ROAD_EDGE;
+        } else if (below.getBlock() == Blocks.OAK_PLANKS) {
+            columnFlags |= BRIDGE;
+        }
+        if (below.is(BlockTags.LOGS)) {
+            columnFlags |= GROUND_LOG;
+        }
+
+        cursor.set(x, ground, z);
+        BlockState at = chunk.getBlockState(cursor);
+        if (!at.isSuffocating(level, cursor)) {
+            columnFlags |= CLEAR_AT;
+        }
+        if (at.getBlock() == Blocks.WATER) {
+            columnFlags |= WATER_AT;
+        }
+        if (!at.getFluidState().isEmpty()) {
+            columnFlags |= FLUID_AT;
+        }
+
+        cursor.set(x, ground + 1, z);
+        if (!chunk.getBlockState(cursor).isSuffocating(level, cursor)) {
+            columnFlags |= HEADROOM;
+        }
+
+        cursor.set(x, surface - 1, z);
+        if (chunk.getBlockState(cursor).getFluidState().is(FluidTags.WATER)) {
+            columnFlags |= SURFACE_WATER;
+        }
+
+        // Same tree scan the road planner used to do per cell
+        for (int y = ground; y <= ground + TREE_SCAN_HEIGHT; y++) {
+            cursor.set(x, y, z);
+            BlockState state = chunk.getBlockState(cursor);
+            if (state.is(BlockTags.LOGS)) {
+                columnFlags |= LOG_ABOVE;
+                break;
+            }
+            if (state.is(BlockTags.LEAVES)) {
+                columnFlags |= LEAVES_ABOVE;
+            }
+        }
+
+        flags[index] = (short) columnFlags;
+    }
+
+    public int getChunkX() {
+        return chunkX;
+    }
+
+    public int getChunkZ() {
+        return chunkZ;
+    }
+
+    /** Surface Y (WORLD_SURFACE, includes leaves and fluids) at a world column inside this chunk. */
+    public int getSurfaceY(int x, int z) {
+        return surfaceY[index(x & 15, z & 15)];
+    }
+
+    /** Ground Y (MOTION_BLOCKING_NO_LEAVES) at a world column inside this chunk. */
+    public int getGroundY(int x, int z) {
+        return groundY[index(x & 15, z & 15)];
+    }
+
+    /** Check a column flag at a world column inside this chunk. */
+    public boolean hasFlag(int x, int z, int flag) {
+        return (flags[index(x & 15, z & 15)] & flag) != 0;
+    }
+
+    /** A mob can stand at the ground Y of this column. */
+    public boolean isStandable(int x, int z) {
+        int columnFlags = flags[index(x & 15, z & 15)];
+        return (columnFlags & SOLID_BELOW) != 0 && (columnFlags & CLEAR_AT) != 0;
+    }
+
+    static int index(int localX, int localZ) {
+        return (localZ << 4) | localX;
+    }
+}
@@ -0,0 +1,294 @@
+package com.gianmarco.wowcraft.world;
+
+import com.gianmarco.wowcraft.playerclass.PlayerClass;
+import com.gianmarco.wowcraft.playerclass.PlayerData;
+import com.gianmarco.wowcraft.playerclass.PlayerDataRegistry;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared, per-level index of player positions, rebuilt at most once per tick.
+ * Aggro ranges, spawn distance checks and anything else asking "which player
+ * is nearest?" read through here instead of scanning the player list.
+ *
+ * Players are kept in flat arrays sorted by 64-block cell, together with their
+ * WowCraft level and class. A query binary-searches one run of cells per cell
+ * column it covers (or just scans the arrays when there are only a few players),
+ * so queries don't allocate. Spectators and dead players are left out.
+ * Server thread only.
+ */
+public final class PlayerSpatialIndex {
+
+    private static final int CELL_SHIFT = 6; // 64-block cells
+    private static final int LINEAR_SCAN_MAX = 8; // below this, cells cost more than they save
+
+    private static final Map<ResourceKey<Level>, PlayerSpatialIndex> indexes = new ConcurrentHashMap<>();
+
+    private final ServerLevel level;
+    private long builtTick = Long.MIN_VALUE;
+    private int count;
+
+    // Sorted by cellKeys
+    private long[] cellKeys = new long[8];
+    private ServerPlayer[] players = new ServerPlayer[8];
+    private double[] xs = new double[8];
+    private double[] ys = new double[8];
+    private double[] zs = new double[8];
+    private int[] levels = new int[8];
+    private PlayerClass[] classes = new PlayerClass[8];
+
+    private PlayerSpatialIndex(ServerLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * The index for a level, rebuilt if it was last built on an earlier tick.
+     */
+    public static PlayerSpatialIndex get(ServerLevel level) {
+        PlayerSpatialIndex index = indexes.get(level.dimension());
+        if (index == null || index.level != level) {
+            index = new PlayerSpatialIndex(level);
+            indexes.put(level.dimension(), index);
+        }
+        if (index.builtTick != level.getGameTime()) {
+            index.rebuild();
+        }
+        return index;
+    }
+
+    /**
+     * Drop the index of a level (world unload).
+     */
+    public static void clear(ServerLevel level) {
+        indexes.remove(level.dimension());
+    }
+
+    private void rebuild() {
+        builtTick = level.getGameTime();
+        List<ServerPlayer> levelPlayers = level.players();
+        ensureCapacity(levelPlayers.size());
+
+        count = 0;
+        for (ServerPlayer player : levelPlayers) {
+            if (player.isSpectator() || !player.isAlive()) {
+                continue;
+            }
+
+            PlayerData data = player.getAttached(PlayerDataRegistry.PLAYER_DATA);
+            long key = cellKey(cellOf(player.getX()), cellOf(player.getZ()));
+
+            // Insertion sort by cell; player counts are small and this keeps the arrays in place
+            int i = count++;
+            while (i > 0 && cellKeys[i - 1] > key) {
+                moveSlot(i - 1, i);
+                i--;
+            }
+            cellKeys[i] = key;
+            players[i] = player;
+            xs[i] = player.getX();
+            ys[i] = player.getY();
+            zs[i] = player.getZ();
+            levels[i] = data != null ? data.level() : 1;
+            classes[i] = data != null ? data.playerClass() : PlayerClass.NONE;
+        }
+
+        // Don't keep players from an earlier tick reachable
+        Arrays.fill(players, count, players.length, null);
+    }
+
+    private void moveSlot(int from, int to) {
+        cellKeys[to] = cellKeys[from];
+        players[to] = players[from];
+        xs[to] = xs[from];
+        ys[to] = ys[from];
+        zs[to] = zs[from];
+        levels[to] = levels[from];
+        classes[to] = classes[from];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= players.length) {
+            return;
+        }
+        int newSize = Math.max(capacity, players.length * 2);
+        cellKeys = Arrays.copyOf(cellKeys, newSize);
+        players = Arrays.copyOf(players, newSize);
+        xs = Arrays.copyOf(xs, newSize);
+        ys = Arrays.copyOf(ys, newSize);
+        zs = Arrays.copyOf(zs, newSize);
+        levels = Arrays.copyOf(levels, newSize);
+        classes = Arrays.copyOf(classes, newSize);
+    }
+
+    // === Accessors ===
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public ServerPlayer getPlayer(int index) {
+        return players[index];
+    }
+
+    public int getPlayerLevel(int index) {
+        return levels[index];
+    }
+
+    public PlayerClass getPlayerClass(int index) {
+        return classes[index];
+    }
+
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    public double getZ(int index) {
+        return zs[index];
+    }
+
+    // === Queries ===
+
+    /**
+     * Index of the nearest player within maxDistance (3D), or -1 if there is none.
+     */
+    public int nearest(double x, double y, double z, double maxDistance) {
+        double bestSq = maxDistance * maxDistance;
+        int best = -1;
+
+        if (count <= LINEAR_SCAN_MAX) {
+            for (int i = 0; i < count; i++) {
+                double distSq = distanceSq(i, x, y, z);
+                if (distSq <= bestSq) {
+                    bestSq = distSq;
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        int minCellX = cellOf(x - maxDistance);
+        int maxCellX = cellOf(x + maxDistance);
+        int minCellZ = cellOf(z - maxDistance);
+        int maxCellZ = cellOf(z + maxDistance);
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            long endKey = cellKey(cellX, maxCellZ);
+            for (int i = lowerBound(cellKey(cellX, minCellZ)); i < count && cellKeys[i] <= endKey; i++) {
+                double distSq = distanceSq(i, x, y, z);
+                if (distSq <= bestSq) {
+                    bestSq = distSq;
+                    best = i;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Squared distance to the nearest player within maxDistance, or Double.MAX_VALUE if there is none.
+     */
+    public double nearestDistanceSq(double x, double y, double z, double maxDistance) {
+        int index = nearest(x, y, z, maxDistance);
+        return index < 0 ? Double.MAX_VALUE : distanceSq(index, x, y, z);
+    }
+
+    public double nearestDistanceSq(BlockPos pos, double maxDistance) {
+        return nearestDistanceSq(pos.getX(), pos.getY(), pos.getZ(), maxDistance);
+    }
+
+    /**
+     * Check whether any player is within distance (horizontally) of a block-aligned area.
+     */
+    public boolean anyWithin(int minX, int minZ, int maxX, int maxZ, double distance) {
+        return nearestDistanceSqToArea(minX, minZ, maxX, maxZ, distance) != Double.MAX_VALUE;
+    }
+
+    /**
+     * Squared horizontal distance from the nearest player within maxDistance of a
+     * block-aligned area, or Double.MAX_VALUE if there is none.
+     */
+    public double nearestDistanceSqToArea(int minX, int minZ, int maxX, int maxZ, double maxDistance) {
+        double bestSq = maxDistance * maxDistance;
+        boolean found = false;
+
+        int from = 0;
+        int to = count;
+        int minCellX = cellOf(minX - maxDistance);
+        int maxCellX = count <= LINEAR_SCAN_MAX ? minCellX : cellOf(maxX + maxDistance);
+        int minCellZ = cellOf(minZ - maxDistance);
+        int maxCellZ = cellOf(maxZ + maxDistance);
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            if (count > LINEAR_SCAN_MAX) {
+                from = lowerBound(cellKey(cellX, minCellZ));
+                to = upperBound(cellKey(cellX, maxCellZ));
+            }
+            for (int i = from; i < to; i++) {
+                double dx = Math.max(0, Math.max(minX - xs[i], xs[i] - maxX));
+                double dz = Math.max(0, Math.max(minZ - zs[i], zs[i] - maxZ));
+                double distSq = dx * dx + dz * dz;
+                if (distSq <= bestSq) {
+                    bestSq = distSq;
+                    found = true;
+                }
+            }
+        }
+        return found ? bestSq : Double.MAX_VALUE;
+    }
+
+    // === Internals ===
+
+    private double distanceSq(int index, double x, double y, double z) {
+        double dx = xs[index] - x;
+        double dy = ys[index] - y;
+        double dz = zs[index] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /** First slot whose key is >= key */
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cellKeys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** First slot whose key is > key */
+    private int upperBound(long key) {
+        return key == Long.MAX_VALUE ? count : lowerBound(key + 1);
+    }
+
+    private static int cellOf(double coord) {
+        return (int) Math.floor(coord) >> CELL_SHIFT;
+    }
+
+    /**
+     * Cell X in the high half, cell Z offset to unsigned in the low half, so the
+     * cells of one X column are a contiguous run of keys in ascending Z.
+     */
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | ((cellZ + 0x80000000L) & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,238 @@
+package com.gianmarco.wowcraft.world;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared, per-level cache of chunk surfaces (ground/surface heights and column flags).
+ * Spawn, POI and road code read terrain through here instead of probing
+ * heightmaps and block states themselves.
+ *
+ * Block changes at or above a column's ground mark just that column stale; it is
+ * resampled on the next read. Unloaded chunks are dropped, and the least recently
+ * used chunks are evicted once the size limit is reached. Server thread only.
+ */
+public final class SurfaceCache {
+
+    public static final int DEFAULT_MAX_CHUNKS = 2048;
+    public static final int MIN_MAX_CHUNKS = 64;
+
+    private static final Map<ResourceKey<Level>, SurfaceCache> caches = new ConcurrentHashMap<>();
+    private static int maxChunks = DEFAULT_MAX_CHUNKS;
+
+    private final ServerLevel level;
+    private final LinkedHashMap<Long, Entry> chunks = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() > maxChunks) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Stats
+    private long hits;
+    private long misses;
+    private long refreshes;
+    private long evictions;
+    private long invalidations;
+
+    private static class Entry {
+        ChunkSurface surface;
+        final long[] dirtyColumns = new long[4];
+        boolean dirty;
+
+        Entry(ChunkSurface surface) {
+            this.surface = surface;
+        }
+    }
+
+    private SurfaceCache(ServerLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * Get (or create) the cache for a level.
+     */
+    public static SurfaceCache get(ServerLevel level) {
+        SurfaceCache cache = caches.get(level.dimension());
+        if (cache == null || cache.level != level) {
+            cache = new SurfaceCache(level);
+            caches.put(level.dimension(), cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Surface of a chunk, capturing it on a miss.
+     * Returns null if the chunk isn't loaded; never triggers a chunk load.
+     */
+    @Nullable
+    public ChunkSurface getChunk(int chunkX, int chunkZ) {
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+        Entry entry = chunks.get(key);
+
+        if (entry != null && !entry.dirty) {
+            hits++;
+            return entry.surface;
+        }
+
+        LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+        if (chunk == null) {
+            if (entry != null) {
+                chunks.remove(key);
+            }
+            return null;
+        }
+
+        if (entry == null) {
+            misses++;
+            entry = new Entry(ChunkSurface.capture(level, chunk));
+            chunks.put(key, entry);
+        } else {
+            refreshes++;
+            entry.surface = entry.surface.recapture(level, chunk, entry.dirtyColumns);
+            Arrays.fill(entry.dirtyColumns, 0L);
+            entry.dirty = false;
+        }
+        return entry.surface;
+    }
+
+    /**
+     * Surface of the chunk containing a world column, or null if it isn't loaded.
+     */
+    @Nullable
+    public ChunkSurface getColumn(int x, int z) {
+        return getChunk(x >> 4, z >> 4);
+    }
+
+    public boolean isLoaded(int x, int z) {
+        return getColumn(x, z) != null;
+    }
+
+    /**
+     * Find a standable surface position at an XZ column, or null.
+     */
+    @Nullable
+    public BlockPos findSurfacePos(int x, int z, boolean rejectWater) {
+        ChunkSurface surface = getColumn(x, z);
+        if (surface == null || !surface.isStandable(x, z)) {
+            return null;
+        }
+        if (rejectWater && surface.hasFlag(x, z, ChunkSurface.WATER_AT)) {
+            return null;
+        }
+        return new BlockPos(x, surface.getGroundY(x, z), z);
+    }
+
+    /**
+     * Mark the column at pos stale if the change could affect its surface data.
+     */
+    private void onBlockChanged(BlockPos pos) {
+        Entry entry = chunks.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (entry == null) {
+            return;
+        }
+
+        // Anything below the ground block (mining, caves) can't change the column
+        if (pos.getY() < entry.surface.getGroundY(pos.getX(), pos.getZ()) - 1) {
+            return;
+        }
+
+        int index = ChunkSurface.index(pos.getX() & 15, pos.getZ() & 15);
+        entry.dirtyColumns[index >> 6] |= 1L << (index & 63);
+        entry.dirty = true;
+        invalidations++;
+    }
+
+    // === Hooks ===
+
+    /**
+     * Called after a block is set in a server level (see SurfaceCacheMixin).
+     */
+    public static void onBlockChanged(ServerLevel level, BlockPos pos) {
+        SurfaceCache cache = caches.get(level.dimension());
+        if (cache != null && cache.level == level) {
+            cache.onBlockChanged(pos);
+        }
+    }
+
+    public static void onChunkUnload(ServerLevel level, ChunkPos chunkPos) {
+        SurfaceCache cache = caches.get(level.dimension());
+        if (cache != null && cache.level == level) {
+            cache.chunks.remove(chunkPos.toLong());
+        }
+    }
+
+    /**
+     * Drop the cache of a level (world unload).
+     */
+    public static void clear(ServerLevel level) {
+        caches.remove(level.dimension());
+    }
+
+    // === Tuning / stats ===
+
+    public static int getMaxChunks() {
+        return maxChunks;
+    }
+
+    /**
+     * Change the per-level size limit. Shrinking takes effect as new chunks are cached.
+     */
+    public static void setMaxChunks(int chunks) {
+        maxChunks = Math.max(MIN_MAX_CHUNKS, chunks);
+    }
+
+    public int size() {
+        return chunks.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getRefreshes() {
+        return refreshes;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Fraction of lookups served without sampling anything, 0..1.
+     */
+    public double getHitRate() {
+        long total = hits + misses + refreshes;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        refreshes = 0;
+        evictions = 0;
+        invalidations = 0;
+    }
+}
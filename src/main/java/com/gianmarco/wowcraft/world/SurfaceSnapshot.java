@@ -0,0 +1,132 @@
+package com.gianmarco.wowcraft.world;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read-only view over the surfaces of a set of chunks.
+ * Built on the server thread from the SurfaceCache and handed to worker threads,
+ * so generators can probe terrain without touching the level. Chunks that weren't loaded at
+ * capture time read as unloaded, just like level.isLoaded.
+ */
+public final class SurfaceSnapshot {
+
+    private final Map<Long, ChunkSurface> chunks;
+
+    private SurfaceSnapshot(Map<Long, ChunkSurface> chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * Capture every loaded chunk within radius blocks of center in one go.
+     * Only for callers that need terrain immediately; the spawn pipeline captures incrementally.
+     */
+    public static SurfaceSnapshot capture(ServerLevel level, BlockPos center, int radius) {
+        Builder builder = new Builder();
+        int minChunkX = (center.getX() - radius) >> 4;
+        int maxChunkX = (center.getX() + radius) >> 4;
+        int minChunkZ = (center.getZ() - radius) >> 4;
+        int maxChunkZ = (center.getZ() + radius) >> 4;
+
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                builder.capture(level, cx, cz);
+            }
+        }
+
+        return builder.build();
+    }
+
+    public boolean isLoaded(int x, int z) {
+        return chunks.containsKey(ChunkPos.asLong(x >> 4, z >> 4));
+    }
+
+    @Nullable
+    public ChunkSurface getChunk(int x, int z) {
+        return chunks.get(ChunkPos.asLong(x >> 4, z >> 4));
+    }
+
+    /**
+     * Find a standable surface position at an XZ column, or null.
+     * Mirrors the old heightmap + block-state probe used by the generators.
+     */
+    @Nullable
+    public BlockPos findSurfacePos(int x, int z, boolean rejectWater) {
+        ChunkSurface surface = getChunk(x, z);
+        if (surface == null || !surface.isStandable(x, z)) {
+            return null;
+        }
+        if (rejectWater && surface.hasFlag(x, z, ChunkSurface.WATER_AT)) {
+            return null;
+        }
+        return new BlockPos(x, surface.getGroundY(x, z), z);
+    }
+
+    /**
+     * Check if a surface position sits on a road (see SafeZoneDetector.isOnRoad).
+     */
+    public boolean isOnRoad(BlockPos pos) {
+        ChunkSurface surface = getChunk(pos.getX(), pos.getZ());
+        if (surface == null) {
+            return false;
+        }
+
+        if (surface.hasFlag(pos.getX(), pos.getZ(), ChunkSurface.ROAD)) {
+            return true;
+        }
+        if (surface.hasFlag(pos.getX(), pos.getZ(), ChunkSurface.ROAD_EDGE)) {
+            return hasRoadWithin(pos, 1);
+        }
+        if (surface.hasFlag(pos.getX(), pos.getZ(), ChunkSurface.BRIDGE)) {
+            return hasRoadWithin(pos, 3);
+        }
+        return false;
+    }
+
+    /**
+     * Check for any road surface column within radius blocks.
+     */
+    public boolean hasRoadWithin(BlockPos pos, int radius) {
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                int x = pos.getX() + dx;
+                int z = pos.getZ() + dz;
+                ChunkSurface surface = getChunk(x, z);
+                if (surface != null && surface.hasFlag(x, z, ChunkSurface.ROAD)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Incrementally collects chunk surfaces on the server thread.
+     */
+    public static final class Builder {
+        private final Map<Long, ChunkSurface> chunks = new HashMap<>();
+
+        /**
+         * Capture one chunk if it is loaded. Never triggers a chunk load.
+         *
+         * @return the captured surface, or null if the chunk isn't loaded
+         */
+        @Nullable
+        public ChunkSurface capture(ServerLevel level, int chunkX, int chunkZ) {
+            ChunkSurface surface = SurfaceCache.get(level).getChunk(chunkX, chunkZ);
+            if (surface != null) {
+                chunks.put(ChunkPos.asLong(chunkX, chunkZ), surface);
+            }
+            return surface;
+        }
+
+        public SurfaceSnapshot build() {
+            return new SurfaceSnapshot(Map.copyOf(chunks));
+        }
+    }
+}